@@ -0,0 +1,248 @@
+package ru.mail.polis.collections.cache;
+
+import ru.mail.polis.collections.set.hash.IOpenHashTableEntity;
+import ru.mail.polis.collections.set.hash.todo.OpenHashTable;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Base of the caches that keep entries in an {@link OpenHashTable} and the eviction order
+ * in {@link ru.mail.polis.collections.list.todo.CursorLinkedDeque}s.
+ * <p>
+ * Every entry stores the handle of its node in the deque, so a lookup finds the node
+ * without searching the deque and get, put and remove take O(1).
+ * Lookups go through a reused probe entry holding only the key, they allocate nothing.
+ * <p>
+ * Not thread-safe.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of cached values
+ */
+public abstract class AbstractLinkedCache<K extends IOpenHashTableEntity, V> implements ICache<K, V> {
+
+    private final OpenHashTable<Entry<K, V>> table = new OpenHashTable<>();
+    private final Entry<K, V> probe = new Entry<>(null, null, 0);
+    private final long maximumWeight;
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+    private final BiConsumer<? super K, ? super V> evictionListener;
+    private long weight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    AbstractLinkedCache(long maximumWeight,
+                        ToIntBiFunction<? super K, ? super V> weigher,
+                        BiConsumer<? super K, ? super V> evictionListener) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("maximumWeight <= 0: " + maximumWeight);
+        }
+        this.maximumWeight = maximumWeight;
+        this.weigher = Objects.requireNonNull(weigher, "weigher");
+        this.evictionListener = Objects.requireNonNull(evictionListener, "evictionListener");
+    }
+
+    @Override
+    public V get(K key) {
+        Entry<K, V> entry = lookup(key);
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        onAccess(entry);
+        return entry.value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Objects.requireNonNull(value, "value");
+        Entry<K, V> entry = lookup(key);
+        int entryWeight = weigh(key, value);
+        V previous = entry == null ? null : entry.value;
+        if (entryWeight > maximumWeight) {
+            if (entry != null) {
+                unlink(entry);
+            }
+            evictionCount++;
+            evictionListener.accept(key, value);
+            return previous;
+        }
+        if (entry == null) {
+            entry = new Entry<>(key, value, entryWeight);
+            table.add(entry);
+            weight += entryWeight;
+            onInsert(entry);
+        } else {
+            int oldWeight = entry.weight;
+            entry.value = value;
+            entry.weight = entryWeight;
+            weight += entryWeight - oldWeight;
+            onReplace(entry, oldWeight);
+        }
+        evict();
+        return previous;
+    }
+
+    @Override
+    public V remove(K key) {
+        Entry<K, V> entry = lookup(key);
+        if (entry == null) {
+            return null;
+        }
+        unlink(entry);
+        return entry.value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return lookup(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return table.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return table.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        table.clear();
+        weight = 0;
+        onClear();
+    }
+
+    @Override
+    public long weight() {
+        return weight;
+    }
+
+    @Override
+    public long hitCount() {
+        return hitCount;
+    }
+
+    @Override
+    public long missCount() {
+        return missCount;
+    }
+
+    @Override
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Links a new entry into the eviction order.
+     */
+    abstract void onInsert(Entry<K, V> entry);
+
+    /**
+     * Records a hit on the entry.
+     */
+    abstract void onAccess(Entry<K, V> entry);
+
+    /**
+     * Records a new value of the entry, by default as a hit.
+     */
+    void onReplace(Entry<K, V> entry, int oldWeight) {
+        onAccess(entry);
+    }
+
+    /**
+     * Unlinks the entry from the eviction order.
+     */
+    abstract void onRemove(Entry<K, V> entry);
+
+    /**
+     * @return the entry to evict next, the cache is not empty
+     */
+    abstract Entry<K, V> victim();
+
+    /**
+     * Drops the eviction order.
+     */
+    abstract void onClear();
+
+    private Entry<K, V> lookup(K key) {
+        probe.key = Objects.requireNonNull(key, "key");
+        try {
+            return table.get(probe);
+        } finally {
+            probe.key = null;
+        }
+    }
+
+    private int weigh(K key, V value) {
+        int entryWeight = weigher.applyAsInt(key, value);
+        if (entryWeight < 0) {
+            throw new IllegalArgumentException("Negative weight " + entryWeight + " of " + key);
+        }
+        return entryWeight;
+    }
+
+    private void unlink(Entry<K, V> entry) {
+        table.remove(entry);
+        weight -= entry.weight;
+        onRemove(entry);
+    }
+
+    /**
+     * Evicts entries until the weight fits, the entry just put never exceeds the maximum alone.
+     * The listener is called after the entry is gone, so it may use the cache.
+     */
+    private void evict() {
+        while (weight > maximumWeight) {
+            Entry<K, V> entry = victim();
+            unlink(entry);
+            evictionCount++;
+            evictionListener.accept(entry.key, entry.value);
+        }
+    }
+
+    /**
+     * A cache entry, hashed and compared by its key only.
+     */
+    static final class Entry<K extends IOpenHashTableEntity, V> implements IOpenHashTableEntity {
+
+        K key;
+        V value;
+        int weight;
+        /**
+         * The handle of the node of this entry in the deque of its segment.
+         */
+        int handle;
+        boolean protectedSegment;
+
+        Entry(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+
+        @Override
+        public int hashCode(int tableSize, int probId) throws IllegalArgumentException {
+            return key.hashCode(tableSize, probId);
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry && key.equals(((Entry<?, ?>) o).key);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+}
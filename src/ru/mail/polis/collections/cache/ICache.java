@@ -0,0 +1,94 @@
+package ru.mail.polis.collections.cache;
+
+import ru.mail.polis.collections.set.hash.IOpenHashTableEntity;
+
+/**
+ * A bounded key-value cache: when the total weight of the entries exceeds the maximum,
+ * entries are evicted in an order defined by the implementation.
+ *
+ * @param <K> the type of keys, hashed as in {@link ru.mail.polis.collections.set.hash.IOpenHashTable}
+ * @param <V> the type of cached values
+ */
+public interface ICache<K extends IOpenHashTableEntity, V> {
+
+    /**
+     * Returns the value cached for the specified key and counts a hit, or counts a miss.
+     *
+     * @param key the key whose value is to be returned
+     * @return the cached value, or {@code null} if there is no entry for the key
+     * @throws NullPointerException if the specified key is null
+     */
+    V get(K key);
+
+    /**
+     * Caches the value for the specified key, replacing the previous one,
+     * then evicts entries until the total weight fits the maximum.
+     * An entry heavier than the maximum alone is not cached: it is reported to the eviction listener
+     * as evicted and the previous entry for the key is removed, the other entries stay.
+     *
+     * @param key   the key
+     * @param value the value to cache
+     * @return the previous value, or {@code null} if there was no entry for the key
+     * @throws NullPointerException     if the specified key or value is null
+     * @throws IllegalArgumentException if the weight of the entry is negative
+     */
+    V put(K key, V value);
+
+    /**
+     * Removes the entry for the specified key, the eviction listener is not notified.
+     *
+     * @param key the key whose entry is to be removed
+     * @return the removed value, or {@code null} if there was no entry for the key
+     * @throws NullPointerException if the specified key is null
+     */
+    V remove(K key);
+
+    /**
+     * Returns {@code true} if there is an entry for the specified key,
+     * neither the counters nor the eviction order are affected.
+     *
+     * @param key the key whose presence is to be tested
+     * @return {@code true} if there is an entry for the specified key
+     * @throws NullPointerException if the specified key is null
+     */
+    boolean containsKey(K key);
+
+    /**
+     * Returns the number of entries in this cache.
+     *
+     * @return the number of entries in this cache
+     */
+    int size();
+
+    /**
+     * Returns {@code true} if this cache contains no entries.
+     *
+     * @return {@code true} if this cache contains no entries
+     */
+    boolean isEmpty();
+
+    /**
+     * Removes all of the entries, the eviction listener is not notified and the counters are kept.
+     */
+    void clear();
+
+    /**
+     * @return the total weight of the entries in this cache
+     */
+    long weight();
+
+    /**
+     * @return the number of {@link #get(IOpenHashTableEntity)} calls that found an entry
+     */
+    long hitCount();
+
+    /**
+     * @return the number of {@link #get(IOpenHashTableEntity)} calls that found no entry
+     */
+    long missCount();
+
+    /**
+     * @return the number of entries evicted because the maximum weight was exceeded
+     */
+    long evictionCount();
+}
@@ -0,0 +1,70 @@
+package ru.mail.polis.collections.cache;
+
+import ru.mail.polis.collections.list.todo.CursorLinkedDeque;
+import ru.mail.polis.collections.set.hash.IOpenHashTableEntity;
+
+import java.util.function.BiConsumer;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Least recently used cache: a hit moves the entry to the tail of the deque, the head is evicted.
+ * get, put and remove take O(1).
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of cached values
+ */
+public class LruCache<K extends IOpenHashTableEntity, V> extends AbstractLinkedCache<K, V> {
+
+    private final CursorLinkedDeque<Entry<K, V>> order = new CursorLinkedDeque<>();
+
+    /**
+     * Creates a cache of at most {@code maximumSize} entries.
+     *
+     * @param maximumSize the maximum number of entries
+     * @throws IllegalArgumentException if the maximum size is not positive
+     */
+    public LruCache(int maximumSize) {
+        this(maximumSize, (key, value) -> 1, (key, value) -> {
+        });
+    }
+
+    /**
+     * Creates a cache of entries of at most {@code maximumWeight} total weight.
+     *
+     * @param maximumWeight    the maximum total weight
+     * @param weigher          the weight of an entry, must not be negative
+     * @param evictionListener called with every entry evicted because the maximum weight was exceeded
+     * @throws NullPointerException     if the weigher or the listener is null
+     * @throws IllegalArgumentException if the maximum weight is not positive
+     */
+    public LruCache(long maximumWeight,
+                    ToIntBiFunction<? super K, ? super V> weigher,
+                    BiConsumer<? super K, ? super V> evictionListener) {
+        super(maximumWeight, weigher, evictionListener);
+    }
+
+    @Override
+    void onInsert(Entry<K, V> entry) {
+        entry.handle = order.linkLast(entry);
+    }
+
+    @Override
+    void onAccess(Entry<K, V> entry) {
+        order.moveToBack(entry.handle);
+    }
+
+    @Override
+    void onRemove(Entry<K, V> entry) {
+        order.remove(entry.handle);
+    }
+
+    @Override
+    Entry<K, V> victim() {
+        return order.getFirst();
+    }
+
+    @Override
+    void onClear() {
+        order.clear();
+    }
+}
@@ -0,0 +1,122 @@
+package ru.mail.polis.collections.cache;
+
+import ru.mail.polis.collections.list.todo.CursorLinkedDeque;
+import ru.mail.polis.collections.set.hash.IOpenHashTableEntity;
+
+import java.util.function.BiConsumer;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Segmented LRU cache: scan resistant, an entry read once cannot push out entries read repeatedly.
+ * - a new entry goes to the probation segment
+ * - a hit in probation moves the entry to the protected segment, a hit in protected moves it to its tail
+ * - when the protected segment exceeds its weight, its least recently used entries go back to probation
+ * - entries are evicted from the head of probation, from protected only if probation is empty
+ * <p>
+ * get, put and remove take O(1).
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of cached values
+ */
+public class SegmentedLruCache<K extends IOpenHashTableEntity, V> extends AbstractLinkedCache<K, V> {
+
+    private final CursorLinkedDeque<Entry<K, V>> probation = new CursorLinkedDeque<>();
+    private final CursorLinkedDeque<Entry<K, V>> protectedOrder = new CursorLinkedDeque<>();
+    private final long maximumProtectedWeight;
+    private long protectedWeight;
+
+    /**
+     * Creates a cache of at most {@code maximumSize} entries, 80% of them may be protected.
+     *
+     * @param maximumSize the maximum number of entries
+     * @throws IllegalArgumentException if the maximum size is not positive
+     */
+    public SegmentedLruCache(int maximumSize) {
+        this(maximumSize, maximumSize * 4L / 5, (key, value) -> 1, (key, value) -> {
+        });
+    }
+
+    /**
+     * Creates a cache of entries of at most {@code maximumWeight} total weight.
+     *
+     * @param maximumWeight          the maximum total weight
+     * @param maximumProtectedWeight the maximum total weight of the protected segment
+     * @param weigher                the weight of an entry, must not be negative
+     * @param evictionListener       called with every entry evicted because the maximum weight was exceeded
+     * @throws NullPointerException     if the weigher or the listener is null
+     * @throws IllegalArgumentException if the maximum weight is not positive
+     *                                  or the protected weight is not in {@code [0, maximumWeight]}
+     */
+    public SegmentedLruCache(long maximumWeight,
+                             long maximumProtectedWeight,
+                             ToIntBiFunction<? super K, ? super V> weigher,
+                             BiConsumer<? super K, ? super V> evictionListener) {
+        super(maximumWeight, weigher, evictionListener);
+        if (maximumProtectedWeight < 0 || maximumProtectedWeight > maximumWeight) {
+            throw new IllegalArgumentException("maximumProtectedWeight " + maximumProtectedWeight
+                    + " out of [0, " + maximumWeight + "]");
+        }
+        this.maximumProtectedWeight = maximumProtectedWeight;
+    }
+
+    @Override
+    void onInsert(Entry<K, V> entry) {
+        entry.handle = probation.linkLast(entry);
+    }
+
+    @Override
+    void onAccess(Entry<K, V> entry) {
+        if (entry.protectedSegment) {
+            protectedOrder.moveToBack(entry.handle);
+            return;
+        }
+        probation.remove(entry.handle);
+        entry.handle = protectedOrder.linkLast(entry);
+        entry.protectedSegment = true;
+        protectedWeight += entry.weight;
+        demote();
+    }
+
+    @Override
+    void onReplace(Entry<K, V> entry, int oldWeight) {
+        if (entry.protectedSegment) {
+            protectedWeight += entry.weight - oldWeight;
+        }
+        onAccess(entry);
+        demote();
+    }
+
+    @Override
+    void onRemove(Entry<K, V> entry) {
+        if (entry.protectedSegment) {
+            protectedOrder.remove(entry.handle);
+            protectedWeight -= entry.weight;
+        } else {
+            probation.remove(entry.handle);
+        }
+    }
+
+    @Override
+    Entry<K, V> victim() {
+        return probation.isEmpty() ? protectedOrder.getFirst() : probation.getFirst();
+    }
+
+    @Override
+    void onClear() {
+        probation.clear();
+        protectedOrder.clear();
+        protectedWeight = 0;
+    }
+
+    /**
+     * Moves the least recently used protected entries to the tail of probation until the segment fits.
+     */
+    private void demote() {
+        while (protectedWeight > maximumProtectedWeight) {
+            Entry<K, V> entry = protectedOrder.removeFirst();
+            protectedWeight -= entry.weight;
+            entry.protectedSegment = false;
+            entry.handle = probation.linkLast(entry);
+        }
+    }
+}
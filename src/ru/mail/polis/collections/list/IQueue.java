@@ -1,6 +1,10 @@
 package ru.mail.polis.collections.list;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 
 import ru.mail.polis.collections.ICollectionIterable;
 
@@ -42,6 +46,92 @@ public interface IQueue<E> extends ICollectionIterable<E> {
      */
     E removeFirst();
 
+    /**
+     * Inserts all of the specified elements at the tail of this queue, in array order.
+     * All or nothing: if any element is null, no element is added.
+     *
+     * @param values the elements to add
+     * @throws NullPointerException if the specified array or any of its elements is null
+     */
+    default void addAllLast(E[] values) {
+        Objects.requireNonNull(values, "values");
+        for (E value : values) {
+            Objects.requireNonNull(value, "value");
+        }
+        for (E value : values) {
+            addLast(value);
+        }
+    }
+
+    /**
+     * Inserts all of the specified elements at the tail of this queue, in iteration order.
+     * All or nothing: if any element is null, no element is added.
+     *
+     * @param values the elements to add
+     * @throws NullPointerException if the specified collection or any of its elements is null
+     */
+    default void addAllLast(ICollectionIterable<? extends E> values) {
+        Objects.requireNonNull(values, "values");
+        for (E value : values) {
+            Objects.requireNonNull(value, "value");
+        }
+        if (values == this) {
+            // a growable snapshot: size() of a concurrent queue may be stale by the time it is iterated
+            List<E> snapshot = new ArrayList<>();
+            for (E value : this) {
+                snapshot.add(value);
+            }
+            for (E value : snapshot) {
+                addLast(value);
+            }
+            return;
+        }
+        for (E value : values) {
+            addLast(value);
+        }
+    }
+
+    /**
+     * Retrieves and removes at most {@code max} elements from the head of this queue
+     * and stores them into {@code dst} starting at index 0.
+     *
+     * @param dst the array to store the removed elements into
+     * @param max the maximum number of elements to remove
+     * @return the number of elements removed, that is {@code min(max, size(), dst.length)}
+     * @throws NullPointerException if the specified array is null
+     * @throws IllegalArgumentException if {@code max} is negative
+     */
+    default int drainTo(E[] dst, int max) {
+        Objects.requireNonNull(dst, "dst");
+        if (max < 0) {
+            throw new IllegalArgumentException("max < 0: " + max);
+        }
+        int count = Math.min(max, Math.min(size(), dst.length));
+        for (int i = 0; i < count; i++) {
+            dst[i] = removeFirst();
+        }
+        return count;
+    }
+
+    /**
+     * Removes the first {@code n} elements of this queue.
+     *
+     * @param n the number of elements to remove
+     * @throws IllegalArgumentException if {@code n} is negative
+     * @throws java.util.NoSuchElementException if this queue contains less than {@code n} elements
+     */
+    default void removeFirst(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n < 0: " + n);
+        }
+        if (n > size()) {
+            throw new NoSuchElementException();
+        }
+        for (int i = 0; i < n; i++) {
+            removeFirst();
+        }
+    }
+
     /**
      * Returns an iterator over the elements in this collection in proper sequence.
      * The elements will be returned in order from first (head) to last (tail).
@@ -0,0 +1,37 @@
+package ru.mail.polis.collections.list;
+
+import ru.mail.polis.collections.ICollectionIterable;
+
+/**
+ * Stack is LIFO - Last In First Out
+ * <p>
+ * push/pop/peek - [top]-[...]-...-[...]-[bottom]
+ *
+ * @param <E> the type of elements maintained by this stack
+ */
+public interface IStack<E> extends ICollectionIterable<E> {
+
+    /**
+     * Inserts the specified element on the top of this stack.
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the specified element is null
+     */
+    void push(E value);
+
+    /**
+     * Retrieves and removes the element on the top of this stack.
+     *
+     * @return the top of this stack
+     * @throws java.util.NoSuchElementException if this stack is empty
+     */
+    E pop();
+
+    /**
+     * Retrieves, but does not remove, the element on the top of this stack.
+     *
+     * @return the top of this stack
+     * @throws java.util.NoSuchElementException if this stack is empty
+     */
+    E peek();
+}
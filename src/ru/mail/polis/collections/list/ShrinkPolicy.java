@@ -0,0 +1,57 @@
+package ru.mail.polis.collections.list;
+
+/**
+ * Decides when an array-backed collection gives memory back.
+ * <p>
+ * The capacity is halved while fewer than {@code capacity / threshold} slots are occupied,
+ * but never below {@code minCapacity}.
+ * With {@code threshold > 2} a halved array is at most {@code 2 / threshold} full,
+ * so the collection has to double its size before it grows again: capacity does not thrash
+ * when the size oscillates around a power of two.
+ */
+public final class ShrinkPolicy {
+
+    /**
+     * Never shrinks, the backing array only grows (until {@code trimToSize()} is called).
+     */
+    public static final ShrinkPolicy NEVER = new ShrinkPolicy(Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    /**
+     * Halves the capacity when occupancy drops below 1/4.
+     */
+    public static final ShrinkPolicy QUARTER = new ShrinkPolicy(4, 16);
+
+    private final int threshold;
+    private final int minCapacity;
+
+    /**
+     * @param threshold   shrink when less than {@code 1 / threshold} of the capacity is occupied
+     * @param minCapacity the capacity the policy never shrinks below
+     * @throws IllegalArgumentException if {@code threshold <= 2} (no hysteresis) or {@code minCapacity < 1}
+     */
+    public ShrinkPolicy(int threshold, int minCapacity) {
+        if (threshold <= 2) {
+            throw new IllegalArgumentException("threshold <= 2: " + threshold);
+        }
+        if (minCapacity < 1) {
+            throw new IllegalArgumentException("minCapacity < 1: " + minCapacity);
+        }
+        this.threshold = threshold;
+        this.minCapacity = minCapacity;
+    }
+
+    /**
+     * Returns the capacity the backing array should have for the given occupancy.
+     *
+     * @param size     the number of elements
+     * @param capacity the current capacity
+     * @return the new capacity, or {@code capacity} if the array should be kept as is
+     */
+    public int shrinkTo(int size, int capacity) {
+        int result = capacity;
+        while ((result >> 1) >= minCapacity && (long) size * threshold < result) {
+            result >>= 1;
+        }
+        return result;
+    }
+}
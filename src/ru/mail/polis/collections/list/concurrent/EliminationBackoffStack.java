@@ -0,0 +1,353 @@
+package ru.mail.polis.collections.list.concurrent;
+
+import ru.mail.polis.collections.list.IDeque;
+import ru.mail.polis.collections.list.IStack;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Non-blocking implementation of the {@link IStack} interface:
+ * a Treiber stack with an elimination array (Hendler, Shavit, Yerushalmi, 2004).
+ * <p>
+ * {@link #push(Object)} and {@link #pop()} first try a CAS on the top of the stack.
+ * When it fails, the thread backs off to a random slot of the elimination array:
+ * a push leaves its node there for a short while and a pop takes a node it finds there,
+ * so a concurrent push and pop cancel out without touching the top.
+ * <p>
+ * {@link #contains(Object)}, {@link #size()} and the iterator are weakly consistent,
+ * the iterator does not support removal.
+ * <p>
+ * Code written against {@link IDeque} that uses only the head ({@code addFirst}/{@code removeFirst}),
+ * such as an object pool, switches over through {@link #asDeque()}.
+ *
+ * @param <E> the type of elements held in this stack
+ */
+public class EliminationBackoffStack<E> implements IStack<E> {
+
+    private static final VarHandle TOP;
+    private static final VarHandle SLOT;
+    private static final int MAX_SLOTS = 16;
+    private static final int SPINS = 64;
+
+    static {
+        try {
+            TOP = MethodHandles.lookup().findVarHandle(EliminationBackoffStack.class, "top", Node.class);
+            SLOT = MethodHandles.arrayElementVarHandle(Node[].class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile Node<E> top;
+    private final Node<?>[] slots;
+
+    public EliminationBackoffStack() {
+        this(Math.min(MAX_SLOTS, Math.max(1, Runtime.getRuntime().availableProcessors() / 2)));
+    }
+
+    /**
+     * Creates an empty stack with the given number of elimination slots.
+     *
+     * @param eliminationSlots the length of the elimination array, more slots spread more threads
+     * @throws IllegalArgumentException if {@code eliminationSlots} is less than 1
+     */
+    public EliminationBackoffStack(int eliminationSlots) {
+        if (eliminationSlots < 1) {
+            throw new IllegalArgumentException("eliminationSlots < 1: " + eliminationSlots);
+        }
+        this.slots = new Node<?>[eliminationSlots];
+    }
+
+    /**
+     * Pushes the specified element on the top of this stack.
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public void push(E value) {
+        Objects.requireNonNull(value, "value");
+        Node<E> node = new Node<>(value);
+        while (true) {
+            Node<E> h = top;
+            node.next = h;
+            if (TOP.compareAndSet(this, h, node) || eliminatePush(node)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Pops the element on the top of this stack, or returns {@code null} if this stack is empty.
+     *
+     * @return the top of this stack, or {@code null} if this stack is empty
+     */
+    public E poll() {
+        while (true) {
+            Node<E> h = top;
+            if (h == null) {
+                return null;
+            }
+            if (TOP.compareAndSet(this, h, h.next)) {
+                return h.value;
+            }
+            Node<E> partner = eliminatePop();
+            if (partner != null) {
+                return partner.value;
+            }
+        }
+    }
+
+    /**
+     * Pops the element on the top of this stack.
+     *
+     * @return the top of this stack
+     * @throws java.util.NoSuchElementException if this stack is empty
+     */
+    @Override
+    public E pop() {
+        E value = poll();
+        if (value == null) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+
+    /**
+     * Retrieves, but does not remove, the element on the top of this stack.
+     *
+     * @return the top of this stack
+     * @throws java.util.NoSuchElementException if this stack is empty
+     */
+    @Override
+    public E peek() {
+        Node<E> h = top;
+        if (h == null) {
+            throw new NoSuchElementException();
+        }
+        return h.value;
+    }
+
+    /**
+     * Returns {@code true} if this collection contains the specified element.
+     * aka collection contains element el such that {@code Objects.equals(el, value) == true}
+     *
+     * @param value element whose presence in this collection is to be tested
+     * @return {@code true} if this collection contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public boolean contains(E value) {
+        Objects.requireNonNull(value, "value");
+        for (Node<E> node = top; node != null; node = node.next) {
+            if (value.equals(node.value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of elements in this collection.
+     * Traverses the stack, the result is a snapshot that may be already stale.
+     *
+     * @return the number of elements in this collection
+     */
+    @Override
+    public int size() {
+        int count = 0;
+        for (Node<E> node = top; node != null && count < Integer.MAX_VALUE; node = node.next) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns {@code true} if this collection contains no elements.
+     *
+     * @return {@code true} if this collection contains no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return top == null;
+    }
+
+    /**
+     * Removes all of the elements from this collection.
+     * Elements pushed concurrently may remain.
+     */
+    @Override
+    public void clear() {
+        TOP.getAndSet(this, null);
+    }
+
+    /**
+     * Returns an iterator over the elements in this stack from the top to the bottom.
+     * The iterator walks the nodes reachable from the top when it was created and does not support removal.
+     *
+     * @return an iterator over the elements in this stack
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+
+            private Node<E> next = top;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public E next() {
+                Node<E> node = next;
+                if (node == null) {
+                    throw new NoSuchElementException();
+                }
+                next = node.next;
+                return node.value;
+            }
+        };
+    }
+
+    /**
+     * Returns a LIFO view of this stack as an {@link IDeque} with head operations only:
+     * {@code addFirst} pushes, {@code removeFirst} pops and {@code getFirst} peeks.
+     * The tail operations, and {@code addAllLast} built on them, throw {@link UnsupportedOperationException}.
+     *
+     * @return the view, backed by this stack
+     */
+    public IDeque<E> asDeque() {
+        return new HeadDeque();
+    }
+
+    private int randomSlot() {
+        return ThreadLocalRandom.current().nextInt(slots.length);
+    }
+
+    /**
+     * Offers the node in a random free slot and waits for a pop to take it.
+     *
+     * @return {@code true} if a pop took the node, {@code false} if the push has to be retried
+     */
+    private boolean eliminatePush(Node<E> node) {
+        int slot = randomSlot();
+        if (!SLOT.compareAndSet(slots, slot, null, node)) {
+            return false;
+        }
+        for (int i = 0; i < SPINS; i++) {
+            if (SLOT.getAcquire(slots, slot) != node) {
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+        return !SLOT.compareAndSet(slots, slot, node, null);
+    }
+
+    /**
+     * Takes a node a concurrent push left in a random slot.
+     *
+     * @return the node, or {@code null} if the pop has to be retried
+     */
+    @SuppressWarnings("unchecked")
+    private Node<E> eliminatePop() {
+        int slot = randomSlot();
+        Node<E> node = (Node<E>) SLOT.getAcquire(slots, slot);
+        if (node != null && SLOT.compareAndSet(slots, slot, node, null)) {
+            return node;
+        }
+        return null;
+    }
+
+    private static final class Node<E> {
+
+        private final E value;
+        private Node<E> next;
+
+        Node(E value) {
+            this.value = value;
+        }
+    }
+
+    private class HeadDeque implements IDeque<E> {
+
+        @Override
+        public void addFirst(E value) {
+            push(value);
+        }
+
+        @Override
+        public E getFirst() {
+            return peek();
+        }
+
+        @Override
+        public E removeFirst() {
+            return pop();
+        }
+
+        @Override
+        public void addLast(E value) {
+            throw new UnsupportedOperationException("addLast on a stack");
+        }
+
+        @Override
+        public E getLast() {
+            throw new UnsupportedOperationException("getLast on a stack");
+        }
+
+        @Override
+        public E removeLast() {
+            throw new UnsupportedOperationException("removeLast on a stack");
+        }
+
+        /**
+         * Pops until {@code max} elements are removed or the stack is found empty,
+         * concurrent pops may leave fewer elements than {@code size()} reported.
+         */
+        @Override
+        public int drainTo(E[] dst, int max) {
+            Objects.requireNonNull(dst, "dst");
+            if (max < 0) {
+                throw new IllegalArgumentException("max < 0: " + max);
+            }
+            int limit = Math.min(max, dst.length);
+            int count = 0;
+            E value;
+            while (count < limit && (value = poll()) != null) {
+                dst[count++] = value;
+            }
+            return count;
+        }
+
+        @Override
+        public boolean contains(E value) {
+            return EliminationBackoffStack.this.contains(value);
+        }
+
+        @Override
+        public int size() {
+            return EliminationBackoffStack.this.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return EliminationBackoffStack.this.isEmpty();
+        }
+
+        @Override
+        public void clear() {
+            EliminationBackoffStack.this.clear();
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return EliminationBackoffStack.this.iterator();
+        }
+    }
+}
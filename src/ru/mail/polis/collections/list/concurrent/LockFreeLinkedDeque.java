@@ -0,0 +1,737 @@
+package ru.mail.polis.collections.list.concurrent;
+
+import ru.mail.polis.collections.list.IDeque;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Unbounded non-blocking linked implementation of the {@link IDeque} interface
+ * in the style of {@link java.util.concurrent.ConcurrentLinkedDeque}, built with {@link VarHandle} CAS.
+ * <p>
+ * Nodes are doubly linked. An element is added by a CAS on the {@code prev} link of the first node
+ * or on the {@code next} link of the last node, and removed by a CAS of its item to {@code null};
+ * threads working at different ends do not contend. {@code head} and {@code tail} are only hints
+ * that may lag up to a couple of nodes behind the real ends.
+ * <p>
+ * A node with a {@code null} item is deleted. Deleted nodes are first bypassed by the links
+ * of their live neighbours and then unlinked: a node cut off at the front gets a {@code next}
+ * link to itself and a {@code prev} link to {@link #PREV_TERMINATOR}, symmetrically at the back,
+ * an interior node links to itself both ways. A traversal reaching a self-link restarts from the end.
+ * <p>
+ * {@link #contains(Object)}, {@link #size()} and the iterator are weakly consistent:
+ * they traverse the nodes without locking and may miss concurrent updates.
+ *
+ * @param <E> the type of elements held in this deque
+ */
+public class LockFreeLinkedDeque<E> implements IDeque<E> {
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+    private static final VarHandle PREV;
+    private static final VarHandle NEXT;
+    private static final VarHandle ITEM;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(LockFreeLinkedDeque.class, "head", Node.class);
+            TAIL = lookup.findVarHandle(LockFreeLinkedDeque.class, "tail", Node.class);
+            PREV = lookup.findVarHandle(Node.class, "prev", Node.class);
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+            ITEM = lookup.findVarHandle(Node.class, "item", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * A run of at least this many deleted nodes at an end is unlinked, shorter ones are left for later.
+     */
+    private static final int HOPS = 2;
+
+    private static final Node PREV_TERMINATOR = new Node(null);
+    private static final Node NEXT_TERMINATOR = new Node(null);
+
+    static {
+        PREV_TERMINATOR.next = PREV_TERMINATOR;
+        NEXT_TERMINATOR.prev = NEXT_TERMINATOR;
+    }
+
+    /**
+     * A node from which the first node is reachable by {@code prev} links.
+     */
+    private volatile Node head;
+    /**
+     * A node from which the last node is reachable by {@code next} links.
+     */
+    private volatile Node tail;
+
+    public LockFreeLinkedDeque() {
+        head = tail = new Node(null);
+    }
+
+    /**
+     * Inserts the specified element at the front of this deque.
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public void addFirst(E value) {
+        Objects.requireNonNull(value, "value");
+        Node node = new Node(value);
+        restart:
+        while (true) {
+            for (Node h = head, p = h, q; ; ) {
+                if ((q = p.prev) != null && (q = (p = q).prev) != null) {
+                    // two hops at a time, jumping to a newer head if there is one
+                    p = h != (h = head) ? h : q;
+                } else if (p.next == p) {
+                    // PREV_TERMINATOR: p was unlinked
+                    continue restart;
+                } else {
+                    node.next = p;
+                    if (PREV.compareAndSet(p, null, node)) {
+                        if (p != h) {
+                            HEAD.weakCompareAndSet(this, h, node);
+                        }
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public void addLast(E value) {
+        Objects.requireNonNull(value, "value");
+        Node node = new Node(value);
+        restart:
+        while (true) {
+            for (Node t = tail, p = t, q; ; ) {
+                if ((q = p.next) != null && (q = (p = q).next) != null) {
+                    p = t != (t = tail) ? t : q;
+                } else if (p.prev == p) {
+                    // NEXT_TERMINATOR: p was unlinked
+                    continue restart;
+                } else {
+                    node.prev = p;
+                    if (NEXT.compareAndSet(p, null, node)) {
+                        if (p != t) {
+                            TAIL.weakCompareAndSet(this, t, node);
+                        }
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves and removes the first element of this deque, or returns {@code null} if this deque is empty.
+     *
+     * @return the head of this deque, or {@code null} if this deque is empty
+     */
+    public E pollFirst() {
+        restart:
+        while (true) {
+            for (Node first = first(), p = first; ; ) {
+                Object item = p.item;
+                if (item != null) {
+                    if (first.prev != null) {
+                        // an element was added at the front meanwhile
+                        continue restart;
+                    }
+                    if (ITEM.compareAndSet(p, item, null)) {
+                        unlink(p);
+                        return itemOf(item);
+                    }
+                }
+                if (p == (p = p.next)) {
+                    continue restart;
+                }
+                if (p == null) {
+                    if (first.prev != null) {
+                        continue restart;
+                    }
+                    return null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves and removes the last element of this deque, or returns {@code null} if this deque is empty.
+     *
+     * @return the tail of this deque, or {@code null} if this deque is empty
+     */
+    public E pollLast() {
+        restart:
+        while (true) {
+            for (Node last = last(), p = last; ; ) {
+                Object item = p.item;
+                if (item != null) {
+                    if (last.next != null) {
+                        continue restart;
+                    }
+                    if (ITEM.compareAndSet(p, item, null)) {
+                        unlink(p);
+                        return itemOf(item);
+                    }
+                }
+                if (p == (p = p.prev)) {
+                    continue restart;
+                }
+                if (p == null) {
+                    if (last.next != null) {
+                        continue restart;
+                    }
+                    return null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves, but does not remove, the first element of this deque,
+     * or returns {@code null} if this deque is empty.
+     *
+     * @return the head of this deque, or {@code null} if this deque is empty
+     */
+    public E peekFirst() {
+        restart:
+        while (true) {
+            Node first = first();
+            Node p = first;
+            Object item;
+            while ((item = p.item) == null) {
+                if (p == (p = p.next)) {
+                    continue restart;
+                }
+                if (p == null) {
+                    break;
+                }
+            }
+            if (first.prev != null) {
+                continue restart;
+            }
+            return itemOf(item);
+        }
+    }
+
+    /**
+     * Retrieves, but does not remove, the last element of this deque,
+     * or returns {@code null} if this deque is empty.
+     *
+     * @return the tail of this deque, or {@code null} if this deque is empty
+     */
+    public E peekLast() {
+        restart:
+        while (true) {
+            Node last = last();
+            Node p = last;
+            Object item;
+            while ((item = p.item) == null) {
+                if (p == (p = p.prev)) {
+                    continue restart;
+                }
+                if (p == null) {
+                    break;
+                }
+            }
+            if (last.next != null) {
+                continue restart;
+            }
+            return itemOf(item);
+        }
+    }
+
+    /**
+     * Retrieves and removes the first element of this queue.
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public E removeFirst() {
+        E value = pollFirst();
+        if (value == null) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+
+    /**
+     * Retrieves and removes the last element of this deque.
+     *
+     * @return the tail of this deque
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public E removeLast() {
+        E value = pollLast();
+        if (value == null) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+
+    /**
+     * Retrieves, but does not remove, the first element of this queue.
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this queue is empty
+     */
+    @Override
+    public E getFirst() {
+        E value = peekFirst();
+        if (value == null) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+
+    /**
+     * Retrieves, but does not remove, the last element of this deque.
+     *
+     * @return the tail of this deque
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public E getLast() {
+        E value = peekLast();
+        if (value == null) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+
+    /**
+     * Returns {@code true} if this collection contains the specified element.
+     * aka collection contains element el such that {@code Objects.equals(el, value) == true}
+     *
+     * @param value element whose presence in this collection is to be tested
+     * @return {@code true} if this collection contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public boolean contains(E value) {
+        Objects.requireNonNull(value, "value");
+        for (Node p = first(); p != null; p = successor(p)) {
+            if (value.equals(p.item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of elements in this collection.
+     * Traverses the deque, the result is a snapshot that may be already stale.
+     *
+     * @return the number of elements in this collection
+     */
+    @Override
+    public int size() {
+        restart:
+        while (true) {
+            int count = 0;
+            for (Node p = first(); p != null && count < Integer.MAX_VALUE; ) {
+                if (p.item != null) {
+                    count++;
+                }
+                if (p == (p = p.next)) {
+                    continue restart;
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Returns {@code true} if this collection contains no elements.
+     *
+     * @return {@code true} if this collection contains no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return peekFirst() == null;
+    }
+
+    /**
+     * Removes all of the elements from this collection.
+     * Elements added concurrently may remain.
+     */
+    @Override
+    public void clear() {
+        while (pollFirst() != null) {
+            //poll until empty
+        }
+    }
+
+    /**
+     * Returns an iterator over the elements in this collection in proper sequence.
+     * The elements will be returned in order from first (head) to last (tail).
+     * The iterator is weakly consistent; its removal deletes the element if it is still in the deque.
+     *
+     * @return an iterator over the elements in this collection in proper sequence
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    @SuppressWarnings("unchecked")
+    private E itemOf(Object item) {
+        return (E) item;
+    }
+
+    /**
+     * Returns the first node, the only one without a {@code prev} link, moving the head hint to it.
+     */
+    private Node first() {
+        restart:
+        while (true) {
+            for (Node h = head, p = h, q; ; ) {
+                if ((q = p.prev) != null && (q = (p = q).prev) != null) {
+                    p = h != (h = head) ? h : q;
+                } else if (p == h || HEAD.compareAndSet(this, h, p)) {
+                    // if p is PREV_TERMINATOR the head has moved and the CAS fails
+                    return p;
+                } else {
+                    continue restart;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the last node, the only one without a {@code next} link, moving the tail hint to it.
+     */
+    private Node last() {
+        restart:
+        while (true) {
+            for (Node t = tail, p = t, q; ; ) {
+                if ((q = p.next) != null && (q = (p = q).next) != null) {
+                    p = t != (t = tail) ? t : q;
+                } else if (p == t || TAIL.compareAndSet(this, t, p)) {
+                    return p;
+                } else {
+                    continue restart;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the next node, restarting from the first one if the node was unlinked.
+     */
+    private Node successor(Node p) {
+        Node next = p.next;
+        return next == p ? first() : next;
+    }
+
+    /**
+     * Unlinks a node whose item has just been nulled out.
+     */
+    private void unlink(Node x) {
+        Node prev = x.prev;
+        Node next = x.next;
+        if (prev == null) {
+            unlinkFirst(x, next);
+        } else if (next == null) {
+            unlinkLast(x, prev);
+        } else {
+            Node activePred;
+            Node activeSucc;
+            boolean isFirst;
+            boolean isLast;
+            int hops = 1;
+
+            for (Node p = prev; ; hops++) {
+                if (p.item != null) {
+                    activePred = p;
+                    isFirst = false;
+                    break;
+                }
+                Node q = p.prev;
+                if (q == null) {
+                    if (p.next == p) {
+                        return;
+                    }
+                    activePred = p;
+                    isFirst = true;
+                    break;
+                } else if (p == q) {
+                    return;
+                } else {
+                    p = q;
+                }
+            }
+
+            for (Node p = next; ; hops++) {
+                if (p.item != null) {
+                    activeSucc = p;
+                    isLast = false;
+                    break;
+                }
+                Node q = p.next;
+                if (q == null) {
+                    if (p.prev == p) {
+                        return;
+                    }
+                    activeSucc = p;
+                    isLast = true;
+                    break;
+                } else if (p == q) {
+                    return;
+                } else {
+                    p = q;
+                }
+            }
+
+            if (hops < HOPS && (isFirst || isLast)) {
+                // a short run of deleted nodes at an end is cheaper to leave in place
+                return;
+            }
+
+            skipDeletedSuccessors(activePred);
+            skipDeletedPredecessors(activeSucc);
+
+            if ((isFirst || isLast)
+                    && activePred.next == activeSucc
+                    && activeSucc.prev == activePred
+                    && (isFirst ? activePred.prev == null : activePred.item != null)
+                    && (isLast ? activeSucc.next == null : activeSucc.item != null)) {
+                // make sure x is not reachable from the hints before cutting its links
+                updateHead();
+                updateTail();
+                PREV.setRelease(x, isFirst ? PREV_TERMINATOR : x);
+                NEXT.setRelease(x, isLast ? NEXT_TERMINATOR : x);
+            }
+        }
+    }
+
+    /**
+     * Unlinks the deleted nodes after the first node, which has just been deleted.
+     */
+    private void unlinkFirst(Node first, Node next) {
+        for (Node o = null, p = next, q; ; ) {
+            if (p.item != null || (q = p.next) == null) {
+                if (o != null && p.prev != p && NEXT.compareAndSet(first, next, p)) {
+                    skipDeletedPredecessors(p);
+                    if (first.prev == null && (p.next == null || p.item != null) && p.prev == first) {
+                        updateHead();
+                        updateTail();
+                        NEXT.setRelease(o, o);
+                        PREV.setRelease(o, PREV_TERMINATOR);
+                    }
+                }
+                return;
+            } else if (p == q) {
+                return;
+            } else {
+                o = p;
+                p = q;
+            }
+        }
+    }
+
+    /**
+     * Unlinks the deleted nodes before the last node, which has just been deleted.
+     */
+    private void unlinkLast(Node last, Node prev) {
+        for (Node o = null, p = prev, q; ; ) {
+            if (p.item != null || (q = p.prev) == null) {
+                if (o != null && p.next != p && PREV.compareAndSet(last, prev, p)) {
+                    skipDeletedSuccessors(p);
+                    if (last.next == null && (p.prev == null || p.item != null) && p.next == last) {
+                        updateHead();
+                        updateTail();
+                        PREV.setRelease(o, o);
+                        NEXT.setRelease(o, NEXT_TERMINATOR);
+                    }
+                }
+                return;
+            } else if (p == q) {
+                return;
+            } else {
+                o = p;
+                p = q;
+            }
+        }
+    }
+
+    /**
+     * Moves the head hint to the first node unless it already points to a live node.
+     */
+    private void updateHead() {
+        Node h;
+        Node p;
+        Node q;
+        restart:
+        while ((h = head).item == null && (p = h.prev) != null) {
+            while (true) {
+                if ((q = p.prev) == null || (q = (p = q).prev) == null) {
+                    if (HEAD.compareAndSet(this, h, p)) {
+                        return;
+                    }
+                    continue restart;
+                } else if (h != head) {
+                    continue restart;
+                } else {
+                    p = q;
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the tail hint to the last node unless it already points to a live node.
+     */
+    private void updateTail() {
+        Node t;
+        Node p;
+        Node q;
+        restart:
+        while ((t = tail).item == null && (p = t.next) != null) {
+            while (true) {
+                if ((q = p.next) == null || (q = (p = q).next) == null) {
+                    if (TAIL.compareAndSet(this, t, p)) {
+                        return;
+                    }
+                    continue restart;
+                } else if (t != tail) {
+                    continue restart;
+                } else {
+                    p = q;
+                }
+            }
+        }
+    }
+
+    /**
+     * Points the {@code prev} link of x past the deleted nodes before it, while x is live or last.
+     */
+    private void skipDeletedPredecessors(Node x) {
+        do {
+            Node prev = x.prev;
+            Node p = prev;
+            boolean found = true;
+            while (p.item == null) {
+                Node q = p.prev;
+                if (q == null) {
+                    found = p.next != p;
+                    break;
+                } else if (p == q) {
+                    found = false;
+                    break;
+                }
+                p = q;
+            }
+            if (found && (prev == p || PREV.compareAndSet(x, prev, p))) {
+                return;
+            }
+        } while (x.item != null || x.next == null);
+    }
+
+    /**
+     * Points the {@code next} link of x past the deleted nodes after it, while x is live or first.
+     */
+    private void skipDeletedSuccessors(Node x) {
+        do {
+            Node next = x.next;
+            Node p = next;
+            boolean found = true;
+            while (p.item == null) {
+                Node q = p.next;
+                if (q == null) {
+                    found = p.prev != p;
+                    break;
+                } else if (p == q) {
+                    found = false;
+                    break;
+                }
+                p = q;
+            }
+            if (found && (next == p || NEXT.compareAndSet(x, next, p))) {
+                return;
+            }
+        } while (x.item != null || x.prev == null);
+    }
+
+    private static final class Node {
+
+        private volatile Object item;
+        private volatile Node prev;
+        private volatile Node next;
+
+        Node(Object item) {
+            this.item = item;
+        }
+    }
+
+    private class Itr implements Iterator<E> {
+
+        private Node nextNode;
+        private E nextItem;
+        private Node lastNode;
+        private E lastItem;
+
+        Itr() {
+            advance(first());
+        }
+
+        private void advance(Node node) {
+            while (node != null) {
+                E value = itemOf(node.item);
+                if (value != null) {
+                    nextNode = node;
+                    nextItem = value;
+                    return;
+                }
+                node = successor(node);
+            }
+            nextNode = null;
+            nextItem = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextNode != null;
+        }
+
+        @Override
+        public E next() {
+            if (nextNode == null) {
+                throw new NoSuchElementException();
+            }
+            lastNode = nextNode;
+            lastItem = nextItem;
+            advance(successor(nextNode));
+            return lastItem;
+        }
+
+        @Override
+        public void remove() {
+            if (lastNode == null) {
+                throw new IllegalStateException();
+            }
+            if (ITEM.compareAndSet(lastNode, lastItem, null)) {
+                unlink(lastNode);
+            }
+            lastNode = null;
+            lastItem = null;
+        }
+    }
+}
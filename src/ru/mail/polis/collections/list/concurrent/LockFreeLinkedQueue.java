@@ -0,0 +1,306 @@
+package ru.mail.polis.collections.list.concurrent;
+
+import ru.mail.polis.collections.list.IQueue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Unbounded non-blocking linked implementation of the {@link IQueue} interface
+ * (Michael and Scott, 1996), built with {@link VarHandle} CAS.
+ * <p>
+ * The head is always a dummy node, {@link #poll()} moves the head to the first node and takes its element.
+ * An element removed by an iterator is nulled out in place and skipped until its node reaches the head.
+ * <p>
+ * {@link #contains(Object)}, {@link #size()} and the iterator are weakly consistent:
+ * they traverse the nodes without locking and may miss concurrent updates.
+ *
+ * @param <E> the type of elements held in this queue
+ */
+public class LockFreeLinkedQueue<E> implements IQueue<E> {
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+    private static final VarHandle NEXT;
+    private static final VarHandle ITEM;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(LockFreeLinkedQueue.class, "head", Node.class);
+            TAIL = lookup.findVarHandle(LockFreeLinkedQueue.class, "tail", Node.class);
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+            ITEM = lookup.findVarHandle(Node.class, "item", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile Node head;
+    private volatile Node tail;
+
+    public LockFreeLinkedQueue() {
+        head = tail = new Node(null);
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue.
+     *
+     * @param value the element to add
+     * @return {@code true}, the queue is unbounded
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean offer(E value) {
+        Objects.requireNonNull(value, "value");
+        Node node = new Node(value);
+        while (true) {
+            Node t = tail;
+            Node next = t.next;
+            if (t != tail) {
+                continue;
+            }
+            if (next != null) {
+                TAIL.compareAndSet(this, t, next);
+            } else if (NEXT.compareAndSet(t, null, node)) {
+                TAIL.compareAndSet(this, t, node);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Retrieves and removes the first element of this queue, or returns {@code null} if this queue is empty.
+     *
+     * @return the head of this queue, or {@code null} if this queue is empty
+     */
+    public E poll() {
+        while (true) {
+            Node h = head;
+            Node t = tail;
+            Node first = h.next;
+            if (h != head) {
+                continue;
+            }
+            if (first == null) {
+                return null;
+            }
+            if (h == t) {
+                TAIL.compareAndSet(this, t, first);
+            } else if (HEAD.compareAndSet(this, h, first)) {
+                h.next = h;
+                E value = itemOf(ITEM.getAndSet(first, null));
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves, but does not remove, the first element of this queue,
+     * or returns {@code null} if this queue is empty.
+     *
+     * @return the head of this queue, or {@code null} if this queue is empty
+     */
+    public E peek() {
+        for (Node node = firstNode(); node != null; node = successor(node)) {
+            E value = itemOf(node.item);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public void addLast(E value) {
+        offer(value);
+    }
+
+    /**
+     * Retrieves and removes the first element of this queue.
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this queue is empty
+     */
+    @Override
+    public E removeFirst() {
+        E value = poll();
+        if (value == null) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+
+    /**
+     * Retrieves, but does not remove, the first element of this queue.
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this queue is empty
+     */
+    @Override
+    public E getFirst() {
+        E value = peek();
+        if (value == null) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+
+    /**
+     * Returns {@code true} if this collection contains the specified element.
+     * aka collection contains element el such that {@code Objects.equals(el, value) == true}
+     *
+     * @param value element whose presence in this collection is to be tested
+     * @return {@code true} if this collection contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public boolean contains(E value) {
+        Objects.requireNonNull(value, "value");
+        for (Node node = firstNode(); node != null; node = successor(node)) {
+            if (value.equals(node.item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of elements in this collection.
+     * Traverses the queue, the result is a snapshot that may be already stale.
+     *
+     * @return the number of elements in this collection
+     */
+    @Override
+    public int size() {
+        int count = 0;
+        for (Node node = firstNode(); node != null && count < Integer.MAX_VALUE; node = successor(node)) {
+            if (node.item != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns {@code true} if this collection contains no elements.
+     *
+     * @return {@code true} if this collection contains no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return peek() == null;
+    }
+
+    /**
+     * Removes all of the elements from this collection.
+     * Elements added concurrently may remain.
+     */
+    @Override
+    public void clear() {
+        while (poll() != null) {
+            //poll until empty
+        }
+    }
+
+    /**
+     * Returns an iterator over the elements in this collection in proper sequence.
+     * The elements will be returned in order from first (head) to last (tail).
+     * The iterator is weakly consistent; its removal nulls out the element if it is still in the queue.
+     *
+     * @return an iterator over the elements in this collection in proper sequence
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    @SuppressWarnings("unchecked")
+    private E itemOf(Object item) {
+        return (E) item;
+    }
+
+    private Node firstNode() {
+        return successor(head);
+    }
+
+    /**
+     * Returns the next node, restarting from the head if the node was polled and self-linked.
+     */
+    private Node successor(Node node) {
+        Node next = node.next;
+        return next == node ? head.next : next;
+    }
+
+    private static final class Node {
+
+        private volatile Object item;
+        private volatile Node next;
+
+        Node(Object item) {
+            this.item = item;
+        }
+    }
+
+    private class Itr implements Iterator<E> {
+
+        private Node nextNode;
+        private E nextItem;
+        private Node lastNode;
+        private E lastItem;
+
+        Itr() {
+            advance(firstNode());
+        }
+
+        private void advance(Node node) {
+            while (node != null) {
+                E value = itemOf(node.item);
+                if (value != null) {
+                    nextNode = node;
+                    nextItem = value;
+                    return;
+                }
+                node = successor(node);
+            }
+            nextNode = null;
+            nextItem = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextNode != null;
+        }
+
+        @Override
+        public E next() {
+            if (nextNode == null) {
+                throw new NoSuchElementException();
+            }
+            lastNode = nextNode;
+            lastItem = nextItem;
+            advance(successor(nextNode));
+            return lastItem;
+        }
+
+        @Override
+        public void remove() {
+            if (lastNode == null) {
+                throw new IllegalStateException();
+            }
+            ITEM.compareAndSet(lastNode, lastItem, null);
+            lastNode = null;
+            lastItem = null;
+        }
+    }
+}
@@ -0,0 +1,504 @@
+package ru.mail.polis.collections.list.concurrent;
+
+import ru.mail.polis.collections.list.IQueue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded lock-free multi-producer/multi-consumer array implementation of the {@link IQueue} interface
+ * (D. Vyukov's bounded MPMC queue).
+ * - capacity is rounded up to a power of two
+ * - every slot carries a sequence number: a producer may fill the slot of position {@code p}
+ * when its sequence is {@code p}, a consumer may take it when its sequence is {@code p + 1};
+ * producers and consumers claim positions with a CAS on their own counter, there is no global lock
+ * - {@link #offer(Object)} / {@link #poll()} never block,
+ * {@link #put(Object)} / {@link #take()} and their timed variants wait with spin, yield and park back-off
+ * - {@link #contains(Object)}, {@link #size()} and the iterator are weakly consistent
+ *
+ * @param <E> the type of elements held in this queue
+ */
+public class MpmcArrayQueue<E> extends MpmcConsumerFields implements IQueue<E> {
+
+    private static final VarHandle PRODUCER_INDEX;
+    private static final VarHandle CONSUMER_INDEX;
+    private static final VarHandle SEQUENCES = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int SPINS = 100;
+    private static final int YIELDS = 100;
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            PRODUCER_INDEX = lookup.findVarHandle(MpmcProducerFields.class, "producerIndex", long.class);
+            CONSUMER_INDEX = lookup.findVarHandle(MpmcConsumerFields.class, "consumerIndex", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Object[] elements;
+    private final long[] sequences;
+    private final int mask;
+    long p41, p42, p43, p44, p45, p46, p47, p48, p49, p50, p51, p52, p53, p54, p55;
+
+    /**
+     * Creates an empty queue that holds at least {@code capacity} elements.
+     *
+     * @param capacity the lower bound of the capacity, rounded up to a power of two
+     * @throws IllegalArgumentException if the specified capacity is less than 2 or greater than 2^30
+     */
+    public MpmcArrayQueue(int capacity) {
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity: " + capacity);
+        }
+        int length = Integer.highestOneBit(capacity - 1) << 1;
+        this.elements = new Object[length];
+        this.sequences = new long[length];
+        this.mask = length - 1;
+        for (int i = 0; i < length; i++) {
+            sequences[i] = i;
+        }
+        VarHandle.releaseFence();
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue if there is free space.
+     *
+     * @param value the element to add
+     * @return {@code true} if the element was added, {@code false} if this queue is full
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean offer(E value) {
+        Objects.requireNonNull(value, "value");
+        long position = (long) PRODUCER_INDEX.getVolatile(this);
+        while (true) {
+            int offset = (int) position & mask;
+            long difference = (long) SEQUENCES.getAcquire(sequences, offset) - position;
+            if (difference == 0) {
+                if (PRODUCER_INDEX.compareAndSet(this, position, position + 1)) {
+                    elements[offset] = value;
+                    SEQUENCES.setRelease(sequences, offset, position + 1);
+                    return true;
+                }
+                position = (long) PRODUCER_INDEX.getVolatile(this);
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = (long) PRODUCER_INDEX.getVolatile(this);
+            }
+        }
+    }
+
+    /**
+     * Retrieves and removes the head of this queue, or returns {@code null} if this queue is empty.
+     *
+     * @return the head of this queue, or {@code null} if this queue is empty
+     */
+    public E poll() {
+        long position = (long) CONSUMER_INDEX.getVolatile(this);
+        while (true) {
+            int offset = (int) position & mask;
+            long difference = (long) SEQUENCES.getAcquire(sequences, offset) - (position + 1);
+            if (difference == 0) {
+                if (CONSUMER_INDEX.compareAndSet(this, position, position + 1)) {
+                    E value = elementAt(offset);
+                    elements[offset] = null;
+                    SEQUENCES.setRelease(sequences, offset, position + elements.length);
+                    return value;
+                }
+                position = (long) CONSUMER_INDEX.getVolatile(this);
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = (long) CONSUMER_INDEX.getVolatile(this);
+            }
+        }
+    }
+
+    /**
+     * Retrieves, but does not remove, the head of this queue, or returns {@code null} if this queue is empty.
+     *
+     * @return the head of this queue, or {@code null} if this queue is empty
+     */
+    public E peek() {
+        while (true) {
+            long position = (long) CONSUMER_INDEX.getVolatile(this);
+            int offset = (int) position & mask;
+            if ((long) SEQUENCES.getAcquire(sequences, offset) != position + 1) {
+                if (position == (long) CONSUMER_INDEX.getVolatile(this)) {
+                    return null;
+                }
+                continue;
+            }
+            E value = elementAt(offset);
+            if (value != null && position == (long) CONSUMER_INDEX.getVolatile(this)) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue, waiting for free space if necessary.
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the specified element is null
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void put(E value) throws InterruptedException {
+        Objects.requireNonNull(value, "value");
+        for (int attempt = 0; !offer(value); attempt++) {
+            backOff(attempt, MAX_PARK_NANOS);
+        }
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue,
+     * waiting up to the specified wait time for free space if necessary.
+     *
+     * @param value   the element to add
+     * @param timeout how long to wait before giving up, in units of {@code unit}
+     * @param unit    a {@code TimeUnit} determining how to interpret the {@code timeout} parameter
+     * @return {@code true} if the element was added, {@code false} if the waiting time elapsed
+     * @throws NullPointerException if the specified element or unit is null
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean offer(E value, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(value, "value");
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (int attempt = 0; ; attempt++) {
+            if (offer(value)) {
+                return true;
+            }
+            if (!idle(attempt, deadline)) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Retrieves and removes the head of this queue, waiting for an element if necessary.
+     *
+     * @return the head of this queue
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public E take() throws InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            E value = poll();
+            if (value != null) {
+                return value;
+            }
+            backOff(attempt, MAX_PARK_NANOS);
+        }
+    }
+
+    /**
+     * Retrieves and removes the head of this queue,
+     * waiting up to the specified wait time for an element if necessary.
+     *
+     * @param timeout how long to wait before giving up, in units of {@code unit}
+     * @param unit    a {@code TimeUnit} determining how to interpret the {@code timeout} parameter
+     * @return the head of this queue, or {@code null} if the waiting time elapsed
+     * @throws NullPointerException if the specified unit is null
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (int attempt = 0; ; attempt++) {
+            E value = poll();
+            if (value != null) {
+                return value;
+            }
+            if (!idle(attempt, deadline)) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Returns the capacity of this queue.
+     *
+     * @return the maximum number of elements this queue can hold
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue.
+     *
+     * @param value the element to add
+     * @throws NullPointerException  if the specified element is null
+     * @throws IllegalStateException if this queue is full
+     */
+    @Override
+    public void addLast(E value) {
+        if (!offer(value)) {
+            throw new IllegalStateException("Queue full");
+        }
+    }
+
+    /**
+     * Retrieves, but does not remove, the first element of this queue.
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this queue is empty
+     */
+    @Override
+    public E getFirst() {
+        E value = peek();
+        if (value == null) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+
+    /**
+     * Retrieves and removes the first element of this queue.
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public E removeFirst() {
+        E value = poll();
+        if (value == null) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+
+    /**
+     * Retrieves and removes at most {@code max} elements from the head of this queue
+     * and stores them into {@code dst} starting at index 0.
+     *
+     * @param dst the array to store the removed elements into
+     * @param max the maximum number of elements to remove
+     * @return the number of elements removed
+     * @throws NullPointerException     if the specified array is null
+     * @throws IllegalArgumentException if {@code max} is negative
+     */
+    @Override
+    public int drainTo(E[] dst, int max) {
+        Objects.requireNonNull(dst, "dst");
+        if (max < 0) {
+            throw new IllegalArgumentException("max < 0: " + max);
+        }
+        int limit = Math.min(max, dst.length);
+        int count = 0;
+        E value;
+        while (count < limit && (value = poll()) != null) {
+            dst[count++] = value;
+        }
+        return count;
+    }
+
+    /**
+     * Removes the first {@code n} elements of this queue.
+     * Not atomic: other consumers may take elements in between.
+     *
+     * @param n the number of elements to remove
+     * @throws IllegalArgumentException         if {@code n} is negative
+     * @throws java.util.NoSuchElementException if this queue contains less than {@code n} elements,
+     *                                          or other consumers emptied it before {@code n} were removed
+     *                                          (the elements taken so far stay removed)
+     */
+    @Override
+    public void removeFirst(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n < 0: " + n);
+        }
+        if (n > size()) {
+            throw new NoSuchElementException();
+        }
+        for (int i = 0; i < n; i++) {
+            removeFirst();
+        }
+    }
+
+    /**
+     * Returns {@code true} if this collection contains the specified element.
+     * aka collection contains element el such that {@code Objects.equals(el, value) == true}
+     * Weakly consistent: elements added or removed during the scan may be missed.
+     *
+     * @param value element whose presence in this collection is to be tested
+     * @return {@code true} if this collection contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public boolean contains(E value) {
+        Objects.requireNonNull(value, "value");
+        long end = (long) PRODUCER_INDEX.getVolatile(this);
+        for (long position = (long) CONSUMER_INDEX.getVolatile(this); position < end; position++) {
+            if (value.equals(publishedAt(position))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of elements in this collection.
+     * The result is a snapshot that may be already stale.
+     *
+     * @return the number of elements in this collection
+     */
+    @Override
+    public int size() {
+        long after = (long) CONSUMER_INDEX.getVolatile(this);
+        while (true) {
+            long before = after;
+            long producer = (long) PRODUCER_INDEX.getVolatile(this);
+            after = (long) CONSUMER_INDEX.getVolatile(this);
+            if (before == after) {
+                return (int) Math.max(0, Math.min(elements.length, producer - after));
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if this collection contains no elements.
+     * The result is a snapshot that may be already stale.
+     *
+     * @return {@code true} if this collection contains no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes all of the elements from this collection.
+     * Elements added concurrently may stay in the queue.
+     */
+    @Override
+    public void clear() {
+        while (poll() != null) {
+            //poll until empty
+        }
+    }
+
+    /**
+     * Returns an iterator over the elements in this collection in proper sequence.
+     * The elements will be returned in order from first (head) to last (tail).
+     * The iterator is weakly consistent and does not support removal.
+     *
+     * @return an iterator over the elements in this collection in proper sequence
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+
+            private final long end = (long) PRODUCER_INDEX.getVolatile(MpmcArrayQueue.this);
+            private long cursor = (long) CONSUMER_INDEX.getVolatile(MpmcArrayQueue.this);
+            private E next = advance();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public E next() {
+                E result = next;
+                if (result == null) {
+                    throw new NoSuchElementException();
+                }
+                next = advance();
+                return result;
+            }
+
+            private E advance() {
+                while (cursor < end) {
+                    E value = publishedAt(cursor++);
+                    if (value != null) {
+                        return value;
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Returns the element stored for the position, or {@code null} if the slot is not filled for it.
+     */
+    private E publishedAt(long position) {
+        int offset = (int) position & mask;
+        if ((long) SEQUENCES.getAcquire(sequences, offset) != position + 1) {
+            return null;
+        }
+        E value = elementAt(offset);
+        return (long) SEQUENCES.getAcquire(sequences, offset) == position + 1 ? value : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int offset) {
+        return (E) elements[offset];
+    }
+
+    /**
+     * Backs off before the next attempt unless the deadline has passed.
+     * The deadline may have overflowed, only the difference with {@link System#nanoTime()} is meaningful.
+     *
+     * @return {@code false} if the deadline has passed
+     */
+    private static boolean idle(int attempt, long deadline) throws InterruptedException {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            return false;
+        }
+        backOff(attempt, remaining);
+        return true;
+    }
+
+    /**
+     * Backs off before the next attempt: spin, then yield, then park for growing periods of at most {@code maxNanos}.
+     */
+    private static void backOff(int attempt, long maxNanos) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (attempt < SPINS) {
+            Thread.onSpinWait();
+        } else if (attempt < SPINS + YIELDS) {
+            Thread.yield();
+        } else {
+            int shift = Math.min(attempt - SPINS - YIELDS, 20);
+            LockSupport.parkNanos(Math.min(maxNanos, Math.min(MAX_PARK_NANOS, 1000L << shift)));
+        }
+    }
+}
+
+/**
+ * Padding in front of the producer counter, superclass fields are laid out before subclass ones.
+ */
+abstract class MpmcLeftPadding {
+    long p01, p02, p03, p04, p05, p06, p07, p08, p09, p10, p11, p12, p13, p14, p15;
+}
+
+abstract class MpmcProducerFields extends MpmcLeftPadding {
+    /**
+     * Next position to be claimed by a producer (CAS).
+     */
+    volatile long producerIndex;
+}
+
+abstract class MpmcMiddlePadding extends MpmcProducerFields {
+    long p21, p22, p23, p24, p25, p26, p27, p28, p29, p30, p31, p32, p33, p34, p35;
+}
+
+abstract class MpmcConsumerFields extends MpmcMiddlePadding {
+    /**
+     * Next position to be claimed by a consumer (CAS).
+     */
+    volatile long consumerIndex;
+}
@@ -0,0 +1,120 @@
+package ru.mail.polis.collections.list.concurrent;
+
+import ru.mail.polis.collections.list.todo.PersistentDeque;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+
+/**
+ * Unbounded non-blocking deque for readers that need consistent snapshots, built with {@link VarHandle} CAS.
+ * <p>
+ * The content is a {@link PersistentDeque} version. Every modification builds the next version
+ * and publishes it with a CAS on a single reference, retrying when another thread published first.
+ * {@link #snapshot()} hands the current version out, any number of readers may walk it
+ * without copying or locking while writers go on.
+ * <p>
+ * All writers contend on that one reference: when readers do not need snapshots,
+ * {@link LockFreeLinkedDeque} scales better.
+ *
+ * @param <E> the type of elements held in this deque
+ */
+public class SnapshotDeque<E> {
+
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(SnapshotDeque.class, "state", PersistentDeque.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile PersistentDeque<E> state = PersistentDeque.empty();
+
+    /**
+     * Inserts the specified element at the front of this deque.
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the specified element is null
+     */
+    public void addFirst(E value) {
+        Objects.requireNonNull(value, "value");
+        PersistentDeque<E> current;
+        do {
+            current = state;
+        } while (!publish(current, current.withFirst(value)));
+    }
+
+    /**
+     * Inserts the specified element at the tail of this deque.
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the specified element is null
+     */
+    public void addLast(E value) {
+        Objects.requireNonNull(value, "value");
+        PersistentDeque<E> current;
+        do {
+            current = state;
+        } while (!publish(current, current.withLast(value)));
+    }
+
+    /**
+     * Retrieves and removes the first element of this deque, or returns {@code null} if this deque is empty.
+     *
+     * @return the head of this deque, or {@code null} if this deque is empty
+     */
+    public E pollFirst() {
+        PersistentDeque<E> current;
+        do {
+            current = state;
+            if (current.isEmpty()) {
+                return null;
+            }
+        } while (!publish(current, current.withoutFirst()));
+        return current.getFirst();
+    }
+
+    /**
+     * Retrieves and removes the last element of this deque, or returns {@code null} if this deque is empty.
+     *
+     * @return the tail of this deque, or {@code null} if this deque is empty
+     */
+    public E pollLast() {
+        PersistentDeque<E> current;
+        do {
+            current = state;
+            if (current.isEmpty()) {
+                return null;
+            }
+        } while (!publish(current, current.withoutLast()));
+        return current.getLast();
+    }
+
+    /**
+     * Removes all of the elements from this deque.
+     * Snapshots taken before keep their elements.
+     */
+    public void clear() {
+        state = PersistentDeque.empty();
+    }
+
+    /**
+     * Returns the current content as an immutable version, without copying.
+     *
+     * @return the current version
+     */
+    public PersistentDeque<E> snapshot() {
+        return state;
+    }
+
+    private boolean publish(PersistentDeque<E> expected, PersistentDeque<E> next) {
+        if (STATE.compareAndSet(this, expected, next)) {
+            return true;
+        }
+        Thread.onSpinWait();
+        return false;
+    }
+}
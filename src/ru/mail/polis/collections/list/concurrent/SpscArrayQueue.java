@@ -0,0 +1,352 @@
+package ru.mail.polis.collections.list.concurrent;
+
+import ru.mail.polis.collections.list.IQueue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free single-producer/single-consumer ring buffer implementation of the {@link IQueue} interface.
+ * - capacity is rounded up to a power of two
+ * - {@link #offer(Object)} / {@link #poll()} never block, they fail fast when the queue is full / empty
+ * - the producer and the consumer publish their sequence counters with release stores and read
+ * each other's counter with acquire loads; each counter is padded to its own cache line
+ * <p>
+ * Methods adding elements must be called from one (producer) thread only,
+ * all other methods except {@link #size()} and {@link #isEmpty()} must be called from one (consumer) thread only.
+ *
+ * @param <E> the type of elements held in this queue
+ */
+public class SpscArrayQueue<E> extends SpscConsumerFields implements IQueue<E> {
+
+    private static final VarHandle PRODUCER_INDEX;
+    private static final VarHandle CONSUMER_INDEX;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            PRODUCER_INDEX = lookup.findVarHandle(SpscProducerFields.class, "producerIndex", long.class);
+            CONSUMER_INDEX = lookup.findVarHandle(SpscConsumerFields.class, "consumerIndex", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Object[] elements;
+    private final int mask;
+    long p41, p42, p43, p44, p45, p46, p47, p48, p49, p50, p51, p52, p53, p54, p55;
+
+    /**
+     * Creates an empty queue that holds at least {@code capacity} elements.
+     *
+     * @param capacity the lower bound of the capacity, rounded up to a power of two
+     * @throws IllegalArgumentException if the specified capacity is less than 1 or greater than 2^30
+     */
+    public SpscArrayQueue(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity: " + capacity);
+        }
+        int length = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.elements = new Object[length];
+        this.mask = length - 1;
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue if there is free space.
+     * Producer thread only.
+     *
+     * @param value the element to add
+     * @return {@code true} if the element was added, {@code false} if this queue is full
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean offer(E value) {
+        Objects.requireNonNull(value, "value");
+        long index = producerIndex;
+        if (index - cachedConsumerIndex >= elements.length) {
+            cachedConsumerIndex = (long) CONSUMER_INDEX.getAcquire(this);
+            if (index - cachedConsumerIndex >= elements.length) {
+                return false;
+            }
+        }
+        elements[(int) index & mask] = value;
+        PRODUCER_INDEX.setRelease(this, index + 1);
+        return true;
+    }
+
+    /**
+     * Retrieves and removes the head of this queue, or returns {@code null} if this queue is empty.
+     * Consumer thread only.
+     *
+     * @return the head of this queue, or {@code null} if this queue is empty
+     */
+    public E poll() {
+        long index = consumerIndex;
+        if (index >= cachedProducerIndex) {
+            cachedProducerIndex = (long) PRODUCER_INDEX.getAcquire(this);
+            if (index >= cachedProducerIndex) {
+                return null;
+            }
+        }
+        int offset = (int) index & mask;
+        E value = elementAt(offset);
+        elements[offset] = null;
+        CONSUMER_INDEX.setRelease(this, index + 1);
+        return value;
+    }
+
+    /**
+     * Retrieves, but does not remove, the head of this queue, or returns {@code null} if this queue is empty.
+     * Consumer thread only.
+     *
+     * @return the head of this queue, or {@code null} if this queue is empty
+     */
+    public E peek() {
+        long index = consumerIndex;
+        if (index >= cachedProducerIndex) {
+            cachedProducerIndex = (long) PRODUCER_INDEX.getAcquire(this);
+            if (index >= cachedProducerIndex) {
+                return null;
+            }
+        }
+        return elementAt((int) index & mask);
+    }
+
+    /**
+     * Retrieves and removes at most {@code limit} elements and passes them to the action.
+     * The consumer counter is published once for the whole batch.
+     * Consumer thread only.
+     *
+     * @param action the action to be performed for each removed element
+     * @param limit  the maximum number of elements to remove
+     * @return the number of elements removed
+     * @throws NullPointerException     if the specified action is null
+     * @throws IllegalArgumentException if {@code limit} is negative
+     */
+    public int drain(Consumer<? super E> action, int limit) {
+        Objects.requireNonNull(action, "action");
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit < 0: " + limit);
+        }
+        long index = consumerIndex;
+        long available = (long) PRODUCER_INDEX.getAcquire(this) - index;
+        int count = (int) Math.min(limit, available);
+        for (int i = 0; i < count; i++) {
+            int offset = (int) (index + i) & mask;
+            E value = elementAt(offset);
+            elements[offset] = null;
+            action.accept(value);
+        }
+        CONSUMER_INDEX.setRelease(this, index + count);
+        return count;
+    }
+
+    /**
+     * Retrieves and removes at most {@code max} elements from the head of this queue
+     * and stores them into {@code dst} starting at index 0.
+     * Consumer thread only.
+     *
+     * @param dst the array to store the removed elements into
+     * @param max the maximum number of elements to remove
+     * @return the number of elements removed
+     * @throws NullPointerException     if the specified array is null
+     * @throws IllegalArgumentException if {@code max} is negative
+     */
+    @Override
+    public int drainTo(E[] dst, int max) {
+        Objects.requireNonNull(dst, "dst");
+        if (max < 0) {
+            throw new IllegalArgumentException("max < 0: " + max);
+        }
+        int[] count = new int[1];
+        return drain(value -> dst[count[0]++] = value, Math.min(max, dst.length));
+    }
+
+    /**
+     * Returns the capacity of this queue.
+     *
+     * @return the maximum number of elements this queue can hold
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue.
+     * Producer thread only.
+     *
+     * @param value the element to add
+     * @throws NullPointerException  if the specified element is null
+     * @throws IllegalStateException if this queue is full
+     */
+    @Override
+    public void addLast(E value) {
+        if (!offer(value)) {
+            throw new IllegalStateException("Queue full");
+        }
+    }
+
+    /**
+     * Retrieves, but does not remove, the first element of this queue.
+     * Consumer thread only.
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this queue is empty
+     */
+    @Override
+    public E getFirst() {
+        E value = peek();
+        if (value == null) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+
+    /**
+     * Retrieves and removes the first element of this queue.
+     * Consumer thread only.
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public E removeFirst() {
+        E value = poll();
+        if (value == null) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+
+    /**
+     * Returns {@code true} if this collection contains the specified element.
+     * aka collection contains element el such that {@code Objects.equals(el, value) == true}
+     * Consumer thread only.
+     *
+     * @param value element whose presence in this collection is to be tested
+     * @return {@code true} if this collection contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public boolean contains(E value) {
+        Objects.requireNonNull(value, "value");
+        long end = (long) PRODUCER_INDEX.getAcquire(this);
+        for (long index = consumerIndex; index < end; index++) {
+            if (value.equals(elements[(int) index & mask])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of elements in this collection.
+     * May be called from any thread, the result is a snapshot that may be already stale.
+     *
+     * @return the number of elements in this collection
+     */
+    @Override
+    public int size() {
+        long after = (long) CONSUMER_INDEX.getAcquire(this);
+        while (true) {
+            long before = after;
+            long producer = (long) PRODUCER_INDEX.getAcquire(this);
+            after = (long) CONSUMER_INDEX.getAcquire(this);
+            if (before == after) {
+                return (int) (producer - after);
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if this collection contains no elements.
+     * May be called from any thread, the result is a snapshot that may be already stale.
+     *
+     * @return {@code true} if this collection contains no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return (long) CONSUMER_INDEX.getAcquire(this) == (long) PRODUCER_INDEX.getAcquire(this);
+    }
+
+    /**
+     * Removes all of the elements from this collection.
+     * Consumer thread only.
+     */
+    @Override
+    public void clear() {
+        drain(value -> {
+        }, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns an iterator over the elements in this collection in proper sequence.
+     * The elements will be returned in order from first (head) to last (tail).
+     * The iterator sees the elements published before its creation and does not support removal.
+     * Consumer thread only.
+     *
+     * @return an iterator over the elements in this collection in proper sequence
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+
+            private final long end = (long) PRODUCER_INDEX.getAcquire(SpscArrayQueue.this);
+            private long cursor = consumerIndex;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < end;
+            }
+
+            @Override
+            public E next() {
+                if (cursor >= end) {
+                    throw new NoSuchElementException();
+                }
+                return elementAt((int) cursor++ & mask);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int offset) {
+        return (E) elements[offset];
+    }
+}
+
+/**
+ * Padding in front of the producer counter, superclass fields are laid out before subclass ones.
+ */
+abstract class SpscLeftPadding {
+    long p01, p02, p03, p04, p05, p06, p07, p08, p09, p10, p11, p12, p13, p14, p15;
+}
+
+abstract class SpscProducerFields extends SpscLeftPadding {
+    /**
+     * Written by the producer only (release), read by the consumer (acquire).
+     */
+    long producerIndex;
+    /**
+     * Producer-local copy of the consumer counter, refreshed only when the queue looks full.
+     */
+    long cachedConsumerIndex;
+}
+
+abstract class SpscMiddlePadding extends SpscProducerFields {
+    long p21, p22, p23, p24, p25, p26, p27, p28, p29, p30, p31, p32, p33, p34, p35;
+}
+
+abstract class SpscConsumerFields extends SpscMiddlePadding {
+    /**
+     * Written by the consumer only (release), read by the producer (acquire).
+     */
+    long consumerIndex;
+    /**
+     * Consumer-local copy of the producer counter, refreshed only when the queue looks empty.
+     */
+    long cachedProducerIndex;
+}
@@ -0,0 +1,739 @@
+package ru.mail.polis.collections.list.concurrent;
+
+import ru.mail.polis.collections.list.IDeque;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optionally-bounded linked implementation of the {@link BlockingDeque} and {@link IDeque} interfaces
+ * with separate head and tail locks.
+ * <p>
+ * The list starts with a dummy node, like the two-lock queue of Michael and Scott:
+ * {@code offerLast}/{@code putLast} only take the tail lock and {@code pollFirst}/{@code takeFirst}
+ * only take the head lock, so producers and consumers of a FIFO pipeline do not contend.
+ * Operations at the opposite ends and in the middle ({@code offerFirst}, {@code pollLast},
+ * {@code remove(Object)}, {@code contains}, iteration) take both locks, tail lock first.
+ * <p>
+ * Waiting is done with {@link ReentrantLock} conditions rather than {@code synchronized},
+ * so a blocked virtual thread does not pin its carrier thread.
+ * Iterators are weakly consistent.
+ *
+ * @param <E> the type of elements held in this deque
+ */
+public class TwoLockLinkedBlockingDeque<E> extends AbstractQueue<E> implements BlockingDeque<E>, IDeque<E> {
+
+    private static final class Node<E> {
+
+        E item;
+        /**
+         * Next node, {@code null} for the last one, the node itself for a dequeued former dummy head.
+         */
+        Node<E> next;
+        /**
+         * Previous node, {@code null} for the dummy head.
+         */
+        Node<E> prev;
+
+        Node(E item) {
+            this.item = item;
+        }
+    }
+
+    private final int capacity;
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * Dummy node, {@code head.item == null}. Guarded by {@link #takeLock}.
+     */
+    private Node<E> head;
+    /**
+     * Last node, the dummy head if the deque is empty. Guarded by {@link #putLock}.
+     */
+    private Node<E> last;
+
+    private final ReentrantLock takeLock = new ReentrantLock();
+    private final Condition notEmpty = takeLock.newCondition();
+    private final ReentrantLock putLock = new ReentrantLock();
+    private final Condition notFull = putLock.newCondition();
+
+    public TwoLockLinkedBlockingDeque() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates an empty deque with the given capacity.
+     *
+     * @param capacity the capacity of this deque
+     * @throws IllegalArgumentException if {@code capacity} is less than 1
+     */
+    public TwoLockLinkedBlockingDeque(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity < 1: " + capacity);
+        }
+        this.capacity = capacity;
+        this.head = this.last = new Node<>(null);
+    }
+
+    // ---- tail end (put lock) ----
+
+    @Override
+    public boolean offerLast(E value) {
+        Objects.requireNonNull(value, "value");
+        if (count.get() >= capacity) {
+            return false;
+        }
+        int c;
+        putLock.lock();
+        try {
+            if (count.get() >= capacity) {
+                return false;
+            }
+            linkLast(new Node<>(value));
+            c = count.getAndIncrement();
+            if (c + 1 < capacity) {
+                notFull.signal();
+            }
+        } finally {
+            putLock.unlock();
+        }
+        if (c == 0) {
+            signalNotEmpty();
+        }
+        return true;
+    }
+
+    @Override
+    public void putLast(E value) throws InterruptedException {
+        offerLast(value, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public boolean offerLast(E value, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(value, "value");
+        long nanos = unit.toNanos(timeout);
+        int c;
+        putLock.lockInterruptibly();
+        try {
+            while (count.get() >= capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            linkLast(new Node<>(value));
+            c = count.getAndIncrement();
+            if (c + 1 < capacity) {
+                notFull.signal();
+            }
+        } finally {
+            putLock.unlock();
+        }
+        if (c == 0) {
+            signalNotEmpty();
+        }
+        return true;
+    }
+
+    // ---- head end (take lock) ----
+
+    @Override
+    public E pollFirst() {
+        if (count.get() == 0) {
+            return null;
+        }
+        E result;
+        int c;
+        takeLock.lock();
+        try {
+            if (count.get() == 0) {
+                return null;
+            }
+            result = unlinkFirst();
+            c = count.getAndDecrement();
+            if (c > 1) {
+                notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+        if (c == capacity) {
+            signalNotFull();
+        }
+        return result;
+    }
+
+    @Override
+    public E takeFirst() throws InterruptedException {
+        return pollFirst(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public E pollFirst(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        E result;
+        int c;
+        takeLock.lockInterruptibly();
+        try {
+            while (count.get() == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            result = unlinkFirst();
+            c = count.getAndDecrement();
+            if (c > 1) {
+                notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+        if (c == capacity) {
+            signalNotFull();
+        }
+        return result;
+    }
+
+    @Override
+    public E peekFirst() {
+        if (count.get() == 0) {
+            return null;
+        }
+        takeLock.lock();
+        try {
+            Node<E> first = head.next;
+            return first == null ? null : first.item;
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    // ---- opposite ends (both locks) ----
+
+    @Override
+    public boolean offerFirst(E value) {
+        Objects.requireNonNull(value, "value");
+        fullyLock();
+        try {
+            if (count.get() >= capacity) {
+                return false;
+            }
+            linkFirst(new Node<>(value));
+            return true;
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    @Override
+    public void putFirst(E value) throws InterruptedException {
+        offerFirst(value, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public boolean offerFirst(E value, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(value, "value");
+        long nanos = unit.toNanos(timeout);
+        while (true) {
+            fullyLockInterruptibly();
+            try {
+                if (count.get() < capacity) {
+                    linkFirst(new Node<>(value));
+                    return true;
+                }
+            } finally {
+                fullyUnlock();
+            }
+            // wait holding the put lock only, then retry with both locks to keep the lock order
+            putLock.lockInterruptibly();
+            try {
+                while (count.get() >= capacity) {
+                    if (nanos <= 0) {
+                        return false;
+                    }
+                    nanos = notFull.awaitNanos(nanos);
+                }
+            } finally {
+                putLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public E pollLast() {
+        fullyLock();
+        try {
+            return count.get() == 0 ? null : unlinkLast();
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    @Override
+    public E takeLast() throws InterruptedException {
+        return pollLast(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public E pollLast(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        while (true) {
+            fullyLockInterruptibly();
+            try {
+                if (count.get() > 0) {
+                    return unlinkLast();
+                }
+            } finally {
+                fullyUnlock();
+            }
+            // wait holding the take lock only, then retry with both locks to keep the lock order
+            takeLock.lockInterruptibly();
+            try {
+                while (count.get() == 0) {
+                    if (nanos <= 0) {
+                        return null;
+                    }
+                    nanos = notEmpty.awaitNanos(nanos);
+                }
+            } finally {
+                takeLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public E peekLast() {
+        fullyLock();
+        try {
+            return last.item;
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    // ---- throwing and delegating variants ----
+
+    @Override
+    public void addFirst(E value) {
+        if (!offerFirst(value)) {
+            throw new IllegalStateException("Deque full");
+        }
+    }
+
+    @Override
+    public void addLast(E value) {
+        if (!offerLast(value)) {
+            throw new IllegalStateException("Deque full");
+        }
+    }
+
+    @Override
+    public E removeFirst() {
+        E value = pollFirst();
+        if (value == null) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+
+    @Override
+    public E removeLast() {
+        E value = pollLast();
+        if (value == null) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+
+    @Override
+    public E getFirst() {
+        E value = peekFirst();
+        if (value == null) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+
+    @Override
+    public E getLast() {
+        E value = peekLast();
+        if (value == null) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+
+    @Override
+    public boolean offer(E value) {
+        return offerLast(value);
+    }
+
+    @Override
+    public void put(E value) throws InterruptedException {
+        putLast(value);
+    }
+
+    @Override
+    public boolean offer(E value, long timeout, TimeUnit unit) throws InterruptedException {
+        return offerLast(value, timeout, unit);
+    }
+
+    @Override
+    public E poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        return takeFirst();
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return pollFirst(timeout, unit);
+    }
+
+    @Override
+    public E peek() {
+        return peekFirst();
+    }
+
+    @Override
+    public void push(E value) {
+        addFirst(value);
+    }
+
+    @Override
+    public E pop() {
+        return removeFirst();
+    }
+
+    // ---- whole-deque operations (both locks) ----
+
+    @Override
+    public boolean removeFirstOccurrence(Object value) {
+        Objects.requireNonNull(value, "value");
+        fullyLock();
+        try {
+            for (Node<E> p = head.next; p != null; p = p.next) {
+                if (value.equals(p.item)) {
+                    unlink(p);
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object value) {
+        Objects.requireNonNull(value, "value");
+        fullyLock();
+        try {
+            for (Node<E> p = last; p != head; p = p.prev) {
+                if (value.equals(p.item)) {
+                    unlink(p);
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object value) {
+        return removeFirstOccurrence(value);
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        Objects.requireNonNull(value, "value");
+        fullyLock();
+        try {
+            for (Node<E> p = head.next; p != null; p = p.next) {
+                if (value.equals(p.item)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> values) {
+        if (values == this) {
+            throw new IllegalArgumentException("addAll to self");
+        }
+        return super.addAll(values);
+    }
+
+    @Override
+    public int size() {
+        return count.get();
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - count.get();
+    }
+
+    @Override
+    public void clear() {
+        fullyLock();
+        try {
+            Node<E> p = head.next;
+            while (p != null) {
+                Node<E> next = p.next;
+                p.item = null;
+                p.prev = null;
+                p.next = null;
+                p = next;
+            }
+            head.next = null;
+            last = head;
+            if (count.getAndSet(0) == capacity) {
+                notFull.signalAll();
+            }
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> target) {
+        return drainTo(target, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> target, int maxElements) {
+        Objects.requireNonNull(target, "target");
+        if (target == this) {
+            throw new IllegalArgumentException("drainTo to self");
+        }
+        int drained = 0;
+        E value;
+        while (drained < maxElements && (value = pollFirst()) != null) {
+            target.add(value);
+            drained++;
+        }
+        return drained;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr(false);
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        return new Itr(true);
+    }
+
+    // ---- linking, callers hold the corresponding locks ----
+
+    private void linkLast(Node<E> node) {
+        node.prev = last;
+        last.next = node;
+        last = node;
+    }
+
+    private E unlinkFirst() {
+        Node<E> dummy = head;
+        Node<E> first = dummy.next;
+        dummy.next = dummy;
+        first.prev = null;
+        head = first;
+        E result = first.item;
+        first.item = null;
+        return result;
+    }
+
+    /**
+     * Both locks held.
+     */
+    private void linkFirst(Node<E> node) {
+        Node<E> first = head.next;
+        node.prev = head;
+        node.next = first;
+        if (first == null) {
+            last = node;
+        } else {
+            first.prev = node;
+        }
+        head.next = node;
+        int c = count.getAndIncrement();
+        notEmpty.signal();
+        if (c + 1 < capacity) {
+            notFull.signal();
+        }
+    }
+
+    /**
+     * Both locks held, the deque is not empty.
+     */
+    private E unlinkLast() {
+        Node<E> node = last;
+        E result = node.item;
+        unlink(node);
+        return result;
+    }
+
+    /**
+     * Both locks held.
+     */
+    private void unlink(Node<E> node) {
+        Node<E> prev = node.prev;
+        Node<E> next = node.next;
+        prev.next = next;
+        if (next == null) {
+            last = prev;
+        } else {
+            next.prev = prev;
+        }
+        node.item = null;
+        int c = count.getAndDecrement();
+        if (c > 1) {
+            notEmpty.signal();
+        }
+        if (c == capacity) {
+            notFull.signal();
+        }
+    }
+
+    private void signalNotEmpty() {
+        takeLock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    private void signalNotFull() {
+        putLock.lock();
+        try {
+            notFull.signal();
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    private void fullyLock() {
+        putLock.lock();
+        takeLock.lock();
+    }
+
+    private void fullyLockInterruptibly() throws InterruptedException {
+        putLock.lockInterruptibly();
+        try {
+            takeLock.lockInterruptibly();
+        } catch (InterruptedException e) {
+            putLock.unlock();
+            throw e;
+        }
+    }
+
+    private void fullyUnlock() {
+        takeLock.unlock();
+        putLock.unlock();
+    }
+
+    /**
+     * Weakly consistent iterator, every step is done under both locks.
+     */
+    private class Itr implements Iterator<E> {
+
+        private final boolean descending;
+        private Node<E> next;
+        private E nextItem;
+        private Node<E> lastReturned;
+
+        Itr(boolean descending) {
+            this.descending = descending;
+            fullyLock();
+            try {
+                setNext(descending ? last : head.next);
+            } finally {
+                fullyUnlock();
+            }
+        }
+
+        /**
+         * Points the iterator to the first live node starting at {@code node} inclusive.
+         */
+        private void setNext(Node<E> node) {
+            Node<E> p = node;
+            while (p != null && p != head && p.item == null) {
+                p = successor(p);
+            }
+            if (p == null || p == head) {
+                next = null;
+                nextItem = null;
+            } else {
+                next = p;
+                nextItem = p.item;
+            }
+        }
+
+        /**
+         * A dequeued former dummy head links to itself, the iteration continues from the current first node.
+         */
+        private Node<E> successor(Node<E> p) {
+            Node<E> s = descending ? p.prev : p.next;
+            return s == p ? head.next : s;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            E result = nextItem;
+            lastReturned = next;
+            fullyLock();
+            try {
+                setNext(successor(next));
+            } finally {
+                fullyUnlock();
+            }
+            return result;
+        }
+
+        @Override
+        public void remove() {
+            Node<E> node = lastReturned;
+            if (node == null) {
+                throw new IllegalStateException();
+            }
+            lastReturned = null;
+            fullyLock();
+            try {
+                if (node.item != null) {
+                    unlink(node);
+                }
+            } finally {
+                fullyUnlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package ru.mail.polis.collections.list.concurrent;
+
+import ru.mail.polis.collections.list.IQueue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Chase-Lev work-stealing deque (growable circular array, with the memory orderings of Lê et al. 2013)
+ * implementing the {@link IQueue} interface.
+ * <p>
+ * One owner thread pushes and pops at the tail ({@link #addLast(Object)}, {@link #pollLast()}),
+ * without any CAS unless it races with a thief for the last element.
+ * Any thread may take from the head with {@link #steal()}, competing with a CAS on the head counter.
+ * <p>
+ * Methods {@link #addLast(Object)}, {@link #pollLast()}, {@link #removeLast()} and {@link #clear()}
+ * must be called from the owner thread only. {@link #contains(Object)}, {@link #size()}
+ * and the iterator are weakly consistent.
+ *
+ * @param <E> the type of elements held in this deque
+ */
+public class WorkStealingDeque<E> implements IQueue<E> {
+
+    private static final VarHandle TOP;
+    private static final VarHandle BOTTOM;
+    private static final VarHandle ARRAY;
+    private static final int DEFAULT_CAPACITY = 64;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TOP = lookup.findVarHandle(WorkStealingDeque.class, "top", long.class);
+            BOTTOM = lookup.findVarHandle(WorkStealingDeque.class, "bottom", long.class);
+            ARRAY = lookup.findVarHandle(WorkStealingDeque.class, "array", Object[].class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Position of the head, advanced by a CAS of a thief or of the owner taking the last element.
+     */
+    private volatile long top;
+    /**
+     * Position after the tail, written by the owner only.
+     */
+    private long bottom;
+    /**
+     * Power-of-two circular array, replaced by the owner when full; stolen slots keep their reference
+     * until the owner overwrites them, because clearing them would race with the owner's pushes.
+     */
+    private Object[] array;
+
+    public WorkStealingDeque() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty deque with room for at least {@code initialCapacity} elements.
+     *
+     * @param initialCapacity the lower bound on the initial capacity
+     * @throws IllegalArgumentException if the specified capacity is less than 1 or greater than 2^30
+     */
+    public WorkStealingDeque(int initialCapacity) {
+        if (initialCapacity < 1 || initialCapacity > 1 << 30) {
+            throw new IllegalArgumentException("initialCapacity: " + initialCapacity);
+        }
+        this.array = new Object[initialCapacity == 1 ? 1 : Integer.highestOneBit(initialCapacity - 1) << 1];
+    }
+
+    /**
+     * Inserts the specified element at the tail of this deque.
+     * Owner thread only.
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public void addLast(E value) {
+        Objects.requireNonNull(value, "value");
+        long b = bottom;
+        long t = (long) TOP.getAcquire(this);
+        Object[] a = array;
+        if (b - t > a.length - 1) {
+            a = grow(a, b, t);
+            ARRAY.setRelease(this, a);
+        }
+        a[(int) b & (a.length - 1)] = value;
+        BOTTOM.setRelease(this, b + 1);
+    }
+
+    /**
+     * Retrieves and removes the last element of this deque, or returns {@code null} if this deque is empty.
+     * Owner thread only.
+     *
+     * @return the tail of this deque, or {@code null} if this deque is empty
+     */
+    public E pollLast() {
+        long b = bottom - 1;
+        Object[] a = array;
+        BOTTOM.setOpaque(this, b);
+        VarHandle.fullFence();
+        long t = top;
+        if (t > b) {
+            BOTTOM.setOpaque(this, b + 1);
+            return null;
+        }
+        int offset = (int) b & (a.length - 1);
+        E value = elementAt(a, offset);
+        if (t == b) {
+            boolean won = TOP.compareAndSet(this, t, t + 1);
+            BOTTOM.setOpaque(this, b + 1);
+            if (!won) {
+                return null;
+            }
+        }
+        a[offset] = null;
+        return value;
+    }
+
+    /**
+     * Retrieves and removes the last element of this deque.
+     * Owner thread only.
+     *
+     * @return the tail of this deque
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    public E removeLast() {
+        E value = pollLast();
+        if (value == null) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+
+    /**
+     * Tries once to take the first element of this deque. Any thread.
+     *
+     * @return the head of this deque, or {@code null} if this deque is empty or the head was taken concurrently
+     */
+    public E steal() {
+        long t = (long) TOP.getAcquire(this);
+        VarHandle.fullFence();
+        long b = (long) BOTTOM.getAcquire(this);
+        if (t >= b) {
+            return null;
+        }
+        Object[] a = (Object[]) ARRAY.getAcquire(this);
+        E value = elementAt(a, (int) t & (a.length - 1));
+        if (!TOP.compareAndSet(this, t, t + 1)) {
+            return null;
+        }
+        return value;
+    }
+
+    /**
+     * Retrieves and removes the first element of this queue, retrying {@link #steal()} on contention.
+     * Any thread.
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public E removeFirst() {
+        while (true) {
+            E value = steal();
+            if (value != null) {
+                return value;
+            }
+            if (isEmpty()) {
+                throw new NoSuchElementException();
+            }
+        }
+    }
+
+    /**
+     * Retrieves, but does not remove, the first element of this queue.
+     * The result may be stolen by the time it is returned.
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this queue is empty
+     */
+    @Override
+    public E getFirst() {
+        while (true) {
+            long t = (long) TOP.getAcquire(this);
+            long b = (long) BOTTOM.getAcquire(this);
+            if (t >= b) {
+                throw new NoSuchElementException();
+            }
+            Object[] a = (Object[]) ARRAY.getAcquire(this);
+            E value = elementAt(a, (int) t & (a.length - 1));
+            if (value != null && t == (long) TOP.getAcquire(this)) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if this collection contains the specified element.
+     * aka collection contains element el such that {@code Objects.equals(el, value) == true}
+     * Weakly consistent: elements taken or added during the scan may be missed or reported.
+     *
+     * @param value element whose presence in this collection is to be tested
+     * @return {@code true} if this collection contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public boolean contains(E value) {
+        Objects.requireNonNull(value, "value");
+        for (E element : this) {
+            if (value.equals(element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of elements in this collection.
+     * The result is a snapshot that may be already stale.
+     *
+     * @return the number of elements in this collection
+     */
+    @Override
+    public int size() {
+        long b = (long) BOTTOM.getAcquire(this);
+        long t = (long) TOP.getAcquire(this);
+        return (int) Math.max(0, b - t);
+    }
+
+    /**
+     * Returns {@code true} if this collection contains no elements.
+     * The result is a snapshot that may be already stale.
+     *
+     * @return {@code true} if this collection contains no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes all of the elements from this collection.
+     * Owner thread only.
+     */
+    @Override
+    public void clear() {
+        while (pollLast() != null) {
+            //pop until empty
+        }
+    }
+
+    /**
+     * Returns an iterator over the elements in this collection in proper sequence.
+     * The elements will be returned in order from first (head) to last (tail).
+     * The iterator is weakly consistent and does not support removal.
+     *
+     * @return an iterator over the elements in this collection in proper sequence
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+
+            private final long end = (long) BOTTOM.getAcquire(WorkStealingDeque.this);
+            private final Object[] a = (Object[]) ARRAY.getAcquire(WorkStealingDeque.this);
+            private long cursor = (long) TOP.getAcquire(WorkStealingDeque.this);
+            private E next = advance();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public E next() {
+                E result = next;
+                if (result == null) {
+                    throw new NoSuchElementException();
+                }
+                next = advance();
+                return result;
+            }
+
+            private E advance() {
+                cursor = Math.max(cursor, (long) TOP.getAcquire(WorkStealingDeque.this));
+                while (cursor < end) {
+                    E value = elementAt(a, (int) cursor++ & (a.length - 1));
+                    if (value != null) {
+                        return value;
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> E elementAt(Object[] a, int offset) {
+        return (E) a[offset];
+    }
+
+    /**
+     * Copies the live positions {@code [t, b)} into an array twice as long, at the same positions modulo length.
+     */
+    private static Object[] grow(Object[] a, long b, long t) {
+        if (a.length == 1 << 30) {
+            throw new IllegalStateException("Deque too big");
+        }
+        Object[] grown = new Object[a.length << 1];
+        for (long i = t; i < b; i++) {
+            grown[(int) i & (grown.length - 1)] = a[(int) i & (a.length - 1)];
+        }
+        return grown;
+    }
+}
@@ -0,0 +1,221 @@
+package ru.mail.polis.collections.list.concurrent;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Minimal work-stealing {@link Executor}: one {@link WorkStealingDeque} per worker thread.
+ * <p>
+ * A task submitted from a worker goes to the tail of that worker's deque and is run LIFO by it;
+ * a task submitted from any other thread goes to a shared submission queue.
+ * An idle worker takes from the submission queue, then steals from the head of a random other worker,
+ * and parks for a short while when it finds nothing.
+ * <p>
+ * A task that throws is reported to the worker's uncaught exception handler and the worker goes on.
+ */
+public class WorkStealingExecutor implements Executor {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int SHUTDOWN = 1;
+    private static final int SUBMITTER = 2;
+
+    private final Worker[] workers;
+    private final TwoLockLinkedBlockingDeque<Runnable> submissions = new TwoLockLinkedBlockingDeque<>();
+    private final AtomicInteger idle = new AtomicInteger();
+    private final AtomicInteger running;
+    /**
+     * The {@link #SHUTDOWN} bit and {@link #SUBMITTER} times the number of {@link #execute(Runnable)} calls
+     * between their admission and their enqueue: a worker exits only when it is exactly {@link #SHUTDOWN}
+     * and the queues are empty, so an admitted task is always visible to it.
+     */
+    private final AtomicInteger state = new AtomicInteger();
+
+    /**
+     * Creates and starts the worker threads.
+     *
+     * @param parallelism the number of worker threads
+     * @throws IllegalArgumentException if {@code parallelism} is less than 1
+     */
+    public WorkStealingExecutor(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism < 1: " + parallelism);
+        }
+        workers = new Worker[parallelism];
+        running = new AtomicInteger(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Worker(i);
+        }
+        for (Worker worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Executes the task on one of the worker threads.
+     *
+     * @param task the task to run
+     * @throws NullPointerException       if the specified task is null
+     * @throws RejectedExecutionException if this executor has been shut down
+     */
+    @Override
+    public void execute(Runnable task) {
+        Objects.requireNonNull(task, "task");
+        int current;
+        do {
+            current = state.get();
+            if ((current & SHUTDOWN) != 0) {
+                throw new RejectedExecutionException("Executor is shut down");
+            }
+        } while (!state.compareAndSet(current, current + SUBMITTER));
+        try {
+            Thread thread = Thread.currentThread();
+            if (thread instanceof Worker && ((Worker) thread).owner() == this) {
+                ((Worker) thread).deque.addLast(task);
+            } else {
+                submissions.addLast(task);
+            }
+        } finally {
+            state.addAndGet(-SUBMITTER);
+        }
+        if (idle.get() > 0) {
+            wakeUpIdleWorker();
+        }
+    }
+
+    /**
+     * Stops accepting new tasks; already submitted tasks are still run.
+     */
+    public void shutdown() {
+        int current;
+        do {
+            current = state.get();
+        } while ((current & SHUTDOWN) == 0 && !state.compareAndSet(current, current | SHUTDOWN));
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /**
+     * Waits until all workers have finished after a {@link #shutdown()}.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of the timeout argument
+     * @return {@code true} if all workers have finished, {@code false} if the timeout elapsed before
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Worker worker : workers) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (millis <= 0) {
+                return running.get() == 0;
+            }
+            worker.join(millis);
+        }
+        return running.get() == 0;
+    }
+
+    private void wakeUpIdleWorker() {
+        for (Worker worker : workers) {
+            if (worker.idle) {
+                LockSupport.unpark(worker);
+                return;
+            }
+        }
+    }
+
+    private final class Worker extends Thread {
+
+        private final int index;
+        private final WorkStealingDeque<Runnable> deque = new WorkStealingDeque<>();
+        private volatile boolean idle;
+
+        Worker(int index) {
+            super("work-stealing-worker-" + index);
+            this.index = index;
+            setDaemon(true);
+        }
+
+        WorkStealingExecutor owner() {
+            return WorkStealingExecutor.this;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    Runnable task = findTask();
+                    if (task != null) {
+                        runTask(task);
+                    } else if (state.get() == SHUTDOWN && nothingLeft()) {
+                        return;
+                    } else {
+                        park();
+                    }
+                }
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+
+        private Runnable findTask() {
+            Runnable task = deque.pollLast();
+            if (task == null) {
+                task = submissions.pollFirst();
+            }
+            if (task == null && workers.length > 1) {
+                int start = ThreadLocalRandom.current().nextInt(workers.length);
+                for (int i = 0; i < workers.length && task == null; i++) {
+                    Worker victim = workers[(start + i) % workers.length];
+                    if (victim != this) {
+                        task = victim.deque.steal();
+                    }
+                }
+            }
+            return task;
+        }
+
+        private boolean nothingLeft() {
+            if (!submissions.isEmpty()) {
+                return false;
+            }
+            for (Worker worker : workers) {
+                if (!worker.deque.isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void runTask(Runnable task) {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                getUncaughtExceptionHandler().uncaughtException(this, e);
+            }
+        }
+
+        private void park() {
+            idle = true;
+            WorkStealingExecutor.this.idle.incrementAndGet();
+            try {
+                if (submissions.isEmpty() && (state.get() & SHUTDOWN) == 0) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+            } finally {
+                WorkStealingExecutor.this.idle.decrementAndGet();
+                idle = false;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Worker{" + index + ", queued=" + deque.size() + '}';
+        }
+    }
+}
@@ -1,7 +1,313 @@
 package ru.mail.polis.collections.list.todo;
 
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Predicate;
 
-public abstract class ArrayDequeFull<E> extends ArrayDequeSimple<E> implements Deque<E> {
-    //todo: remove <abstract> modifier and implement
+/**
+ * Resizable cyclic array implementation of the {@link Deque} interface,
+ * with positional access and edits in the middle of the deque.
+ * - {@link #get(int)} and {@link #set(int, Object)} are O(1)
+ * - {@link #add(int, Object)}, {@link #remove(int)} and the occurrence removals shift
+ * whichever side of the ring is shorter, so they copy at most {@code size / 2} elements
+ * - {@link #removeIf(Predicate)}, {@link #removeAll(Collection)} and {@link #retainAll(Collection)}
+ * compact the deque in a single pass
+ *
+ * @param <E> the type of elements held in this deque
+ */
+public class ArrayDequeFull<E> extends ArrayDequeSimple<E> implements Deque<E> {
+
+    @Override
+    public boolean offerFirst(E value) {
+        addFirst(value);
+        return true;
+    }
+
+    @Override
+    public boolean offerLast(E value) {
+        addLast(value);
+        return true;
+    }
+
+    @Override
+    public E pollFirst() {
+        return isEmpty() ? null : removeFirst();
+    }
+
+    @Override
+    public E pollLast() {
+        return isEmpty() ? null : removeLast();
+    }
+
+    @Override
+    public E peekFirst() {
+        return isEmpty() ? null : getFirst();
+    }
+
+    @Override
+    public E peekLast() {
+        return isEmpty() ? null : getLast();
+    }
+
+    /**
+     * Removes the first element equal to the value, shifting whichever side of the ring is shorter.
+     *
+     * @param value the element to remove
+     * @return {@code true} if an element was removed
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public boolean removeFirstOccurrence(Object value) {
+        Objects.requireNonNull(value, "value");
+        int index = indexOf(value);
+        if (index < 0) {
+            return false;
+        }
+        delete(index);
+        return true;
+    }
+
+    /**
+     * Removes the last element equal to the value, shifting whichever side of the ring is shorter.
+     *
+     * @param value the element to remove
+     * @return {@code true} if an element was removed
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public boolean removeLastOccurrence(Object value) {
+        Objects.requireNonNull(value, "value");
+        int index = lastIndexOf(value);
+        if (index < 0) {
+            return false;
+        }
+        delete(index);
+        return true;
+    }
+
+    /**
+     * Inserts the element at the specified offset from the head,
+     * shifting whichever side of the ring is shorter.
+     *
+     * @param index the offset from the head, {@code size()} appends to the tail
+     * @param value the element to insert
+     * @throws IndexOutOfBoundsException if {@code index < 0 || index > size()}
+     * @throws NullPointerException      if the specified element is null
+     */
+    public void add(int index, E value) {
+        Objects.requireNonNull(value, "value");
+        Objects.checkIndex(index, size() + 1);
+        insert(index, value);
+    }
+
+    /**
+     * Removes the element at the specified offset from the head,
+     * shifting whichever side of the ring is shorter.
+     *
+     * @param index the offset from the head
+     * @return the removed element
+     * @throws IndexOutOfBoundsException if {@code index < 0 || index >= size()}
+     */
+    public E remove(int index) {
+        E value = get(index);
+        delete(index);
+        return value;
+    }
+
+    @Override
+    public boolean add(E value) {
+        addLast(value);
+        return true;
+    }
+
+    @Override
+    public boolean offer(E value) {
+        return offerLast(value);
+    }
+
+    @Override
+    public E remove() {
+        return removeFirst();
+    }
+
+    @Override
+    public E poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public E element() {
+        return getFirst();
+    }
+
+    @Override
+    public E peek() {
+        return peekFirst();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean addAll(Collection<? extends E> values) {
+        Objects.requireNonNull(values, "values");
+        // a copy first: values may be this deque, whose iterator fails fast on the appends
+        Object[] copy = values.toArray();
+        for (Object value : copy) {
+            addLast((E) value);
+        }
+        return copy.length > 0;
+    }
+
+    @Override
+    public void push(E value) {
+        addFirst(value);
+    }
+
+    @Override
+    public E pop() {
+        return removeFirst();
+    }
+
+    @Override
+    public boolean remove(Object value) {
+        return removeFirstOccurrence(value);
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> values) {
+        for (Object value : values) {
+            if (!contains(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> values) {
+        Objects.requireNonNull(values, "values");
+        return bulkRemove(values::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> values) {
+        Objects.requireNonNull(values, "values");
+        return bulkRemove(value -> !values.contains(value));
+    }
+
+    /**
+     * Removes all of the elements of this deque that satisfy the given predicate in a single compaction pass.
+     *
+     * @param filter a predicate which returns {@code true} for elements to be removed
+     * @return {@code true} if any elements were removed
+     * @throws NullPointerException if the specified filter is null
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter, "filter");
+        return bulkRemove(filter);
+    }
+
+    /**
+     * Returns {@code true} if this collection contains the specified element.
+     * aka collection contains element el such that {@code Objects.equals(el, value) == true}
+     *
+     * @param value element whose presence in this collection is to be tested
+     * @return {@code true} if this collection contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public boolean contains(Object value) {
+        Objects.requireNonNull(value, "value");
+        return indexOf(value) >= 0;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] result = new Object[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = get(i);
+        }
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        int size = size();
+        T[] result = a.length >= size ? a : (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+        for (int i = 0; i < size; i++) {
+            result[i] = (T) get(i);
+        }
+        if (result.length > size) {
+            result[size] = null;
+        }
+        return result;
+    }
+
+    /**
+     * Returns an iterator over the elements in this deque in reverse sequential order.
+     * The elements will be returned in order from last (tail) to first (head).
+     *
+     * @return an iterator over the elements in this deque in reverse sequence
+     */
+    @Override
+    public Iterator<E> descendingIterator() {
+        return new DescendingItr();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < size(); i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(get(i));
+        }
+        return builder.append(']').toString();
+    }
+
+    private class DescendingItr implements Iterator<E> {
+
+        private int cursor = size() - 1;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor >= 0;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (cursor < 0) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = cursor;
+            return get(cursor--);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            delete(lastReturned);
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
 }
@@ -1,18 +1,60 @@
 package ru.mail.polis.collections.list.todo;
 
 import ru.mail.polis.collections.list.IDeque;
+import ru.mail.polis.collections.list.ShrinkPolicy;
 
+import ru.mail.polis.collections.ICollectionIterable;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Resizable cyclic array implementation of the {@link IDeque} interface.
  * - no capacity restrictions
  * - grow as necessary to support
+ * - shrink according to the {@link ShrinkPolicy}, never shrink by default
  *
  * @param <E> the type of elements held in this deque
  */
 public class ArrayDequeSimple<E> implements IDeque<E> {
 
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Capacity is always a power of two, so an index wraps with {@code & (elements.length - 1)}.
+     */
+    private Object[] elements = new Object[DEFAULT_CAPACITY];
+    private int head;
+    private int size;
+    /**
+     * Package-private for the iterators of {@link ArrayDequeFull}.
+     */
+    int modCount;
+    private final ShrinkPolicy shrinkPolicy;
+
+    public ArrayDequeSimple() {
+        this(ShrinkPolicy.NEVER);
+    }
+
+    /**
+     * Creates an empty deque that releases its backing array according to the specified policy.
+     *
+     * @param shrinkPolicy the policy deciding when the backing array is halved
+     * @throws NullPointerException if the specified policy is null
+     */
+    public ArrayDequeSimple(ShrinkPolicy shrinkPolicy) {
+        this.shrinkPolicy = Objects.requireNonNull(shrinkPolicy, "shrinkPolicy");
+    }
+
     /**
      * Inserts the specified element at the front of this deque.
      *
@@ -21,7 +63,12 @@ public class ArrayDequeSimple<E> implements IDeque<E> {
      */
     @Override
     public void addFirst(E value) {
-        throw new UnsupportedOperationException("todo: implement this");
+        Objects.requireNonNull(value, "value");
+        growIfFull();
+        head = (head - 1) & (elements.length - 1);
+        elements[head] = value;
+        size++;
+        modCount++;
     }
 
     /**
@@ -32,7 +79,13 @@ public class ArrayDequeSimple<E> implements IDeque<E> {
      */
     @Override
     public E removeFirst() {
-        throw new UnsupportedOperationException("todo: implement this");
+        E value = getFirst();
+        elements[head] = null;
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        modCount++;
+        shrinkIfSparse();
+        return value;
     }
 
     /**
@@ -43,7 +96,10 @@ public class ArrayDequeSimple<E> implements IDeque<E> {
      */
     @Override
     public E getFirst() {
-        throw new UnsupportedOperationException("todo: implement this");
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elementAt(head);
     }
 
     /**
@@ -54,7 +110,11 @@ public class ArrayDequeSimple<E> implements IDeque<E> {
      */
     @Override
     public void addLast(E value) {
-        throw new UnsupportedOperationException("todo: implement this");
+        Objects.requireNonNull(value, "value");
+        growIfFull();
+        elements[(head + size) & (elements.length - 1)] = value;
+        size++;
+        modCount++;
     }
 
     /**
@@ -65,7 +125,12 @@ public class ArrayDequeSimple<E> implements IDeque<E> {
      */
     @Override
     public E removeLast() {
-        throw new UnsupportedOperationException("todo: implement this");
+        E value = getLast();
+        elements[(head + size - 1) & (elements.length - 1)] = null;
+        size--;
+        modCount++;
+        shrinkIfSparse();
+        return value;
     }
 
     /**
@@ -76,7 +141,10 @@ public class ArrayDequeSimple<E> implements IDeque<E> {
      */
     @Override
     public E getLast() {
-        throw new UnsupportedOperationException("todo: implement this");
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elementAt((head + size - 1) & (elements.length - 1));
     }
 
     /**
@@ -89,7 +157,14 @@ public class ArrayDequeSimple<E> implements IDeque<E> {
      */
     @Override
     public boolean contains(E value) {
-        throw new UnsupportedOperationException("todo: implement this");
+        Objects.requireNonNull(value, "value");
+        int mask = elements.length - 1;
+        for (int i = 0; i < size; i++) {
+            if (value.equals(elements[(head + i) & mask])) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -99,7 +174,7 @@ public class ArrayDequeSimple<E> implements IDeque<E> {
      */
     @Override
     public int size() {
-        throw new UnsupportedOperationException("todo: implement this");
+        return size;
     }
 
     /**
@@ -109,7 +184,7 @@ public class ArrayDequeSimple<E> implements IDeque<E> {
      */
     @Override
     public boolean isEmpty() {
-        throw new UnsupportedOperationException("todo: implement this");
+        return size == 0;
     }
 
     /**
@@ -118,7 +193,182 @@ public class ArrayDequeSimple<E> implements IDeque<E> {
      */
     @Override
     public void clear() {
-        throw new UnsupportedOperationException("todo: implement this");
+        clearSlots(head, size);
+        head = 0;
+        size = 0;
+        modCount++;
+        shrinkIfSparse();
+    }
+
+    /**
+     * Inserts all of the specified elements at the tail of this queue, in array order.
+     * Grows the array at most once and copies the values with at most two block copies.
+     * All or nothing: if any element is null, no element is added.
+     *
+     * @param values the elements to add
+     * @throws NullPointerException if the specified array or any of its elements is null
+     */
+    @Override
+    public void addAllLast(E[] values) {
+        Objects.requireNonNull(values, "values");
+        for (E value : values) {
+            Objects.requireNonNull(value, "value");
+        }
+        int count = values.length;
+        ensureFree(count);
+        int tail = (head + size) & (elements.length - 1);
+        int firstPart = Math.min(count, elements.length - tail);
+        System.arraycopy(values, 0, elements, tail, firstPart);
+        System.arraycopy(values, firstPart, elements, 0, count - firstPart);
+        size += count;
+        modCount++;
+    }
+
+    /**
+     * Inserts all of the specified elements at the tail of this queue, in iteration order.
+     * Grows the array at most once, an other {@code ArrayDequeSimple} is copied with block copies.
+     * All or nothing: if any element is null, no element is added.
+     *
+     * @param values the elements to add
+     * @throws NullPointerException if the specified collection or any of its elements is null
+     */
+    @Override
+    public void addAllLast(ICollectionIterable<? extends E> values) {
+        Objects.requireNonNull(values, "values");
+        if (values instanceof ArrayDequeSimple) {
+            ArrayDequeSimple<?> other = (ArrayDequeSimple<?>) values;
+            int count = other.size;
+            ensureFree(count);
+            int otherFirstPart = Math.min(count, other.elements.length - other.head);
+            copyIn(other.elements, other.head, otherFirstPart);
+            copyIn(other.elements, 0, count - otherFirstPart);
+            modCount++;
+            return;
+        }
+        int count = values.size();
+        ensureFree(count);
+        int mask = elements.length - 1;
+        int added = 0;
+        for (E value : values) {
+            if (value == null || added == count) {
+                clearSlots((head + size) & mask, added);
+                Objects.requireNonNull(value, "value");
+                throw new ConcurrentModificationException();
+            }
+            elements[(head + size + added++) & mask] = value;
+        }
+        size += added;
+        modCount++;
+    }
+
+    /**
+     * Retrieves and removes at most {@code max} elements from the head of this queue
+     * and stores them into {@code dst} starting at index 0.
+     * Copies the values with at most two block copies.
+     *
+     * @param dst the array to store the removed elements into
+     * @param max the maximum number of elements to remove
+     * @return the number of elements removed, that is {@code min(max, size(), dst.length)}
+     * @throws NullPointerException if the specified array is null
+     * @throws IllegalArgumentException if {@code max} is negative
+     */
+    @Override
+    public int drainTo(E[] dst, int max) {
+        Objects.requireNonNull(dst, "dst");
+        if (max < 0) {
+            throw new IllegalArgumentException("max < 0: " + max);
+        }
+        int count = Math.min(max, Math.min(size, dst.length));
+        int firstPart = Math.min(count, elements.length - head);
+        System.arraycopy(elements, head, dst, 0, firstPart);
+        System.arraycopy(elements, 0, dst, firstPart, count - firstPart);
+        removeFirst(count);
+        return count;
+    }
+
+    /**
+     * Removes the first {@code n} elements of this queue.
+     *
+     * @param n the number of elements to remove
+     * @throws IllegalArgumentException if {@code n} is negative
+     * @throws java.util.NoSuchElementException if this queue contains less than {@code n} elements
+     */
+    @Override
+    public void removeFirst(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n < 0: " + n);
+        }
+        if (n > size) {
+            throw new NoSuchElementException();
+        }
+        clearSlots(head, n);
+        head = (head + n) & (elements.length - 1);
+        size -= n;
+        modCount++;
+        shrinkIfSparse();
+    }
+
+    /**
+     * Returns the length of the backing array.
+     *
+     * @return the number of elements this deque can hold without growing
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Increases the capacity, if necessary, so that at least {@code minCapacity} elements fit without growing.
+     * The capacity is always a power of two.
+     *
+     * @param minCapacity the desired minimum capacity
+     * @throws IllegalStateException if {@code minCapacity} exceeds the maximum capacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > size) {
+            ensureFree(minCapacity - size);
+        }
+    }
+
+    /**
+     * Shrinks the backing array to the smallest power of two that holds all elements.
+     */
+    public void trimToSize() {
+        int capacity = Math.max(1, size);
+        capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        if (capacity < elements.length) {
+            resize(capacity);
+        }
+    }
+
+    /**
+     * Returns the element at the specified offset from the head in O(1).
+     *
+     * @param index the offset from the head, {@code 0} is the first element
+     * @return the element at the specified position
+     * @throws IndexOutOfBoundsException if {@code index < 0 || index >= size()}
+     */
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        return elementAt((head + index) & (elements.length - 1));
+    }
+
+    /**
+     * Replaces the element at the specified offset from the head in O(1).
+     *
+     * @param index the offset from the head, {@code 0} is the first element
+     * @param value the element to store
+     * @return the element previously at the specified position
+     * @throws IndexOutOfBoundsException if {@code index < 0 || index >= size()}
+     * @throws NullPointerException      if the specified element is null
+     */
+    public E set(int index, E value) {
+        Objects.requireNonNull(value, "value");
+        Objects.checkIndex(index, size);
+        int slot = (head + index) & (elements.length - 1);
+        E previous = elementAt(slot);
+        elements[slot] = value;
+        return previous;
     }
 
     /**
@@ -129,6 +379,346 @@ public class ArrayDequeSimple<E> implements IDeque<E> {
      */
     @Override
     public Iterator<E> iterator() {
-        throw new UnsupportedOperationException("todo: implement this");
+        return new Itr();
+    }
+
+    /**
+     * Returns a spliterator over the elements in this deque, from first (head) to last (tail).
+     * It splits the cyclic array by index range, wrap-around included, into exactly sized halves,
+     * and reports {@link Spliterator#ORDERED}, {@link Spliterator#SIZED},
+     * {@link Spliterator#SUBSIZED} and {@link Spliterator#NONNULL}.
+     * It binds to the elements at the first traversal, split or size query, and is fail-fast afterwards.
+     *
+     * @return a spliterator over the elements in this deque
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new DequeSpliterator(0, -1);
+    }
+
+    /**
+     * Returns a sequential stream over the elements in this deque, from first (head) to last (tail).
+     *
+     * @return a sequential stream over the elements in this deque
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream over the elements in this deque, split evenly by index range.
+     *
+     * @return a possibly parallel stream over the elements in this deque
+     */
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int index) {
+        return (E) elements[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> E elementAt(Object[] array, int index) {
+        return (E) array[index];
+    }
+
+    private void growIfFull() {
+        if (size == elements.length) {
+            ensureFree(1);
+        }
+    }
+
+    /**
+     * Makes room for {@code count} more elements with a single reallocation.
+     */
+    private void ensureFree(int count) {
+        if (count > MAX_CAPACITY - size) {
+            throw new IllegalStateException("Deque too big");
+        }
+        int required = size + count;
+        if (required <= elements.length) {
+            return;
+        }
+        int capacity = elements.length;
+        while (capacity < required) {
+            capacity <<= 1;
+        }
+        resize(capacity);
+    }
+
+    private void shrinkIfSparse() {
+        int capacity = shrinkPolicy.shrinkTo(size, elements.length);
+        if (capacity < elements.length) {
+            resize(capacity);
+        }
+    }
+
+    /**
+     * Moves the elements into a new array of the given power-of-two capacity, the head goes to index 0.
+     */
+    private void resize(int capacity) {
+        Object[] resized = new Object[capacity];
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, resized, 0, firstPart);
+        System.arraycopy(elements, 0, resized, firstPart, size - firstPart);
+        elements = resized;
+        head = 0;
+    }
+
+    /**
+     * Appends {@code count} elements of {@code src} starting at {@code srcPos} after the tail.
+     * The caller guarantees there is enough free space.
+     */
+    private void copyIn(Object[] src, int srcPos, int count) {
+        int tail = (head + size) & (elements.length - 1);
+        int firstPart = Math.min(count, elements.length - tail);
+        System.arraycopy(src, srcPos, elements, tail, firstPart);
+        System.arraycopy(src, srcPos + firstPart, elements, 0, count - firstPart);
+        size += count;
+    }
+
+    /**
+     * Nulls out {@code count} slots starting at the physical index {@code from}, wrapping around.
+     */
+    private void clearSlots(int from, int count) {
+        int firstPart = Math.min(count, elements.length - from);
+        Arrays.fill(elements, from, from + firstPart, null);
+        Arrays.fill(elements, 0, count - firstPart, null);
+    }
+
+    /**
+     * Returns the offset from the head of the first element equal to the value, or {@code -1}.
+     */
+    int indexOf(Object value) {
+        int mask = elements.length - 1;
+        for (int i = 0; i < size; i++) {
+            if (value.equals(elements[(head + i) & mask])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the offset from the head of the last element equal to the value, or {@code -1}.
+     */
+    int lastIndexOf(Object value) {
+        int mask = elements.length - 1;
+        for (int i = size - 1; i >= 0; i--) {
+            if (value.equals(elements[(head + i) & mask])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Inserts the element at the specified offset from the head,
+     * shifting whichever side of the ring is shorter.
+     */
+    void insert(int index, E value) {
+        growIfFull();
+        int mask = elements.length - 1;
+        if (index < size - index) {
+            head = (head - 1) & mask;
+            for (int i = 0; i < index; i++) {
+                elements[(head + i) & mask] = elements[(head + i + 1) & mask];
+            }
+        } else {
+            for (int i = size; i > index; i--) {
+                elements[(head + i) & mask] = elements[(head + i - 1) & mask];
+            }
+        }
+        elements[(head + index) & mask] = value;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Removes all elements matching the filter in a single compaction pass:
+     * survivors after the first match move towards the head, the freed tail slots are cleared.
+     * If the filter throws, the elements not yet tested are moved down and kept.
+     *
+     * @return {@code true} if any element was removed
+     */
+    boolean bulkRemove(Predicate<? super E> filter) {
+        int mask = elements.length - 1;
+        int read = 0;
+        while (read < size && !filter.test(elementAt((head + read) & mask))) {
+            read++;
+        }
+        if (read == size) {
+            return false;
+        }
+        int write = read++;
+        try {
+            for (; read < size; read++) {
+                E value = elementAt((head + read) & mask);
+                if (!filter.test(value)) {
+                    elements[(head + write++) & mask] = value;
+                }
+            }
+        } finally {
+            for (; read < size; read++) {
+                elements[(head + write++) & mask] = elements[(head + read) & mask];
+            }
+            clearSlots((head + write) & mask, size - write);
+            size = write;
+            modCount++;
+            shrinkIfSparse();
+        }
+        return true;
+    }
+
+    /**
+     * Removes the element at the specified offset from the head,
+     * shifting whichever side of the ring is shorter.
+     */
+    void delete(int index) {
+        int mask = elements.length - 1;
+        if (index < size - index - 1) {
+            for (int i = index; i > 0; i--) {
+                elements[(head + i) & mask] = elements[(head + i - 1) & mask];
+            }
+            elements[head] = null;
+            head = (head + 1) & mask;
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                elements[(head + i) & mask] = elements[(head + i + 1) & mask];
+            }
+            elements[(head + size - 1) & mask] = null;
+        }
+        size--;
+        modCount++;
+        shrinkIfSparse();
+    }
+
+    private class Itr implements Iterator<E> {
+
+        private int cursor;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = cursor;
+            return elementAt((head + cursor++) & (elements.length - 1));
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            delete(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * Covers the logical indexes {@code [origin, fence)} counted from the head,
+     * {@code fence < 0} until the spliterator is bound.
+     */
+    private class DequeSpliterator implements Spliterator<E> {
+
+        private int origin;
+        private int fence;
+        private int expectedModCount;
+
+        DequeSpliterator(int origin, int fence) {
+            this.origin = origin;
+            this.fence = fence;
+            this.expectedModCount = modCount;
+        }
+
+        private int fence() {
+            if (fence < 0) {
+                fence = size;
+                expectedModCount = modCount;
+            }
+            return fence;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int hi = fence();
+            int mid = (origin + hi) >>> 1;
+            if (mid <= origin) {
+                return null;
+            }
+            DequeSpliterator prefix = new DequeSpliterator(origin, mid);
+            prefix.expectedModCount = expectedModCount;
+            origin = mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            int hi = fence();
+            if (origin >= hi) {
+                return false;
+            }
+            checkForComodification();
+            E value = elementAt((head + origin++) & (elements.length - 1));
+            action.accept(value);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            int hi = fence();
+            checkForComodification();
+            Object[] array = elements;
+            int mask = array.length - 1;
+            int from = (head + origin) & mask;
+            int count = hi - origin;
+            origin = hi;
+            int firstPart = Math.min(count, array.length - from);
+            for (int i = from; i < from + firstPart; i++) {
+                action.accept(elementAt(array, i));
+            }
+            for (int i = 0; i < count - firstPart; i++) {
+                action.accept(elementAt(array, i));
+            }
+            checkForComodification();
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence() - origin;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+
+        private void checkForComodification() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
     }
 }
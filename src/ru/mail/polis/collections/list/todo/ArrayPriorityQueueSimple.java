@@ -2,21 +2,42 @@ package ru.mail.polis.collections.list.todo;
 
 import ru.mail.polis.collections.list.IPriorityQueue;
 
+import ru.mail.polis.collections.list.ShrinkPolicy;
+
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 
 /**
  * Resizable array implementation of the {@link IPriorityQueue} interface based on a priority heap.
  * - no capacity restrictions
  * - grow as necessary to support
+ * - shrink according to the {@link ShrinkPolicy}, never shrink by default
+ * - a d-ary heap with d = 2, 4 or 8, binary by default: a wider heap is shallower,
+ * so {@link #add(Comparable)} compares fewer parents, and the children of a node share cache lines,
+ * while {@link #remove()} compares d children per level
  *
  * @param <E> the type of elements maintained by this priority queue
  */
 public class ArrayPriorityQueueSimple<E extends Comparable<E>> implements IPriorityQueue<E> {
 
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    private static final int DEFAULT_ARITY = 2;
+
     private final Comparator<E> comparator;
+    private final ShrinkPolicy shrinkPolicy;
+    /**
+     * log2 of the arity: the children of {@code i} are {@code (i << shift) + 1 .. (i + 1) << shift}.
+     */
+    private final int shift;
+    private Object[] heap;
+    private int size;
+    private int modCount;
 
     public ArrayPriorityQueueSimple() {
         this(Comparator.naturalOrder());
@@ -43,7 +64,58 @@ public class ArrayPriorityQueueSimple<E extends Comparable<E>> implements IPrior
      * @throws NullPointerException if the specified comparator is null
      */
     public ArrayPriorityQueueSimple(Comparator<E> comparator) {
+        this(comparator, DEFAULT_CAPACITY, ShrinkPolicy.NEVER);
+    }
+
+    /**
+     * Creates a {@code IPriorityQueue} that orders its elements according to the specified comparator
+     * and releases its backing array according to the specified policy.
+     *
+     * @param comparator      comparator the comparator that will be used to order this priority queue.
+     * @param initialCapacity the initial capacity of the backing array
+     * @param shrinkPolicy    the policy deciding when the backing array is halved
+     * @throws NullPointerException     if the specified comparator or policy is null
+     * @throws IllegalArgumentException if the specified capacity is less than 1
+     */
+    public ArrayPriorityQueueSimple(Comparator<E> comparator, int initialCapacity, ShrinkPolicy shrinkPolicy) {
+        this(comparator, initialCapacity, shrinkPolicy, DEFAULT_ARITY);
+    }
+
+    /**
+     * Creates a {@code IPriorityQueue} that orders its elements according to the specified comparator
+     * in a heap where every node has up to {@code arity} children.
+     * Prefer 4 or 8 when additions outnumber removals.
+     *
+     * @param comparator comparator the comparator that will be used to order this priority queue.
+     * @param arity      the number of children of a heap node: 2, 4 or 8
+     * @throws NullPointerException     if the specified comparator is null
+     * @throws IllegalArgumentException if the specified arity is not 2, 4 or 8
+     */
+    public ArrayPriorityQueueSimple(Comparator<E> comparator, int arity) {
+        this(comparator, DEFAULT_CAPACITY, ShrinkPolicy.NEVER, arity);
+    }
+
+    /**
+     * Creates a {@code IPriorityQueue} that orders its elements according to the specified comparator
+     * in a heap where every node has up to {@code arity} children
+     * and releases its backing array according to the specified policy.
+     *
+     * @param comparator      comparator the comparator that will be used to order this priority queue.
+     * @param initialCapacity the initial capacity of the backing array
+     * @param shrinkPolicy    the policy deciding when the backing array is halved
+     * @param arity           the number of children of a heap node: 2, 4 or 8
+     * @throws NullPointerException     if the specified comparator or policy is null
+     * @throws IllegalArgumentException if the specified capacity is less than 1 or the arity is not 2, 4 or 8
+     */
+    public ArrayPriorityQueueSimple(Comparator<E> comparator, int initialCapacity, ShrinkPolicy shrinkPolicy,
+                                    int arity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("initialCapacity < 1: " + initialCapacity);
+        }
         this.comparator = Objects.requireNonNull(comparator, "comparator");
+        this.shrinkPolicy = Objects.requireNonNull(shrinkPolicy, "shrinkPolicy");
+        this.shift = shiftOf(arity);
+        this.heap = new Object[initialCapacity];
     }
 
     /**
@@ -60,7 +132,16 @@ public class ArrayPriorityQueueSimple<E extends Comparable<E>> implements IPrior
      */
     public ArrayPriorityQueueSimple(Collection<E> collection, Comparator<E> comparator) {
         this.comparator = Objects.requireNonNull(comparator, "comparator");
-        //todo: do some stuff with collection
+        this.shrinkPolicy = ShrinkPolicy.NEVER;
+        this.shift = shiftOf(DEFAULT_ARITY);
+        this.heap = collection.toArray();
+        if (heap.length == 0) {
+            heap = new Object[DEFAULT_CAPACITY];
+        }
+        this.size = collection.size();
+        for (int i = parent(size - 1); i >= 0; i--) {
+            siftDown(i, elementAt(i));
+        }
     }
 
     /**
@@ -73,7 +154,12 @@ public class ArrayPriorityQueueSimple<E extends Comparable<E>> implements IPrior
      */
     @Override
     public void add(E value) {
-        throw new UnsupportedOperationException("todo: implement this");
+        Objects.requireNonNull(value, "value");
+        if (size == heap.length) {
+            grow(size + 1);
+        }
+        siftUp(size++, value);
+        modCount++;
     }
 
     /**
@@ -86,7 +172,28 @@ public class ArrayPriorityQueueSimple<E extends Comparable<E>> implements IPrior
      */
     @Override
     public E remove() {
-        throw new UnsupportedOperationException("todo: implement this");
+        E result = element();
+        removeAt(0);
+        return result;
+    }
+
+    /**
+     * Retrieves and removes the head of this queue and inserts the specified element,
+     * in one sift instead of the two of {@link #remove()} and {@link #add(Comparable)}.
+     *
+     * Complexity = O(log(n))
+     *
+     * @param value the element to add
+     * @return the removed head of this queue
+     * @throws NullPointerException             if the specified element is null
+     * @throws java.util.NoSuchElementException if this queue is empty
+     */
+    public E replace(E value) {
+        Objects.requireNonNull(value, "value");
+        E result = element();
+        siftDown(0, value);
+        modCount++;
+        return result;
     }
 
     /**
@@ -99,7 +206,10 @@ public class ArrayPriorityQueueSimple<E extends Comparable<E>> implements IPrior
      */
     @Override
     public E element() {
-        throw new UnsupportedOperationException("todo: implement this");
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elementAt(0);
     }
 
     /**
@@ -114,7 +224,13 @@ public class ArrayPriorityQueueSimple<E extends Comparable<E>> implements IPrior
      */
     @Override
     public boolean contains(E value) {
-        throw new UnsupportedOperationException("todo: implement this");
+        Objects.requireNonNull(value, "value");
+        for (int i = 0; i < size; i++) {
+            if (value.equals(heap[i])) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -124,7 +240,7 @@ public class ArrayPriorityQueueSimple<E extends Comparable<E>> implements IPrior
      */
     @Override
     public int size() {
-        throw new UnsupportedOperationException("todo: implement this");
+        return size;
     }
 
     /**
@@ -134,7 +250,7 @@ public class ArrayPriorityQueueSimple<E extends Comparable<E>> implements IPrior
      */
     @Override
     public boolean isEmpty() {
-        throw new UnsupportedOperationException("todo: implement this");
+        return size == 0;
     }
 
     /**
@@ -143,7 +259,10 @@ public class ArrayPriorityQueueSimple<E extends Comparable<E>> implements IPrior
      */
     @Override
     public void clear() {
-        throw new UnsupportedOperationException("todo: implement this");
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+        modCount++;
+        shrinkIfSparse();
     }
 
     /**
@@ -154,6 +273,222 @@ public class ArrayPriorityQueueSimple<E extends Comparable<E>> implements IPrior
      */
     @Override
     public Iterator<E> iterator() {
-        throw new UnsupportedOperationException("todo: implement this");
+        return new Itr();
+    }
+
+    /**
+     * Returns the length of the backing array.
+     *
+     * @return the number of elements this queue can hold without growing
+     */
+    public int capacity() {
+        return heap.length;
+    }
+
+    /**
+     * Increases the capacity, if necessary, so that at least {@code minCapacity} elements fit without growing.
+     *
+     * @param minCapacity the desired minimum capacity
+     * @throws IllegalStateException if {@code minCapacity} exceeds the maximum capacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > heap.length) {
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * Shrinks the backing array to the number of elements.
+     */
+    public void trimToSize() {
+        int capacity = Math.max(1, size);
+        if (capacity < heap.length) {
+            heap = Arrays.copyOf(heap, capacity);
+        }
+    }
+
+    /**
+     * Returns the number of children of a heap node.
+     *
+     * @return 2, 4 or 8
+     */
+    public int arity() {
+        return 1 << shift;
+    }
+
+    private static int shiftOf(int arity) {
+        switch (arity) {
+            case 2:
+                return 1;
+            case 4:
+                return 2;
+            case 8:
+                return 3;
+            default:
+                throw new IllegalArgumentException("arity must be 2, 4 or 8: " + arity);
+        }
+    }
+
+    private int parent(int index) {
+        return (index - 1) >> shift;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int index) {
+        return (E) heap[index];
+    }
+
+    private void grow(int minCapacity) {
+        if (minCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Queue too big");
+        }
+        int capacity = heap.length + Math.max(heap.length >> 1, 1);
+        if (capacity < minCapacity || capacity > MAX_CAPACITY) {
+            capacity = Math.max(minCapacity, Math.min(capacity, MAX_CAPACITY));
+        }
+        heap = Arrays.copyOf(heap, capacity);
+    }
+
+    private void shrinkIfSparse() {
+        int capacity = shrinkPolicy.shrinkTo(size, heap.length);
+        if (capacity < heap.length) {
+            heap = Arrays.copyOf(heap, capacity);
+        }
+    }
+
+    /**
+     * Places the value at the index and lifts it up until its parent is not greater.
+     *
+     * @return the index the value ended up at
+     */
+    private int siftUp(int index, E value) {
+        while (index > 0) {
+            int parent = parent(index);
+            E parentValue = elementAt(parent);
+            if (comparator.compare(value, parentValue) >= 0) {
+                break;
+            }
+            heap[index] = parentValue;
+            index = parent;
+        }
+        heap[index] = value;
+        return index;
+    }
+
+    /**
+     * Places the value at the index and pushes it down until no child is less.
+     * The children of a node are adjacent, the least of them is found in one forward scan.
+     */
+    private void siftDown(int index, E value) {
+        int firstLeaf = parent(size - 1) + 1;
+        while (index < firstLeaf) {
+            int first = (index << shift) + 1;
+            int end = Math.min(first + (1 << shift), size);
+            int child = first;
+            E childValue = elementAt(first);
+            for (int i = first + 1; i < end; i++) {
+                E candidate = elementAt(i);
+                if (comparator.compare(candidate, childValue) < 0) {
+                    child = i;
+                    childValue = candidate;
+                }
+            }
+            if (comparator.compare(value, childValue) <= 0) {
+                break;
+            }
+            heap[index] = childValue;
+            index = child;
+        }
+        heap[index] = value;
+    }
+
+    /**
+     * Removes the element at the index by moving the last element into its place.
+     *
+     * @return the moved last element if it was lifted above the index (so an iterator would skip it),
+     * {@code null} otherwise
+     */
+    private E removeAt(int index) {
+        modCount++;
+        int last = --size;
+        E moved = elementAt(last);
+        heap[last] = null;
+        E result = null;
+        if (last != index) {
+            siftDown(index, moved);
+            if (heap[index] == moved && siftUp(index, moved) != index) {
+                result = moved;
+            }
+        }
+        shrinkIfSparse();
+        return result;
+    }
+
+    private class Itr implements Iterator<E> {
+
+        private int cursor;
+        private int lastReturned = -1;
+        private E lastReturnedMoved;
+        /**
+         * Elements lifted from the unvisited part in front of the cursor by {@link Iterator#remove()}.
+         */
+        private ArrayDequeSimple<E> forgetMeNot;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size || (forgetMeNot != null && !forgetMeNot.isEmpty());
+        }
+
+        @Override
+        public E next() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (cursor < size) {
+                lastReturned = cursor;
+                lastReturnedMoved = null;
+                return elementAt(cursor++);
+            }
+            if (forgetMeNot != null && !forgetMeNot.isEmpty()) {
+                lastReturned = -1;
+                lastReturnedMoved = forgetMeNot.removeFirst();
+                return lastReturnedMoved;
+            }
+            throw new NoSuchElementException();
+        }
+
+        @Override
+        public void remove() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (lastReturned >= 0) {
+                E moved = removeAt(lastReturned);
+                cursor = lastReturned;
+                lastReturned = -1;
+                if (moved != null) {
+                    if (forgetMeNot == null) {
+                        forgetMeNot = new ArrayDequeSimple<>();
+                    }
+                    forgetMeNot.addLast(moved);
+                }
+            } else if (lastReturnedMoved != null) {
+                removeAt(indexOfIdentity(lastReturnedMoved));
+                lastReturnedMoved = null;
+            } else {
+                throw new IllegalStateException();
+            }
+            expectedModCount = modCount;
+        }
+
+        private int indexOfIdentity(E value) {
+            for (int i = 0; i < size; i++) {
+                if (heap[i] == value) {
+                    return i;
+                }
+            }
+            throw new ConcurrentModificationException();
+        }
     }
 }
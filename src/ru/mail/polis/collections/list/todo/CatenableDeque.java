@@ -0,0 +1,407 @@
+package ru.mail.polis.collections.list.todo;
+
+import ru.mail.polis.collections.list.IDeque;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Implicit treap implementation of the {@link IDeque} interface: a randomized balanced binary tree
+ * ordered by position, every node stores the size of its subtree.
+ * - {@link #concat(CatenableDeque)} and {@link #splitAt(int)} take expected O(log n)
+ * - {@link #get(int)} takes expected O(log n)
+ * - the ends take expected O(log n) as well, so prefer {@link ArrayDequeSimple}
+ * when the deque is never split or concatenated
+ *
+ * @param <E> the type of elements held in this deque
+ */
+public class CatenableDeque<E> implements IDeque<E> {
+
+    private Node<E> root;
+    private int modCount;
+
+    /**
+     * Inserts the specified element at the front of this deque.
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public void addFirst(E value) {
+        Objects.requireNonNull(value, "value");
+        root = merge(new Node<>(value), root);
+        modCount++;
+    }
+
+    /**
+     * Retrieves and removes the first element of this queue.
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public E removeFirst() {
+        E value = getFirst();
+        root = removeLeftmost(root);
+        modCount++;
+        return value;
+    }
+
+    /**
+     * Retrieves, but does not remove, the first element of this queue.
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this queue is empty
+     */
+    @Override
+    public E getFirst() {
+        if (root == null) {
+            throw new NoSuchElementException();
+        }
+        Node<E> node = root;
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node.value;
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public void addLast(E value) {
+        Objects.requireNonNull(value, "value");
+        root = merge(root, new Node<>(value));
+        modCount++;
+    }
+
+    /**
+     * Retrieves and removes the last element of this deque.
+     *
+     * @return the tail of this deque
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public E removeLast() {
+        E value = getLast();
+        root = removeRightmost(root);
+        modCount++;
+        return value;
+    }
+
+    /**
+     * Retrieves, but does not remove, the last element of this deque.
+     *
+     * @return the tail of this deque
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public E getLast() {
+        if (root == null) {
+            throw new NoSuchElementException();
+        }
+        Node<E> node = root;
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node.value;
+    }
+
+    /**
+     * Returns the element at the specified offset from the head.
+     *
+     * @param index the offset from the head
+     * @return the element at the specified position
+     * @throws IndexOutOfBoundsException if {@code index < 0 || index >= size()}
+     */
+    public E get(int index) {
+        Objects.checkIndex(index, size());
+        Node<E> node = root;
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Moves all elements of the other deque to the tail of this deque in expected O(log n).
+     * The other deque is empty after this method returns.
+     *
+     * @param other the deque whose elements are appended
+     * @throws NullPointerException     if the other deque is null
+     * @throws IllegalArgumentException if the other deque is this deque
+     */
+    public void concat(CatenableDeque<E> other) {
+        Objects.requireNonNull(other, "other");
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot concat a deque to itself");
+        }
+        root = merge(root, other.root);
+        other.root = null;
+        modCount++;
+        other.modCount++;
+    }
+
+    /**
+     * Removes the elements from the specified offset from the head to the tail
+     * and returns them as a new deque, in expected O(log n).
+     *
+     * @param index the offset from the head of the first element to move
+     * @return a new deque with the elements {@code [index, size())} of this deque
+     * @throws IndexOutOfBoundsException if {@code index < 0 || index > size()}
+     */
+    public CatenableDeque<E> splitAt(int index) {
+        Objects.checkIndex(index, size() + 1);
+        CatenableDeque<E> tail = new CatenableDeque<>();
+        Node<E>[] parts = split(root, index);
+        root = parts[0];
+        tail.root = parts[1];
+        modCount++;
+        return tail;
+    }
+
+    /**
+     * Returns {@code true} if this collection contains the specified element.
+     * aka collection contains element el such that {@code Objects.equals(el, value) == true}
+     *
+     * @param value element whose presence in this collection is to be tested
+     * @return {@code true} if this collection contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public boolean contains(E value) {
+        Objects.requireNonNull(value, "value");
+        for (E element : this) {
+            if (value.equals(element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of elements in this collection.
+     *
+     * @return the number of elements in this collection
+     */
+    @Override
+    public int size() {
+        return sizeOf(root);
+    }
+
+    /**
+     * Returns {@code true} if this collection contains no elements.
+     *
+     * @return {@code true} if this collection contains no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Removes all of the elements from this collection.
+     * The collection will be empty after this method returns.
+     */
+    @Override
+    public void clear() {
+        root = null;
+        modCount++;
+    }
+
+    /**
+     * Returns an iterator over the elements in this collection in proper sequence.
+     * The elements will be returned in order from first (head) to last (tail).
+     *
+     * @return an iterator over the elements in this collection in proper sequence
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    private static int sizeOf(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Concatenates two treaps, every element of {@code left} goes before every element of {@code right}.
+     */
+    private static <E> Node<E> merge(Node<E> left, Node<E> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return left.update();
+        }
+        right.left = merge(left, right.left);
+        return right.update();
+    }
+
+    /**
+     * Splits a treap into the first {@code count} elements and the rest.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> Node<E>[] split(Node<E> node, int count) {
+        if (node == null) {
+            return (Node<E>[]) new Node<?>[2];
+        }
+        int leftSize = sizeOf(node.left);
+        Node<E>[] parts;
+        if (count <= leftSize) {
+            parts = split(node.left, count);
+            node.left = parts[1];
+            parts[1] = node.update();
+        } else {
+            parts = split(node.right, count - leftSize - 1);
+            node.right = parts[0];
+            parts[0] = node.update();
+        }
+        return parts;
+    }
+
+    private static <E> Node<E> removeLeftmost(Node<E> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeLeftmost(node.left);
+        return node.update();
+    }
+
+    private static <E> Node<E> removeRightmost(Node<E> node) {
+        if (node.right == null) {
+            return node.left;
+        }
+        node.right = removeRightmost(node.right);
+        return node.update();
+    }
+
+    /**
+     * Removes the element at the specified in-order position of the subtree.
+     */
+    private static <E> Node<E> delete(Node<E> node, int index) {
+        int leftSize = sizeOf(node.left);
+        if (index < leftSize) {
+            node.left = delete(node.left, index);
+        } else if (index == leftSize) {
+            return merge(node.left, node.right);
+        } else {
+            node.right = delete(node.right, index - leftSize - 1);
+        }
+        return node.update();
+    }
+
+    private static final class Node<E> {
+
+        private final E value;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private int size = 1;
+        private Node<E> left;
+        private Node<E> right;
+
+        Node(E value) {
+            this.value = value;
+        }
+
+        Node<E> update() {
+            size = 1 + sizeOf(left) + sizeOf(right);
+            return this;
+        }
+    }
+
+    /**
+     * In-order traversal with an explicit stack of the left spine, the tree depth is expected O(log n).
+     */
+    private class Itr implements Iterator<E> {
+
+        private final ArrayDequeSimple<Node<E>> spine = new ArrayDequeSimple<>();
+        private int index;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        Itr() {
+            pushLeft(root);
+        }
+
+        private void pushLeft(Node<E> node) {
+            for (; node != null; node = node.left) {
+                spine.addFirst(node);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !spine.isEmpty();
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (spine.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node<E> node = spine.removeFirst();
+            pushLeft(node.right);
+            lastReturned = index++;
+            return node.value;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            root = delete(root, lastReturned);
+            modCount++;
+            index = lastReturned;
+            lastReturned = -1;
+            spine.clear();
+            descendTo(index);
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Rebuilds the spine so that the next element returned is the one at the given position.
+         */
+        private void descendTo(int position) {
+            Node<E> node = root;
+            while (node != null) {
+                int leftSize = sizeOf(node.left);
+                if (position <= leftSize) {
+                    spine.addFirst(node);
+                    if (position == leftSize) {
+                        return;
+                    }
+                    node = node.left;
+                } else {
+                    position -= leftSize + 1;
+                    node = node.right;
+                }
+            }
+        }
+
+        private void checkForComodification() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
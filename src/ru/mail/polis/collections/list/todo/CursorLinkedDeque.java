@@ -0,0 +1,429 @@
+package ru.mail.polis.collections.list.todo;
+
+import ru.mail.polis.collections.list.IDeque;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Cursor (array-linked) list implementation of the {@link IDeque} interface.
+ * - no capacity restrictions
+ * - elements live in an {@code Object[]}, prev/next links in two {@code int[]}, there is no object per node
+ * - slots of removed elements are reused through a free list threaded through the next links
+ * - {@link #linkFirst(Object)} and {@link #linkLast(Object)} return an int handle (the slot index),
+ * {@link #remove(int)}, {@link #moveToFront(int)} and {@link #moveToBack(int)} take it and run in O(1)
+ * <p>
+ * A handle stays valid until its element is removed, after that the slot may be reused by another element.
+ *
+ * @param <E> the type of elements held in this deque
+ */
+public class CursorLinkedDeque<E> implements IDeque<E> {
+
+    /**
+     * The "no slot" link value.
+     */
+    public static final int NIL = -1;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private Object[] values;
+    private int[] next;
+    private int[] prev;
+    private int head = NIL;
+    private int tail = NIL;
+    /**
+     * Slots {@code [used, capacity)} have never been taken, freed slots below it form the free list.
+     */
+    private int used;
+    private int free = NIL;
+    private int size;
+    private int modCount;
+
+    public CursorLinkedDeque() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty deque with room for {@code initialCapacity} elements.
+     *
+     * @param initialCapacity the initial capacity
+     * @throws IllegalArgumentException if the specified capacity is negative
+     */
+    public CursorLinkedDeque(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity < 0: " + initialCapacity);
+        }
+        values = new Object[initialCapacity];
+        next = new int[initialCapacity];
+        prev = new int[initialCapacity];
+    }
+
+    /**
+     * Inserts the specified element at the front of this deque.
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public void addFirst(E value) {
+        linkFirst(value);
+    }
+
+    /**
+     * Inserts the specified element at the front of this deque.
+     *
+     * @param value the element to add
+     * @return the handle of the element
+     * @throws NullPointerException if the specified element is null
+     */
+    public int linkFirst(E value) {
+        Objects.requireNonNull(value, "value");
+        int slot = allocate(value);
+        prev[slot] = NIL;
+        next[slot] = head;
+        if (head == NIL) {
+            tail = slot;
+        } else {
+            prev[head] = slot;
+        }
+        head = slot;
+        return slot;
+    }
+
+    /**
+     * Retrieves and removes the first element of this queue.
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public E removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return remove(head);
+    }
+
+    /**
+     * Retrieves, but does not remove, the first element of this queue.
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this queue is empty
+     */
+    @Override
+    public E getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return valueAt(head);
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public void addLast(E value) {
+        linkLast(value);
+    }
+
+    /**
+     * Inserts the specified element at the tail of this deque.
+     *
+     * @param value the element to add
+     * @return the handle of the element
+     * @throws NullPointerException if the specified element is null
+     */
+    public int linkLast(E value) {
+        Objects.requireNonNull(value, "value");
+        int slot = allocate(value);
+        next[slot] = NIL;
+        prev[slot] = tail;
+        if (tail == NIL) {
+            head = slot;
+        } else {
+            next[tail] = slot;
+        }
+        tail = slot;
+        return slot;
+    }
+
+    /**
+     * Retrieves and removes the last element of this deque.
+     *
+     * @return the tail of this deque
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public E removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return remove(tail);
+    }
+
+    /**
+     * Retrieves, but does not remove, the last element of this deque.
+     *
+     * @return the tail of this deque
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public E getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return valueAt(tail);
+    }
+
+    /**
+     * Returns the element with the specified handle.
+     *
+     * @param handle the handle returned when the element was added
+     * @return the element
+     * @throws IllegalArgumentException if the handle does not refer to an element of this deque
+     */
+    public E get(int handle) {
+        checkHandle(handle);
+        return valueAt(handle);
+    }
+
+    /**
+     * Removes the element with the specified handle in O(1).
+     *
+     * @param handle the handle returned when the element was added
+     * @return the removed element
+     * @throws IllegalArgumentException if the handle does not refer to an element of this deque
+     */
+    public E remove(int handle) {
+        checkHandle(handle);
+        E value = valueAt(handle);
+        unlink(handle);
+        values[handle] = null;
+        next[handle] = free;
+        free = handle;
+        size--;
+        modCount++;
+        return value;
+    }
+
+    /**
+     * Moves the element with the specified handle to the front of this deque in O(1), the handle stays valid.
+     *
+     * @param handle the handle returned when the element was added
+     * @throws IllegalArgumentException if the handle does not refer to an element of this deque
+     */
+    public void moveToFront(int handle) {
+        checkHandle(handle);
+        if (handle == head) {
+            return;
+        }
+        unlink(handle);
+        prev[handle] = NIL;
+        next[handle] = head;
+        prev[head] = handle;
+        head = handle;
+        modCount++;
+    }
+
+    /**
+     * Moves the element with the specified handle to the tail of this deque in O(1), the handle stays valid.
+     *
+     * @param handle the handle returned when the element was added
+     * @throws IllegalArgumentException if the handle does not refer to an element of this deque
+     */
+    public void moveToBack(int handle) {
+        checkHandle(handle);
+        if (handle == tail) {
+            return;
+        }
+        unlink(handle);
+        next[handle] = NIL;
+        prev[handle] = tail;
+        next[tail] = handle;
+        tail = handle;
+        modCount++;
+    }
+
+    /**
+     * @return the handle of the first element, or {@link #NIL} if this deque is empty
+     */
+    public int firstHandle() {
+        return head;
+    }
+
+    /**
+     * @return the handle of the last element, or {@link #NIL} if this deque is empty
+     */
+    public int lastHandle() {
+        return tail;
+    }
+
+    /**
+     * Returns {@code true} if this collection contains the specified element.
+     * aka collection contains element el such that {@code Objects.equals(el, value) == true}
+     *
+     * @param value element whose presence in this collection is to be tested
+     * @return {@code true} if this collection contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public boolean contains(E value) {
+        Objects.requireNonNull(value, "value");
+        for (int slot = head; slot != NIL; slot = next[slot]) {
+            if (value.equals(values[slot])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of elements in this collection.
+     *
+     * @return the number of elements in this collection
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this collection contains no elements.
+     *
+     * @return {@code true} if this collection contains no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all of the elements from this collection.
+     * The collection will be empty after this method returns.
+     * All handles become invalid.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(values, 0, used, null);
+        head = NIL;
+        tail = NIL;
+        used = 0;
+        free = NIL;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns an iterator over the elements in this collection in proper sequence.
+     * The elements will be returned in order from first (head) to last (tail).
+     *
+     * @return an iterator over the elements in this collection in proper sequence
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    @SuppressWarnings("unchecked")
+    private E valueAt(int slot) {
+        return (E) values[slot];
+    }
+
+    private void checkHandle(int handle) {
+        if (handle < 0 || handle >= used || values[handle] == null) {
+            throw new IllegalArgumentException("Invalid handle: " + handle);
+        }
+    }
+
+    /**
+     * Takes a slot from the free list, or the next never used slot, growing the arrays if necessary.
+     */
+    private int allocate(E value) {
+        int slot;
+        if (free != NIL) {
+            slot = free;
+            free = next[slot];
+        } else {
+            if (used == values.length) {
+                grow();
+            }
+            slot = used++;
+        }
+        values[slot] = value;
+        size++;
+        modCount++;
+        return slot;
+    }
+
+    private void grow() {
+        if (values.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Deque too big");
+        }
+        int capacity = (int) Math.min(MAX_CAPACITY, Math.max(DEFAULT_CAPACITY, 2L * values.length));
+        values = Arrays.copyOf(values, capacity);
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+    }
+
+    private void unlink(int slot) {
+        int before = prev[slot];
+        int after = next[slot];
+        if (before == NIL) {
+            head = after;
+        } else {
+            next[before] = after;
+        }
+        if (after == NIL) {
+            tail = before;
+        } else {
+            prev[after] = before;
+        }
+    }
+
+    private class Itr implements Iterator<E> {
+
+        private int cursor = head;
+        private int lastReturned = NIL;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor != NIL;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (cursor == NIL) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = cursor;
+            cursor = CursorLinkedDeque.this.next[cursor];
+            return valueAt(lastReturned);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == NIL) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            CursorLinkedDeque.this.remove(lastReturned);
+            lastReturned = NIL;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package ru.mail.polis.collections.list.todo;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * Binary heap of values ordered by primitive {@code double} keys, the least key first.
+ * Follows the {@link ru.mail.polis.collections.list.IPriorityQueue} contract, but keys live in a {@code double[]}
+ * next to the values, so a comparison is a plain {@code double} compare: no boxing, no comparator call.
+ * Negate the keys to take the greatest key first. {@code -0.0} and {@code 0.0} are equal keys, NaN is rejected.
+ * - no capacity restrictions
+ * - grow as necessary to support
+ * - {@link #removeFirst()} and {@link #forEach(ObjDoubleConsumer)} allocate nothing
+ *
+ * @param <V> the type of values
+ */
+public class DoubleKeyPriorityQueue<V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private double[] keys;
+    private Object[] values;
+    private int size;
+    private int modCount;
+
+    public DoubleKeyPriorityQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty queue with room for {@code initialCapacity} entries.
+     *
+     * @param initialCapacity the initial capacity
+     * @throws IllegalArgumentException if the specified capacity is less than 1
+     */
+    public DoubleKeyPriorityQueue(int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("initialCapacity < 1: " + initialCapacity);
+        }
+        keys = new double[initialCapacity];
+        values = new Object[initialCapacity];
+    }
+
+    /**
+     * Inserts the specified value with the specified key into this priority queue.
+     *
+     * Complexity = O(log(n))
+     *
+     * @param key   the key of the value
+     * @param value the value to add
+     * @throws NullPointerException     if the specified value is null
+     * @throws IllegalArgumentException if the key is NaN
+     */
+    public void add(double key, V value) {
+        Objects.requireNonNull(value, "value");
+        if (Double.isNaN(key)) {
+            throw new IllegalArgumentException("key is NaN");
+        }
+        if (size == keys.length) {
+            grow();
+        }
+        siftUp(size++, key, value);
+        modCount++;
+    }
+
+    /**
+     * Retrieves and removes the value with the least key.
+     *
+     * Complexity = O(log(n))
+     *
+     * @return the head of this queue
+     * @throws NoSuchElementException if this queue is empty
+     */
+    public V removeFirst() {
+        V result = firstValue();
+        int last = --size;
+        double key = keys[last];
+        V value = valueAt(last);
+        values[last] = null;
+        if (last > 0) {
+            siftDown(0, key, value);
+        }
+        modCount++;
+        return result;
+    }
+
+    /**
+     * Retrieves, but does not remove, the least key.
+     *
+     * Complexity = O(1)
+     *
+     * @return the key of the head of this queue
+     * @throws NoSuchElementException if this queue is empty
+     */
+    public double firstKey() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return keys[0];
+    }
+
+    /**
+     * Retrieves, but does not remove, the value with the least key.
+     *
+     * Complexity = O(1)
+     *
+     * @return the head of this queue
+     * @throws NoSuchElementException if this queue is empty
+     */
+    public V firstValue() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return valueAt(0);
+    }
+
+    /**
+     * Returns the number of entries in this queue.
+     *
+     * @return the number of entries in this queue
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this queue contains no entries.
+     *
+     * @return {@code true} if this queue contains no entries
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all of the entries from this queue.
+     * The queue will be empty after this method returns.
+     */
+    public void clear() {
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Performs the action for every entry of this queue, not in any particular order.
+     *
+     * @param action the action receiving a value and its key
+     * @throws NullPointerException            if the action is null
+     * @throws ConcurrentModificationException if the action modifies this queue
+     */
+    public void forEach(ObjDoubleConsumer<? super V> action) {
+        Objects.requireNonNull(action, "action");
+        int expectedModCount = modCount;
+        for (int i = 0; i < size && expectedModCount == modCount; i++) {
+            action.accept(valueAt(i), keys[i]);
+        }
+        if (expectedModCount != modCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int index) {
+        return (V) values[index];
+    }
+
+    private void grow() {
+        if (size == MAX_CAPACITY) {
+            throw new IllegalStateException("Queue too big");
+        }
+        int capacity = (int) Math.min(MAX_CAPACITY, keys.length + Math.max(keys.length >> 1, 1L));
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    /**
+     * Places the entry at the index and lifts it up until the key of its parent is not greater.
+     */
+    private void siftUp(int index, double key, V value) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            double parentKey = keys[parent];
+            if (key >= parentKey) {
+                break;
+            }
+            keys[index] = parentKey;
+            values[index] = values[parent];
+            index = parent;
+        }
+        keys[index] = key;
+        values[index] = value;
+    }
+
+    /**
+     * Places the entry at the index and pushes it down until no child has a less key.
+     */
+    private void siftDown(int index, double key, V value) {
+        int half = size >>> 1;
+        while (index < half) {
+            int child = (index << 1) + 1;
+            double childKey = keys[child];
+            int right = child + 1;
+            if (right < size && keys[right] < childKey) {
+                child = right;
+                childKey = keys[right];
+            }
+            if (key <= childKey) {
+                break;
+            }
+            keys[index] = childKey;
+            values[index] = values[child];
+            index = child;
+        }
+        keys[index] = key;
+        values[index] = value;
+    }
+}
@@ -0,0 +1,440 @@
+package ru.mail.polis.collections.list.todo;
+
+import ru.mail.polis.collections.list.IPriorityQueue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Fibonacci heap implementation of the {@link IPriorityQueue} interface.
+ * - {@link #add(Comparable)} and {@link #meld(FibonacciHeap)} take O(1)
+ * - {@link #decreaseKey(Handle, Comparable)} takes amortized O(1)
+ * - {@link #remove()} takes amortized O(log n), it consolidates the roots by degree
+ * <p>
+ * {@link #insert(Comparable)} returns a handle to the node of the element, it stays valid
+ * until the element is removed, also after the heap is melded into another one.
+ * The iterator does not return the elements in any particular order and does not support removal.
+ *
+ * @param <E> the type of elements maintained by this priority queue
+ */
+public class FibonacciHeap<E extends Comparable<E>> implements IPriorityQueue<E> {
+
+    /**
+     * The degree of a node with n descendants is at most log_phi(n) < 45 for an int size.
+     */
+    private static final int MAX_DEGREE = 45;
+
+    private final Comparator<E> comparator;
+    private HeapOwner owner = new HeapOwner();
+    /**
+     * The root with the least element, the roots form a circular list.
+     */
+    private Handle<E> min;
+    private int size;
+    private Handle<?>[] byDegree;
+
+    public FibonacciHeap() {
+        this(Comparator.naturalOrder());
+    }
+
+    /**
+     * Creates a {@code IPriorityQueue} that orders its elements according to the specified comparator.
+     *
+     * @param comparator comparator the comparator that will be used to order this priority queue.
+     * @throws NullPointerException if the specified comparator is null
+     */
+    public FibonacciHeap(Comparator<E> comparator) {
+        this.comparator = Objects.requireNonNull(comparator, "comparator");
+    }
+
+    /**
+     * Inserts the specified element into this priority queue.
+     *
+     * Complexity = O(1)
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public void add(E value) {
+        insert(value);
+    }
+
+    /**
+     * Inserts the specified element into this priority queue.
+     *
+     * Complexity = O(1)
+     *
+     * @param value the element to add
+     * @return the handle of the element for {@link #decreaseKey(Handle, Comparable)}
+     * @throws NullPointerException if the specified element is null
+     */
+    public Handle<E> insert(E value) {
+        Objects.requireNonNull(value, "value");
+        Handle<E> node = new Handle<>(value, owner);
+        addRoot(node);
+        size++;
+        return node;
+    }
+
+    /**
+     * Retrieves and removes the head of this queue.
+     *
+     * Complexity = amortized O(log(n))
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this queue is empty
+     */
+    @Override
+    public E remove() {
+        E result = element();
+        Handle<E> removed = min;
+        Handle<E> child = removed.child;
+        if (child != null) {
+            Handle<E> node = child;
+            do {
+                node.parent = null;
+                node = node.right;
+            } while (node != child);
+            splice(removed, child);
+        }
+        if (removed.right == removed) {
+            min = null;
+        } else {
+            min = removed.right;
+            unlinkSibling(removed);
+            consolidate();
+        }
+        removed.child = null;
+        removed.left = removed;
+        removed.right = removed;
+        removed.owner = null;
+        size--;
+        return result;
+    }
+
+    /**
+     * Retrieves, but does not remove, the head of this queue.
+     *
+     * Complexity = O(1)
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this queue is empty
+     */
+    @Override
+    public E element() {
+        if (min == null) {
+            throw new NoSuchElementException();
+        }
+        return min.value;
+    }
+
+    /**
+     * Replaces the element of the handle with the specified one, which must not be greater.
+     *
+     * Complexity = amortized O(1)
+     *
+     * @param handle the handle returned by {@link #insert(Comparable)}
+     * @param value  the new element
+     * @throws NullPointerException     if the specified handle or element is null
+     * @throws IllegalArgumentException if the handle does not refer to an element of this queue
+     *                                  or the new element is greater than the current one
+     */
+    public void decreaseKey(Handle<E> handle, E value) {
+        checkHandle(handle);
+        Objects.requireNonNull(value, "value");
+        if (comparator.compare(value, handle.value) > 0) {
+            throw new IllegalArgumentException("Key increased: " + value);
+        }
+        handle.value = value;
+        Handle<E> parent = handle.parent;
+        if (parent != null && comparator.compare(value, parent.value) < 0) {
+            cut(handle);
+            while (parent.parent != null) {
+                if (!parent.marked) {
+                    parent.marked = true;
+                    break;
+                }
+                Handle<E> grandparent = parent.parent;
+                cut(parent);
+                parent = grandparent;
+            }
+        }
+        if (comparator.compare(value, min.value) < 0) {
+            min = handle;
+        }
+    }
+
+    /**
+     * Moves all elements of the other heap into this heap in O(1).
+     * The other heap is empty after this method returns, the handles of its elements refer to this heap.
+     *
+     * @param other the heap whose elements are added
+     * @throws NullPointerException     if the other heap is null
+     * @throws IllegalArgumentException if the other heap is this heap or orders its elements differently
+     */
+    public void meld(FibonacciHeap<E> other) {
+        Objects.requireNonNull(other, "other");
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot meld a heap with itself");
+        }
+        if (!comparator.equals(other.comparator)) {
+            throw new IllegalArgumentException("Heaps have different comparators");
+        }
+        if (other.min != null) {
+            if (min == null) {
+                min = other.min;
+            } else {
+                splice(min, other.min);
+                if (comparator.compare(other.min.value, min.value) < 0) {
+                    min = other.min;
+                }
+            }
+        }
+        size += other.size;
+        other.owner.mergeInto(owner);
+        other.owner = new HeapOwner();
+        other.min = null;
+        other.size = 0;
+    }
+
+    /**
+     * Returns {@code true} if this collection contains the specified element.
+     * aka collection contains element el such that {@code Objects.equals(el, value) == true}
+     *
+     * Complexity = O(n)
+     *
+     * @param value element whose presence in this collection is to be tested
+     * @return {@code true} if this collection contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public boolean contains(E value) {
+        Objects.requireNonNull(value, "value");
+        for (E element : this) {
+            if (value.equals(element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of elements in this collection.
+     *
+     * @return the number of elements in this collection
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this collection contains no elements.
+     *
+     * @return {@code true} if this collection contains no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all of the elements from this collection.
+     * The collection will be empty after this method returns, all handles become invalid.
+     */
+    @Override
+    public void clear() {
+        min = null;
+        size = 0;
+        owner = new HeapOwner();
+    }
+
+    /**
+     * Returns an iterator over the elements in this queue. The iterator
+     * does not return the elements in any particular order.
+     *
+     * @return an iterator over the elements in this queue
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+
+            /**
+             * The first nodes of the sibling lists still to visit, with the node to visit next in each.
+             */
+            private final ArrayDequeSimple<Handle<E>> firsts = new ArrayDequeSimple<>();
+            private final ArrayDequeSimple<Handle<E>> cursors = new ArrayDequeSimple<>();
+
+            {
+                if (min != null) {
+                    firsts.addFirst(min);
+                    cursors.addFirst(min);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !cursors.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                if (cursors.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Handle<E> node = cursors.removeFirst();
+                Handle<E> first = firsts.removeFirst();
+                if (node.right != first) {
+                    firsts.addFirst(first);
+                    cursors.addFirst(node.right);
+                }
+                if (node.child != null) {
+                    firsts.addFirst(node.child);
+                    cursors.addFirst(node.child);
+                }
+                return node.value;
+            }
+        };
+    }
+
+    private void checkHandle(Handle<E> handle) {
+        Objects.requireNonNull(handle, "handle");
+        if (handle.owner == null || handle.owner.resolve() != owner) {
+            throw new IllegalArgumentException("Handle does not refer to an element of this heap");
+        }
+    }
+
+    private void addRoot(Handle<E> node) {
+        if (min == null) {
+            min = node;
+        } else {
+            splice(min, node);
+            if (comparator.compare(node.value, min.value) < 0) {
+                min = node;
+            }
+        }
+    }
+
+    /**
+     * Joins two circular lists into one.
+     */
+    private static <E> void splice(Handle<E> first, Handle<E> second) {
+        Handle<E> firstNext = first.right;
+        Handle<E> secondPrev = second.left;
+        first.right = second;
+        second.left = first;
+        secondPrev.right = firstNext;
+        firstNext.left = secondPrev;
+    }
+
+    /**
+     * Takes the node out of its circular list, leaving it a list of one.
+     */
+    private static <E> void unlinkSibling(Handle<E> node) {
+        node.left.right = node.right;
+        node.right.left = node.left;
+        node.left = node;
+        node.right = node;
+    }
+
+    /**
+     * Moves the node with its subtree from its parent to the roots.
+     */
+    private void cut(Handle<E> node) {
+        Handle<E> parent = node.parent;
+        if (parent.child == node) {
+            parent.child = node.right == node ? null : node.right;
+        }
+        unlinkSibling(node);
+        parent.degree--;
+        node.parent = null;
+        node.marked = false;
+        splice(min, node);
+    }
+
+    /**
+     * Links the roots of equal degree until all degrees differ, then finds the minimum.
+     */
+    @SuppressWarnings("unchecked")
+    private void consolidate() {
+        if (byDegree == null) {
+            byDegree = new Handle<?>[MAX_DEGREE + 1];
+        }
+        Handle<E>[] roots = (Handle<E>[]) byDegree;
+        Handle<E> start = min;
+        Handle<E> node = start;
+        int count = 0;
+        do {
+            count++;
+            node = node.right;
+        } while (node != start);
+        int maxDegree = 0;
+        for (int i = 0; i < count; i++) {
+            Handle<E> root = node;
+            node = node.right;
+            unlinkSibling(root);
+            int degree = root.degree;
+            while (roots[degree] != null) {
+                Handle<E> other = roots[degree];
+                roots[degree] = null;
+                if (comparator.compare(other.value, root.value) < 0) {
+                    Handle<E> swap = root;
+                    root = other;
+                    other = swap;
+                }
+                other.parent = root;
+                other.marked = false;
+                if (root.child == null) {
+                    root.child = other;
+                } else {
+                    splice(root.child, other);
+                }
+                root.degree++;
+                degree++;
+            }
+            roots[degree] = root;
+            maxDegree = Math.max(maxDegree, degree);
+        }
+        min = null;
+        for (int degree = 0; degree <= maxDegree; degree++) {
+            if (roots[degree] != null) {
+                addRoot(roots[degree]);
+            }
+        }
+        Arrays.fill(roots, 0, maxDegree + 1, null);
+    }
+
+    /**
+     * A node of the heap, the handle of its element.
+     */
+    public static final class Handle<E> {
+
+        private E value;
+        /**
+         * The owner of the heap, {@code null} once the element is removed.
+         */
+        private HeapOwner owner;
+        private Handle<E> parent;
+        private Handle<E> child;
+        private Handle<E> left = this;
+        private Handle<E> right = this;
+        private int degree;
+        private boolean marked;
+
+        private Handle(E value, HeapOwner owner) {
+            this.value = value;
+            this.owner = owner;
+        }
+
+        /**
+         * @return the current element of this handle
+         */
+        public E value() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ru.mail.polis.collections.list.todo;
+
+/**
+ * Identifies the heap a node handle belongs to across melds without touching the nodes:
+ * a meld points the owner of the absorbed heap to the owner of the other one (a union-find forest).
+ */
+final class HeapOwner {
+
+    private HeapOwner parent;
+
+    /**
+     * @return the owner all the handles of this owner belong to now
+     */
+    HeapOwner resolve() {
+        HeapOwner root = this;
+        while (root.parent != null) {
+            root = root.parent;
+        }
+        for (HeapOwner owner = this; owner != root; ) {
+            HeapOwner next = owner.parent;
+            owner.parent = root;
+            owner = next;
+        }
+        return root;
+    }
+
+    /**
+     * Moves the handles of this owner to the specified one.
+     */
+    void mergeInto(HeapOwner owner) {
+        parent = owner;
+    }
+}
@@ -0,0 +1,487 @@
+package ru.mail.polis.collections.list.todo;
+
+import ru.mail.polis.collections.list.IPriorityQueue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Indexed binary heap implementation of the {@link IPriorityQueue} interface:
+ * a heap of distinct elements (by {@code equals}) with an index from every element to its position.
+ * - {@link #contains(Comparable)} takes O(1)
+ * - {@link #decreaseKey(Comparable)}, {@link #increaseKey(Comparable)}, {@link #update(Comparable)}
+ * and {@link #remove(Comparable)} take O(log n)
+ * <p>
+ * The key of an element may change either in place (the element is mutable and passed again)
+ * or by passing a new element equal to the stored one, which then replaces it.
+ * {@code equals} and {@code hashCode} of an element must not depend on its key.
+ * <p>
+ * The index is an open addressed table with linear probing; every heap position remembers
+ * the slot of its element, so a sift moves elements without hashing them.
+ *
+ * @param <E> the type of elements maintained by this priority queue
+ */
+public class IndexedPriorityQueue<E extends Comparable<E>> implements IPriorityQueue<E> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 29;
+
+    private final Comparator<E> comparator;
+    private Object[] heap;
+    /**
+     * The index slot of the element at every heap position.
+     */
+    private int[] slotOf;
+    /**
+     * Index keys and the heap positions of them, twice as long as the heap.
+     */
+    private Object[] keys;
+    private int[] positions;
+    private int size;
+    private int modCount;
+
+    public IndexedPriorityQueue() {
+        this(Comparator.naturalOrder());
+    }
+
+    /**
+     * Creates a {@code IPriorityQueue} that orders its elements according to the specified comparator.
+     *
+     * @param comparator comparator the comparator that will be used to order this priority queue.
+     * @throws NullPointerException if the specified comparator is null
+     */
+    public IndexedPriorityQueue(Comparator<E> comparator) {
+        this(comparator, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a {@code IPriorityQueue} that orders its elements according to the specified comparator
+     * with room for {@code initialCapacity} elements.
+     *
+     * @param comparator      comparator the comparator that will be used to order this priority queue.
+     * @param initialCapacity the initial capacity
+     * @throws NullPointerException     if the specified comparator is null
+     * @throws IllegalArgumentException if the specified capacity is less than 1
+     */
+    public IndexedPriorityQueue(Comparator<E> comparator, int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("initialCapacity < 1: " + initialCapacity);
+        }
+        this.comparator = Objects.requireNonNull(comparator, "comparator");
+        allocate(Math.max(2, Integer.highestOneBit(Math.min(initialCapacity, MAX_CAPACITY) - 1) << 1));
+    }
+
+    /**
+     * Inserts the specified element into this priority queue.
+     *
+     * Complexity = O(log(n))
+     *
+     * @param value the element to add
+     * @throws NullPointerException     if the specified element is null
+     * @throws IllegalArgumentException if an equal element is already in this queue, use {@link #update(Comparable)}
+     */
+    @Override
+    public void add(E value) {
+        Objects.requireNonNull(value, "value");
+        int slot = find(value);
+        if (slot >= 0) {
+            throw new IllegalArgumentException("Already in the queue: " + value);
+        }
+        if (size == heap.length) {
+            grow();
+            slot = find(value);
+        }
+        slot = ~slot;
+        keys[slot] = value;
+        siftUp(size++, value, slot);
+        modCount++;
+    }
+
+    /**
+     * Retrieves and removes the head of this queue.
+     *
+     * Complexity = O(log(n))
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this queue is empty
+     */
+    @Override
+    public E remove() {
+        E result = element();
+        removeAt(0);
+        return result;
+    }
+
+    /**
+     * Retrieves, but does not remove, the head of this queue.
+     *
+     * Complexity = O(1)
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this queue is empty
+     */
+    @Override
+    public E element() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elementAt(0);
+    }
+
+    /**
+     * Removes the element equal to the specified one.
+     *
+     * Complexity = O(log(n))
+     *
+     * @param value the element to remove
+     * @return {@code true} if this queue contained the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean remove(E value) {
+        Objects.requireNonNull(value, "value");
+        int slot = find(value);
+        if (slot < 0) {
+            return false;
+        }
+        removeAt(positions[slot]);
+        return true;
+    }
+
+    /**
+     * Replaces the element equal to the specified one, whose key did not increase, and lifts it up.
+     *
+     * Complexity = O(log(n))
+     *
+     * @param value the element with the new key
+     * @throws NullPointerException             if the specified element is null
+     * @throws java.util.NoSuchElementException if this queue has no element equal to the specified one
+     * @throws IllegalArgumentException         if the new key is greater than the current one
+     */
+    public void decreaseKey(E value) {
+        int slot = existingSlot(value);
+        int index = positions[slot];
+        if (comparator.compare(value, elementAt(index)) > 0) {
+            throw new IllegalArgumentException("Key increased: " + value);
+        }
+        keys[slot] = value;
+        siftUp(index, value, slot);
+        modCount++;
+    }
+
+    /**
+     * Replaces the element equal to the specified one, whose key did not decrease, and pushes it down.
+     *
+     * Complexity = O(log(n))
+     *
+     * @param value the element with the new key
+     * @throws NullPointerException             if the specified element is null
+     * @throws java.util.NoSuchElementException if this queue has no element equal to the specified one
+     * @throws IllegalArgumentException         if the new key is less than the current one
+     */
+    public void increaseKey(E value) {
+        int slot = existingSlot(value);
+        int index = positions[slot];
+        if (comparator.compare(value, elementAt(index)) < 0) {
+            throw new IllegalArgumentException("Key decreased: " + value);
+        }
+        keys[slot] = value;
+        siftDown(index, value, slot);
+        modCount++;
+    }
+
+    /**
+     * Replaces the element equal to the specified one, whose key changed in any direction,
+     * or adds the specified element if there is no such.
+     *
+     * Complexity = O(log(n))
+     *
+     * @param value the element with the new key
+     * @throws NullPointerException if the specified element is null
+     */
+    public void update(E value) {
+        Objects.requireNonNull(value, "value");
+        int slot = find(value);
+        if (slot < 0) {
+            add(value);
+            return;
+        }
+        keys[slot] = value;
+        int index = positions[slot];
+        siftDown(index, value, slot);
+        if (heap[index] == value) {
+            siftUp(index, value, slot);
+        }
+        modCount++;
+    }
+
+    /**
+     * Returns {@code true} if this collection contains the specified element.
+     * aka collection contains element el such that {@code Objects.equals(el, value) == true}
+     *
+     * Complexity = O(1)
+     *
+     * @param value element whose presence in this collection is to be tested
+     * @return {@code true} if this collection contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public boolean contains(E value) {
+        Objects.requireNonNull(value, "value");
+        return find(value) >= 0;
+    }
+
+    /**
+     * Returns the number of elements in this collection.
+     *
+     * @return the number of elements in this collection
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this collection contains no elements.
+     *
+     * @return {@code true} if this collection contains no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all of the elements from this collection.
+     * The collection will be empty after this method returns.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(heap, 0, size, null);
+        Arrays.fill(keys, null);
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns an iterator over the elements in this queue. The iterator
+     * does not return the elements in any particular order.
+     *
+     * @return an iterator over the elements in this queue
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int index) {
+        return (E) heap[index];
+    }
+
+    private static int hash(Object value) {
+        int h = value.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * @return the index slot of the element equal to the specified one,
+     * or {@code ~slot} of the free slot where it would be inserted
+     */
+    private int find(Object value) {
+        int mask = keys.length - 1;
+        int slot = hash(value) & mask;
+        for (Object key; (key = keys[slot]) != null; slot = (slot + 1) & mask) {
+            if (key.equals(value)) {
+                return slot;
+            }
+        }
+        return ~slot;
+    }
+
+    /**
+     * @return the index slot of the element equal to the specified one
+     * @throws java.util.NoSuchElementException if there is no such element
+     */
+    private int existingSlot(E value) {
+        Objects.requireNonNull(value, "value");
+        int slot = find(value);
+        if (slot < 0) {
+            throw new NoSuchElementException("Not in the queue: " + value);
+        }
+        return slot;
+    }
+
+    private void allocate(int capacity) {
+        heap = new Object[capacity];
+        slotOf = new int[capacity];
+        keys = new Object[capacity << 1];
+        positions = new int[capacity << 1];
+    }
+
+    private void grow() {
+        if (heap.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Queue too big");
+        }
+        Object[] elements = heap;
+        allocate(heap.length << 1);
+        for (int i = 0; i < size; i++) {
+            int slot = ~find(elements[i]);
+            keys[slot] = elements[i];
+            place(i, elements[i], slot);
+        }
+    }
+
+    private void place(int index, Object value, int slot) {
+        heap[index] = value;
+        slotOf[index] = slot;
+        positions[slot] = index;
+    }
+
+    /**
+     * Places the value at the index and lifts it up until its parent is not greater.
+     *
+     * @return the index the value ended up at
+     */
+    private int siftUp(int index, E value, int slot) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            E parentValue = elementAt(parent);
+            if (comparator.compare(value, parentValue) >= 0) {
+                break;
+            }
+            place(index, parentValue, slotOf[parent]);
+            index = parent;
+        }
+        place(index, value, slot);
+        return index;
+    }
+
+    /**
+     * Places the value at the index and pushes it down until no child is less.
+     */
+    private void siftDown(int index, E value, int slot) {
+        int half = size >>> 1;
+        while (index < half) {
+            int child = (index << 1) + 1;
+            E childValue = elementAt(child);
+            int right = child + 1;
+            if (right < size && comparator.compare(elementAt(right), childValue) < 0) {
+                child = right;
+                childValue = elementAt(right);
+            }
+            if (comparator.compare(value, childValue) <= 0) {
+                break;
+            }
+            place(index, childValue, slotOf[child]);
+            index = child;
+        }
+        place(index, value, slot);
+    }
+
+    /**
+     * Empties the index slot and shifts back the following entries of its probe run,
+     * so lookups never need tombstones.
+     */
+    private void deleteSlot(int hole) {
+        int mask = keys.length - 1;
+        keys[hole] = null;
+        for (int slot = (hole + 1) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            int home = hash(keys[slot]) & mask;
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                keys[hole] = keys[slot];
+                positions[hole] = positions[slot];
+                slotOf[positions[hole]] = hole;
+                keys[slot] = null;
+                hole = slot;
+            }
+        }
+    }
+
+    /**
+     * Removes the element at the index by moving the last element into its place.
+     *
+     * @return the moved last element if it was lifted above the index (so an iterator would skip it),
+     * {@code null} otherwise
+     */
+    private E removeAt(int index) {
+        modCount++;
+        deleteSlot(slotOf[index]);
+        int last = --size;
+        E moved = elementAt(last);
+        int movedSlot = slotOf[last];
+        heap[last] = null;
+        if (last == index) {
+            return null;
+        }
+        siftDown(index, moved, movedSlot);
+        if (heap[index] == moved && siftUp(index, moved, movedSlot) != index) {
+            return moved;
+        }
+        return null;
+    }
+
+    private class Itr implements Iterator<E> {
+
+        private int cursor;
+        private int lastReturned = -1;
+        private E lastReturnedMoved;
+        /**
+         * Elements lifted from the unvisited part in front of the cursor by {@link Iterator#remove()}.
+         */
+        private ArrayDequeSimple<E> forgetMeNot;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size || (forgetMeNot != null && !forgetMeNot.isEmpty());
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (cursor < size) {
+                lastReturned = cursor;
+                lastReturnedMoved = null;
+                return elementAt(cursor++);
+            }
+            if (forgetMeNot != null && !forgetMeNot.isEmpty()) {
+                lastReturned = -1;
+                lastReturnedMoved = forgetMeNot.removeFirst();
+                return lastReturnedMoved;
+            }
+            throw new NoSuchElementException();
+        }
+
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (lastReturned >= 0) {
+                E moved = removeAt(lastReturned);
+                cursor = lastReturned;
+                lastReturned = -1;
+                if (moved != null) {
+                    if (forgetMeNot == null) {
+                        forgetMeNot = new ArrayDequeSimple<>();
+                    }
+                    forgetMeNot.addLast(moved);
+                }
+            } else if (lastReturnedMoved != null) {
+                IndexedPriorityQueue.this.remove(lastReturnedMoved);
+                lastReturnedMoved = null;
+            } else {
+                throw new IllegalStateException();
+            }
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
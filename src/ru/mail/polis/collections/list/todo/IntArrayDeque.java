@@ -0,0 +1,259 @@
+package ru.mail.polis.collections.list.todo;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Resizable cyclic array deque of primitive {@code int} values.
+ * Follows the {@link ru.mail.polis.collections.list.IDeque} contract, but never boxes the values.
+ * - no capacity restrictions
+ * - grow as necessary to support
+ */
+public class IntArrayDeque {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Capacity is always a power of two, so an index wraps with {@code & (elements.length - 1)}.
+     */
+    private int[] elements;
+    private int head;
+    private int size;
+    private int modCount;
+
+    public IntArrayDeque() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty deque with room for at least {@code initialCapacity} values.
+     *
+     * @param initialCapacity the lower bound on the initial capacity
+     * @throws IllegalArgumentException if the specified capacity is negative
+     */
+    public IntArrayDeque(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity < 0: " + initialCapacity);
+        }
+        elements = new int[capacityFor(initialCapacity)];
+    }
+
+    /**
+     * Inserts the specified value at the front of this deque.
+     *
+     * @param value the value to add
+     */
+    public void addFirst(int value) {
+        growIfFull();
+        head = (head - 1) & (elements.length - 1);
+        elements[head] = value;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Inserts the specified value at the tail of this deque.
+     *
+     * @param value the value to add
+     */
+    public void addLast(int value) {
+        growIfFull();
+        elements[(head + size) & (elements.length - 1)] = value;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Retrieves and removes the first value of this deque.
+     *
+     * @return the head of this deque
+     * @throws NoSuchElementException if this deque is empty
+     */
+    public int removeFirst() {
+        int value = getFirst();
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        modCount++;
+        return value;
+    }
+
+    /**
+     * Retrieves and removes the last value of this deque.
+     *
+     * @return the tail of this deque
+     * @throws NoSuchElementException if this deque is empty
+     */
+    public int removeLast() {
+        int value = getLast();
+        size--;
+        modCount++;
+        return value;
+    }
+
+    /**
+     * Retrieves, but does not remove, the first value of this deque.
+     *
+     * @return the head of this deque
+     * @throws NoSuchElementException if this deque is empty
+     */
+    public int getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elements[head];
+    }
+
+    /**
+     * Retrieves, but does not remove, the last value of this deque.
+     *
+     * @return the tail of this deque
+     * @throws NoSuchElementException if this deque is empty
+     */
+    public int getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elements[(head + size - 1) & (elements.length - 1)];
+    }
+
+    /**
+     * Returns {@code true} if this deque contains the specified value.
+     *
+     * @param value value whose presence in this deque is to be tested
+     * @return {@code true} if this deque contains the specified value
+     */
+    public boolean contains(int value) {
+        int mask = elements.length - 1;
+        for (int i = 0; i < size; i++) {
+            if (elements[(head + i) & mask] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of values in this deque.
+     *
+     * @return the number of values in this deque
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this deque contains no values.
+     *
+     * @return {@code true} if this deque contains no values
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all of the values from this deque.
+     * The deque will be empty after this method returns.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns an iterator over the values in this deque in proper sequence.
+     * The values will be returned in order from first (head) to last (tail).
+     *
+     * @return an iterator over the values in this deque in proper sequence
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new Itr();
+    }
+
+    private void growIfFull() {
+        if (size < elements.length) {
+            return;
+        }
+        if (elements.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Deque too big");
+        }
+        int[] grown = new int[elements.length << 1];
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, grown, 0, firstPart);
+        System.arraycopy(elements, 0, grown, firstPart, size - firstPart);
+        elements = grown;
+        head = 0;
+    }
+
+    /**
+     * Removes the value at the specified offset from the head,
+     * shifting whichever side of the ring is shorter.
+     */
+    private void delete(int index) {
+        int mask = elements.length - 1;
+        if (index < size - index - 1) {
+            for (int i = index; i > 0; i--) {
+                elements[(head + i) & mask] = elements[(head + i - 1) & mask];
+            }
+            head = (head + 1) & mask;
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                elements[(head + i) & mask] = elements[(head + i + 1) & mask];
+            }
+        }
+        size--;
+        modCount++;
+    }
+
+    private static int capacityFor(int required) {
+        if (required <= 1) {
+            return 1;
+        }
+        if (required > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity too big: " + required);
+        }
+        return Integer.highestOneBit(required - 1) << 1;
+    }
+
+    private class Itr implements PrimitiveIterator.OfInt {
+
+        private int cursor;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public int nextInt() {
+            checkForComodification();
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = cursor;
+            return elements[(head + cursor++) & (elements.length - 1)];
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            delete(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
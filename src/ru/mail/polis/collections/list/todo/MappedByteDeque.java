@@ -0,0 +1,564 @@
+package ru.mail.polis.collections.list.todo;
+
+import ru.mail.polis.collections.list.IDeque;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * Durable implementation of the {@link IDeque} interface for byte records, kept in a memory-mapped file.
+ * - the file is a header page followed by a cyclic data region
+ * - every record is framed as {@code [int length][bytes][int length]}, so it can be walked from both ends
+ * - head and tail are logical byte positions stored in the header, reopening the file is O(1)
+ * - when the data region is full it is doubled, the live records are rolled over to the new half of the file
+ * <p>
+ * The header holds two slots of {@code [sequence][capacity][head][tail][size][checksum]}.
+ * Every update fills the slot not in use with the next sequence number and writes its checksum last,
+ * reopening takes the valid slot with the greater sequence number, so a torn header write falls back
+ * to the previous state instead of mixing fields of two states.
+ * Record bytes are always written before the header that publishes them; under {@link ForcePolicy#ALWAYS}
+ * they are also forced before it, because forcing the whole mapping at once does not order its pages.
+ * When the file contents reach the disk is decided by the {@link ForcePolicy}.
+ * Not thread-safe.
+ */
+public class MappedByteDeque implements IDeque<byte[]>, Closeable {
+
+    /**
+     * When the mapped pages are forced to the storage device.
+     */
+    public enum ForcePolicy {
+        /**
+         * After every modification: the new record bytes are forced first, then the header slot publishing them,
+         * so a completed operation survives a crash of the machine and a crash during one never exposes
+         * a header without its records.
+         */
+        ALWAYS,
+        /**
+         * Only on {@link #force()} and {@link #close()}: a crash of the process loses nothing,
+         * a crash of the machine may lose the operations since the last force.
+         */
+        ON_CLOSE,
+        /**
+         * Only on {@link #force()}, otherwise the operating system writes the pages back when it sees fit.
+         */
+        NEVER
+    }
+
+    private static final int MAGIC = 0x4d424451;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 4096;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int SLOT_OFFSET = 64;
+    private static final int SLOT_SIZE = 64;
+    private static final int SEQUENCE_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int HEAD_OFFSET = 16;
+    private static final int TAIL_OFFSET = 24;
+    private static final int SIZE_OFFSET = 32;
+    private static final int CHECKSUM_OFFSET = 36;
+    private static final int FRAME_SIZE = 2 * Integer.BYTES;
+    private static final int MIN_CAPACITY = 64;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - HEADER_SIZE;
+
+    private final FileChannel channel;
+    private final ForcePolicy forcePolicy;
+    private MappedByteBuffer buffer;
+    private long capacity;
+    /**
+     * Logical byte position of the first record, may be negative after {@link #addFirst(byte[])}.
+     */
+    private long head;
+    /**
+     * Logical byte position after the last record; {@code tail - head} bytes are in use.
+     */
+    private long tail;
+    private int size;
+    /**
+     * Sequence number of the header slot holding the current state, the slot is {@code sequence % 2}.
+     */
+    private long sequence;
+    private int modCount;
+    private boolean closed;
+
+    /**
+     * Opens the deque stored in the file, or creates an empty one if the file is absent or empty.
+     *
+     * @param file            the file to keep the deque in
+     * @param initialCapacity the size of the data region in bytes for a new file, ignored when reopening
+     * @param forcePolicy     when modifications are forced to the storage device
+     * @throws IOException              if the file cannot be opened or mapped, or is not a deque file
+     * @throws IllegalArgumentException if {@code initialCapacity} is less than 64
+     *                                  or greater than {@code Integer.MAX_VALUE - 4096}
+     * @throws NullPointerException     if the file or the policy is null
+     */
+    public MappedByteDeque(Path file, int initialCapacity, ForcePolicy forcePolicy) throws IOException {
+        Objects.requireNonNull(file, "file");
+        this.forcePolicy = Objects.requireNonNull(forcePolicy, "forcePolicy");
+        if (initialCapacity < MIN_CAPACITY || initialCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("initialCapacity: " + initialCapacity);
+        }
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                capacity = initialCapacity;
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + capacity);
+                buffer.putInt(MAGIC_OFFSET, MAGIC);
+                buffer.putInt(VERSION_OFFSET, VERSION);
+                writeHeader();
+                buffer.force();
+            } else {
+                open();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void open() throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            throw new IOException("Not a deque file: too short");
+        }
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+        if (header.getInt(MAGIC_OFFSET) != MAGIC || header.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IOException("Not a deque file: bad magic or version");
+        }
+        int slot = -1;
+        for (int i = 0; i < 2; i++) {
+            if (isValidSlot(header, SLOT_OFFSET + i * SLOT_SIZE)
+                    && (slot < 0 || header.getLong(SLOT_OFFSET + i * SLOT_SIZE + SEQUENCE_OFFSET)
+                    > header.getLong(slot + SEQUENCE_OFFSET))) {
+                slot = SLOT_OFFSET + i * SLOT_SIZE;
+            }
+        }
+        if (slot < 0) {
+            throw new IOException("Corrupted deque header");
+        }
+        sequence = header.getLong(slot + SEQUENCE_OFFSET);
+        capacity = header.getLong(slot + CAPACITY_OFFSET);
+        head = header.getLong(slot + HEAD_OFFSET);
+        tail = header.getLong(slot + TAIL_OFFSET);
+        size = header.getInt(slot + SIZE_OFFSET);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + capacity);
+    }
+
+    private boolean isValidSlot(ByteBuffer header, int slot) throws IOException {
+        long capacity = header.getLong(slot + CAPACITY_OFFSET);
+        long used = header.getLong(slot + TAIL_OFFSET) - header.getLong(slot + HEAD_OFFSET);
+        int size = header.getInt(slot + SIZE_OFFSET);
+        return header.getInt(slot + CHECKSUM_OFFSET) == checksum(header, slot)
+                && header.getLong(slot + SEQUENCE_OFFSET) >= 0
+                && capacity >= MIN_CAPACITY && capacity <= MAX_CAPACITY && used >= 0 && used <= capacity
+                && size >= 0 && (long) size * FRAME_SIZE <= used
+                && channel.size() >= HEADER_SIZE + capacity;
+    }
+
+    private static int checksum(ByteBuffer header, int slot) {
+        CRC32 crc = new CRC32();
+        crc.update(header.slice(slot, CHECKSUM_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Inserts the specified record at the front of this deque.
+     *
+     * @param value the record to add
+     * @throws NullPointerException  if the specified record is null
+     * @throws IllegalStateException if the record does not fit even into the largest possible file
+     */
+    @Override
+    public void addFirst(byte[] value) {
+        Objects.requireNonNull(value, "value");
+        ensureOpen();
+        ensureFree((long) value.length + FRAME_SIZE);
+        long start = head - value.length - FRAME_SIZE;
+        writeRecord(start, value);
+        head = start;
+        size++;
+        modCount++;
+        commit(start, value.length + FRAME_SIZE);
+    }
+
+    /**
+     * Inserts the specified record at the tail of this queue
+     *
+     * @param value the record to add
+     * @throws NullPointerException  if the specified record is null
+     * @throws IllegalStateException if the record does not fit even into the largest possible file
+     */
+    @Override
+    public void addLast(byte[] value) {
+        Objects.requireNonNull(value, "value");
+        ensureOpen();
+        ensureFree((long) value.length + FRAME_SIZE);
+        long start = tail;
+        writeRecord(start, value);
+        tail += value.length + FRAME_SIZE;
+        size++;
+        modCount++;
+        commit(start, value.length + FRAME_SIZE);
+    }
+
+    /**
+     * Retrieves and removes the first record of this queue.
+     *
+     * @return a copy of the head of this queue
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public byte[] removeFirst() {
+        byte[] value = getFirst();
+        head += value.length + FRAME_SIZE;
+        removed();
+        return value;
+    }
+
+    /**
+     * Retrieves, but does not remove, the first record of this queue.
+     *
+     * @return a copy of the head of this queue
+     * @throws java.util.NoSuchElementException if this queue is empty
+     */
+    @Override
+    public byte[] getFirst() {
+        ensureOpen();
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return readRecord(head);
+    }
+
+    /**
+     * Retrieves and removes the last record of this deque.
+     *
+     * @return a copy of the tail of this deque
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public byte[] removeLast() {
+        byte[] value = getLast();
+        tail -= value.length + FRAME_SIZE;
+        removed();
+        return value;
+    }
+
+    /**
+     * Retrieves, but does not remove, the last record of this deque.
+     *
+     * @return a copy of the tail of this deque
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public byte[] getLast() {
+        ensureOpen();
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int length = readInt(tail - Integer.BYTES);
+        return readRecord(tail - length - FRAME_SIZE);
+    }
+
+    /**
+     * Returns {@code true} if this collection contains the specified record.
+     * aka collection contains record el such that {@code Arrays.equals(el, value) == true}
+     *
+     * @param value record whose presence in this collection is to be tested
+     * @return {@code true} if this collection contains the specified record
+     * @throws NullPointerException if the specified record is null
+     */
+    @Override
+    public boolean contains(byte[] value) {
+        Objects.requireNonNull(value, "value");
+        for (byte[] record : this) {
+            if (Arrays.equals(value, record)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of records in this collection.
+     *
+     * @return the number of records in this collection
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this collection contains no records.
+     *
+     * @return {@code true} if this collection contains no records
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all of the records from this collection.
+     * The collection will be empty after this method returns.
+     * The file keeps its size.
+     */
+    @Override
+    public void clear() {
+        ensureOpen();
+        head = 0;
+        tail = 0;
+        size = 0;
+        modCount++;
+        commit();
+    }
+
+    /**
+     * Returns an iterator over copies of the records in this collection in proper sequence.
+     * The records will be returned in order from first (head) to last (tail).
+     * The iterator does not support removal.
+     *
+     * @return an iterator over the records in this collection in proper sequence
+     */
+    @Override
+    public Iterator<byte[]> iterator() {
+        ensureOpen();
+        return new Iterator<byte[]>() {
+
+            private long cursor = head;
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return cursor != tail;
+            }
+
+            @Override
+            public byte[] next() {
+                if (expectedModCount != modCount || closed) {
+                    throw new ConcurrentModificationException();
+                }
+                if (cursor == tail) {
+                    throw new NoSuchElementException();
+                }
+                byte[] record = readRecord(cursor);
+                cursor += record.length + FRAME_SIZE;
+                return record;
+            }
+        };
+    }
+
+    /**
+     * Returns the size of the data region in bytes, records take their length plus 8 bytes of framing.
+     *
+     * @return the size of the data region
+     */
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * Forces all modifications to the storage device, regardless of the {@link ForcePolicy}.
+     */
+    public void force() {
+        ensureOpen();
+        buffer.force();
+    }
+
+    /**
+     * Forces the modifications unless the policy is {@link ForcePolicy#NEVER} and closes the file.
+     * Any further operation except {@link #size()} and {@link #isEmpty()} throws {@link IllegalStateException}.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        if (forcePolicy != ForcePolicy.NEVER) {
+            buffer.force();
+        }
+        closed = true;
+        buffer = null;
+        channel.close();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Deque is closed");
+        }
+    }
+
+    private void removed() {
+        size--;
+        if (size == 0) {
+            head = 0;
+            tail = 0;
+        }
+        modCount++;
+        commit();
+    }
+
+    /**
+     * Publishes the new head, tail and size in the header, the records they cover are already written.
+     */
+    private void commit() {
+        commit(0, 0);
+    }
+
+    /**
+     * Publishes the new state after the record bytes at {@code [position, position + length)} were written.
+     * Under {@link ForcePolicy#ALWAYS} those bytes reach the device before the header does.
+     */
+    private void commit(long position, int length) {
+        boolean always = forcePolicy == ForcePolicy.ALWAYS;
+        if (always && length > 0) {
+            int offset = offset(position);
+            int first = (int) Math.min(length, HEADER_SIZE + capacity - offset);
+            forceRange(offset, first);
+            if (first < length) {
+                forceRange(HEADER_SIZE, length - first);
+            }
+        }
+        writeHeader();
+        if (always) {
+            forceRange(0, HEADER_SIZE);
+        }
+    }
+
+    /**
+     * Forces {@code length} bytes of the mapping starting at the offset from the beginning of the file.
+     * Overridable so that tests can check the order of the forces.
+     *
+     * @param offset the offset from the beginning of the file
+     * @param length the number of bytes
+     */
+    protected void forceRange(int offset, int length) {
+        buffer.force(offset, length);
+    }
+
+    /**
+     * Writes the state to the slot not holding the current one, the checksum is the last store.
+     */
+    private void writeHeader() {
+        sequence++;
+        int slot = SLOT_OFFSET + (int) (sequence % 2) * SLOT_SIZE;
+        buffer.putLong(slot + SEQUENCE_OFFSET, sequence);
+        buffer.putLong(slot + CAPACITY_OFFSET, capacity);
+        buffer.putLong(slot + HEAD_OFFSET, head);
+        buffer.putLong(slot + TAIL_OFFSET, tail);
+        buffer.putInt(slot + SIZE_OFFSET, size);
+        buffer.putInt(slot + CHECKSUM_OFFSET, checksum(buffer, slot));
+    }
+
+    /**
+     * Doubles the data region until {@code required} more bytes fit.
+     * The live bytes are copied within the mapping to the new upper half of the file, forced,
+     * and only then published by the header slot switch, so a crash in the middle leaves the old layout intact.
+     */
+    private void ensureFree(long required) {
+        long used = tail - head;
+        if (used + required <= capacity) {
+            return;
+        }
+        long newCapacity = capacity;
+        while (newCapacity < used + required || newCapacity < capacity + used) {
+            newCapacity <<= 1;
+        }
+        if (newCapacity > MAX_CAPACITY) {
+            if (used + required > MAX_CAPACITY || capacity + used > MAX_CAPACITY) {
+                throw new IllegalStateException("Deque too big");
+            }
+            newCapacity = MAX_CAPACITY;
+        }
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + newCapacity);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot grow the deque file", e);
+        }
+        int from = offset(head);
+        int to = HEADER_SIZE + (int) capacity;
+        int first = (int) Math.min(used, HEADER_SIZE + capacity - from);
+        ByteBuffer source = buffer.duplicate();
+        buffer.put(to, source, from, first);
+        buffer.put(to + first, source, HEADER_SIZE, (int) used - first);
+        long oldCapacity = capacity;
+        capacity = newCapacity;
+        head = oldCapacity;
+        tail = oldCapacity + used;
+        buffer.force();
+        commit();
+    }
+
+    private int offset(long position) {
+        return HEADER_SIZE + (int) Math.floorMod(position, capacity);
+    }
+
+    private void writeRecord(long position, byte[] value) {
+        writeInt(position, value.length);
+        writeBytes(position + Integer.BYTES, value, 0, value.length);
+        writeInt(position + Integer.BYTES + value.length, value.length);
+    }
+
+    private byte[] readRecord(long position) {
+        byte[] value = new byte[readInt(position)];
+        readBytes(position + Integer.BYTES, value, 0, value.length);
+        return value;
+    }
+
+    /**
+     * Writes the big-endian int, byte by byte only when it wraps around the end of the ring.
+     */
+    private void writeInt(long position, int value) {
+        int offset = offset(position);
+        if (offset + Integer.BYTES <= HEADER_SIZE + capacity) {
+            buffer.putInt(offset, value);
+            return;
+        }
+        for (int i = 0; i < Integer.BYTES; i++) {
+            buffer.put(offset(position + i), (byte) (value >>> (Integer.SIZE - Byte.SIZE * (i + 1))));
+        }
+    }
+
+    private int readInt(long position) {
+        int offset = offset(position);
+        if (offset + Integer.BYTES <= HEADER_SIZE + capacity) {
+            return buffer.getInt(offset);
+        }
+        int value = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            value = value << Byte.SIZE | (buffer.get(offset(position + i)) & 0xff);
+        }
+        return value;
+    }
+
+    /**
+     * Copies the bytes into the ring, in at most two pieces when the range wraps around.
+     */
+    private void writeBytes(long position, byte[] src, int from, int length) {
+        int offset = offset(position);
+        int first = (int) Math.min(length, HEADER_SIZE + capacity - offset);
+        buffer.put(offset, src, from, first);
+        buffer.put(HEADER_SIZE, src, from + first, length - first);
+    }
+
+    private void readBytes(long position, byte[] dst, int from, int length) {
+        int offset = offset(position);
+        int first = (int) Math.min(length, HEADER_SIZE + capacity - offset);
+        buffer.get(offset, dst, from, first);
+        buffer.get(HEADER_SIZE, dst, from + first, length - first);
+    }
+}
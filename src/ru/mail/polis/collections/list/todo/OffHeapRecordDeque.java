@@ -0,0 +1,426 @@
+package ru.mail.polis.collections.list.todo;
+
+import ru.mail.polis.collections.list.IDeque;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Off-heap implementation of the {@link IDeque} interface for fixed-size records.
+ * - records are encoded by a {@link RecordCodec} into a cyclic direct {@link ByteBuffer}
+ * - the garbage collector sees one buffer, not an object per element
+ * - {@link #viewFirst(RecordView)}, {@link #viewLast(RecordView)} and {@link #viewAt(int, RecordView)}
+ * point a reusable flyweight at a record without decoding it, {@link #dropFirst()} and {@link #dropLast()}
+ * remove a record without decoding it; none of them allocate
+ * - capacity (in records) is a power of two, the buffer is doubled when full
+ * <p>
+ * The buffer uses the native byte order.
+ *
+ * @param <E> the type of elements held in this deque
+ */
+public class OffHeapRecordDeque<E> implements IDeque<E> {
+
+    /**
+     * Encodes and decodes the elements of a deque into records of a fixed size.
+     *
+     * @param <E> the type of elements
+     */
+    public interface RecordCodec<E> {
+
+        /**
+         * @return the size of every record in bytes, at least 1
+         */
+        int recordSize();
+
+        /**
+         * Writes the element into {@code recordSize()} bytes of the buffer starting at the offset.
+         *
+         * @param value  the element to encode, never null
+         * @param buffer the buffer to write into with absolute puts
+         * @param offset the index of the first byte of the record
+         */
+        void encode(E value, ByteBuffer buffer, int offset);
+
+        /**
+         * Reads an element from {@code recordSize()} bytes of the buffer starting at the offset.
+         *
+         * @param buffer the buffer to read from with absolute gets
+         * @param offset the index of the first byte of the record
+         * @return the decoded element, not null
+         */
+        E decode(ByteBuffer buffer, int offset);
+    }
+
+    /**
+     * Flyweight accessor over one record: reads fields straight from the buffer with absolute gets.
+     * A view is valid until the deque is next modified.
+     */
+    public interface RecordView {
+
+        /**
+         * Points this view at the record.
+         *
+         * @param buffer the buffer holding the record
+         * @param offset the index of the first byte of the record
+         */
+        void wrap(ByteBuffer buffer, int offset);
+    }
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final RecordCodec<E> codec;
+    private final int recordSize;
+    private final int maxCapacity;
+    private ByteBuffer buffer;
+    /**
+     * Capacity in records, a power of two.
+     */
+    private int capacity;
+    private int head;
+    private int size;
+    private int modCount;
+
+    public OffHeapRecordDeque(RecordCodec<E> codec) {
+        this(codec, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty deque with room for at least {@code initialCapacity} records.
+     *
+     * @param codec           the codec of the records
+     * @param initialCapacity the lower bound on the initial capacity in records
+     * @throws NullPointerException     if the codec is null
+     * @throws IllegalArgumentException if the record size is not positive,
+     *                                  or the capacity is not positive or does not fit into a direct buffer
+     */
+    public OffHeapRecordDeque(RecordCodec<E> codec, int initialCapacity) {
+        this.codec = Objects.requireNonNull(codec, "codec");
+        this.recordSize = codec.recordSize();
+        if (recordSize < 1) {
+            throw new IllegalArgumentException("recordSize < 1: " + recordSize);
+        }
+        this.maxCapacity = Integer.highestOneBit(Integer.MAX_VALUE / recordSize);
+        if (initialCapacity < 1 || initialCapacity > maxCapacity) {
+            throw new IllegalArgumentException("initialCapacity: " + initialCapacity);
+        }
+        this.capacity = initialCapacity == 1 ? 1 : Integer.highestOneBit(initialCapacity - 1) << 1;
+        this.buffer = allocate(capacity);
+    }
+
+    /**
+     * Inserts the specified element at the front of this deque.
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public void addFirst(E value) {
+        Objects.requireNonNull(value, "value");
+        ensureFree();
+        head = (head - 1) & (capacity - 1);
+        codec.encode(value, buffer, head * recordSize);
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Retrieves and removes the first element of this queue.
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public E removeFirst() {
+        E value = getFirst();
+        dropFirst();
+        return value;
+    }
+
+    /**
+     * Retrieves, but does not remove, the first element of this queue.
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this queue is empty
+     */
+    @Override
+    public E getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return codec.decode(buffer, offsetOf(0));
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public void addLast(E value) {
+        Objects.requireNonNull(value, "value");
+        ensureFree();
+        codec.encode(value, buffer, offsetOf(size));
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Retrieves and removes the last element of this deque.
+     *
+     * @return the tail of this deque
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public E removeLast() {
+        E value = getLast();
+        dropLast();
+        return value;
+    }
+
+    /**
+     * Retrieves, but does not remove, the last element of this deque.
+     *
+     * @return the tail of this deque
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public E getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return codec.decode(buffer, offsetOf(size - 1));
+    }
+
+    /**
+     * Points the view at the first record, without decoding it.
+     *
+     * @param view the flyweight to reuse
+     * @param <V>  the type of the view
+     * @return the same view
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    public <V extends RecordView> V viewFirst(V view) {
+        return viewAt(0, view);
+    }
+
+    /**
+     * Points the view at the last record, without decoding it.
+     *
+     * @param view the flyweight to reuse
+     * @param <V>  the type of the view
+     * @return the same view
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    public <V extends RecordView> V viewLast(V view) {
+        return viewAt(size - 1, view);
+    }
+
+    /**
+     * Points the view at the record with the given offset from the head, without decoding it.
+     *
+     * @param index the offset from the head
+     * @param view  the flyweight to reuse
+     * @param <V>   the type of the view
+     * @return the same view
+     * @throws java.util.NoSuchElementException if there is no record with this index
+     */
+    public <V extends RecordView> V viewAt(int index, V view) {
+        if (index < 0 || index >= size) {
+            throw new NoSuchElementException();
+        }
+        view.wrap(buffer, offsetOf(index));
+        return view;
+    }
+
+    /**
+     * Removes the first record without decoding it.
+     *
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    public void dropFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        head = (head + 1) & (capacity - 1);
+        size--;
+        modCount++;
+    }
+
+    /**
+     * Removes the last record without decoding it.
+     *
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    public void dropLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        size--;
+        modCount++;
+    }
+
+    /**
+     * Returns {@code true} if this collection contains the specified element.
+     * aka collection contains element el such that {@code Objects.equals(el, value) == true}
+     *
+     * @param value element whose presence in this collection is to be tested
+     * @return {@code true} if this collection contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public boolean contains(E value) {
+        Objects.requireNonNull(value, "value");
+        for (int i = 0; i < size; i++) {
+            if (value.equals(codec.decode(buffer, offsetOf(i)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of elements in this collection.
+     *
+     * @return the number of elements in this collection
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this collection contains no elements.
+     *
+     * @return {@code true} if this collection contains no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all of the elements from this collection.
+     * The collection will be empty after this method returns.
+     * The buffer is kept, record bytes are not erased.
+     */
+    @Override
+    public void clear() {
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns an iterator over the elements in this collection in proper sequence.
+     * The elements will be returned in order from first (head) to last (tail).
+     *
+     * @return an iterator over the elements in this collection in proper sequence
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * Returns the number of records the buffer holds without growing.
+     *
+     * @return the capacity in records
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    private int offsetOf(int index) {
+        return ((head + index) & (capacity - 1)) * recordSize;
+    }
+
+    private ByteBuffer allocate(int records) {
+        return ByteBuffer.allocateDirect(records * recordSize).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Doubles the buffer if it is full, copying the records in at most two bulk puts.
+     */
+    private void ensureFree() {
+        if (size < capacity) {
+            return;
+        }
+        if (capacity == maxCapacity) {
+            throw new IllegalStateException("Deque too big");
+        }
+        ByteBuffer grown = allocate(capacity << 1);
+        int first = capacity - head;
+        grown.put(0, buffer, head * recordSize, first * recordSize);
+        grown.put(first * recordSize, buffer, 0, head * recordSize);
+        buffer = grown;
+        capacity <<= 1;
+        head = 0;
+    }
+
+    private void moveRecord(int fromIndex, int toIndex) {
+        buffer.put(offsetOf(toIndex), buffer, offsetOf(fromIndex), recordSize);
+    }
+
+    /**
+     * Removes the record at the specified offset from the head,
+     * shifting whichever side of the deque is shorter.
+     */
+    private void delete(int index) {
+        if (index < size - index - 1) {
+            for (int i = index; i > 0; i--) {
+                moveRecord(i - 1, i);
+            }
+            dropFirst();
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                moveRecord(i + 1, i);
+            }
+            dropLast();
+        }
+    }
+
+    private class Itr implements Iterator<E> {
+
+        private int cursor;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = cursor;
+            return codec.decode(buffer, offsetOf(cursor++));
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            delete(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
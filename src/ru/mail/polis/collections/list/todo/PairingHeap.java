@@ -0,0 +1,351 @@
+package ru.mail.polis.collections.list.todo;
+
+import ru.mail.polis.collections.list.IPriorityQueue;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Pairing heap implementation of the {@link IPriorityQueue} interface.
+ * - {@link #add(Comparable)} and {@link #meld(PairingHeap)} take O(1)
+ * - {@link #remove()} takes amortized O(log n), the children of the root are linked in two passes
+ * - {@link #decreaseKey(Handle, Comparable)} cuts the subtree of the node and links it to the root,
+ * amortized o(log n)
+ * <p>
+ * {@link #insert(Comparable)} returns a handle to the node of the element, it stays valid
+ * until the element is removed, also after the heap is melded into another one.
+ * The iterator does not return the elements in any particular order and does not support removal.
+ *
+ * @param <E> the type of elements maintained by this priority queue
+ */
+public class PairingHeap<E extends Comparable<E>> implements IPriorityQueue<E> {
+
+    private final Comparator<E> comparator;
+    private HeapOwner owner = new HeapOwner();
+    private Handle<E> root;
+    private int size;
+
+    public PairingHeap() {
+        this(Comparator.naturalOrder());
+    }
+
+    /**
+     * Creates a {@code IPriorityQueue} that orders its elements according to the specified comparator.
+     *
+     * @param comparator comparator the comparator that will be used to order this priority queue.
+     * @throws NullPointerException if the specified comparator is null
+     */
+    public PairingHeap(Comparator<E> comparator) {
+        this.comparator = Objects.requireNonNull(comparator, "comparator");
+    }
+
+    /**
+     * Inserts the specified element into this priority queue.
+     *
+     * Complexity = O(1)
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public void add(E value) {
+        insert(value);
+    }
+
+    /**
+     * Inserts the specified element into this priority queue.
+     *
+     * Complexity = O(1)
+     *
+     * @param value the element to add
+     * @return the handle of the element for {@link #decreaseKey(Handle, Comparable)}
+     * @throws NullPointerException if the specified element is null
+     */
+    public Handle<E> insert(E value) {
+        Objects.requireNonNull(value, "value");
+        Handle<E> node = new Handle<>(value, owner);
+        root = link(root, node);
+        size++;
+        return node;
+    }
+
+    /**
+     * Retrieves and removes the head of this queue.
+     *
+     * Complexity = amortized O(log(n))
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this queue is empty
+     */
+    @Override
+    public E remove() {
+        E result = element();
+        Handle<E> removed = root;
+        root = mergePairs(root.child);
+        if (root != null) {
+            root.prev = null;
+        }
+        removed.child = null;
+        removed.owner = null;
+        size--;
+        return result;
+    }
+
+    /**
+     * Retrieves, but does not remove, the head of this queue.
+     *
+     * Complexity = O(1)
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this queue is empty
+     */
+    @Override
+    public E element() {
+        if (root == null) {
+            throw new NoSuchElementException();
+        }
+        return root.value;
+    }
+
+    /**
+     * Replaces the element of the handle with the specified one, which must not be greater.
+     *
+     * Complexity = amortized o(log(n))
+     *
+     * @param handle the handle returned by {@link #insert(Comparable)}
+     * @param value  the new element
+     * @throws NullPointerException     if the specified handle or element is null
+     * @throws IllegalArgumentException if the handle does not refer to an element of this queue
+     *                                  or the new element is greater than the current one
+     */
+    public void decreaseKey(Handle<E> handle, E value) {
+        checkHandle(handle);
+        Objects.requireNonNull(value, "value");
+        if (comparator.compare(value, handle.value) > 0) {
+            throw new IllegalArgumentException("Key increased: " + value);
+        }
+        handle.value = value;
+        if (handle == root) {
+            return;
+        }
+        if (handle.prev.child == handle) {
+            handle.prev.child = handle.next;
+        } else {
+            handle.prev.next = handle.next;
+        }
+        if (handle.next != null) {
+            handle.next.prev = handle.prev;
+        }
+        handle.prev = null;
+        handle.next = null;
+        root = link(root, handle);
+    }
+
+    /**
+     * Moves all elements of the other heap into this heap in O(1).
+     * The other heap is empty after this method returns, the handles of its elements refer to this heap.
+     *
+     * @param other the heap whose elements are added
+     * @throws NullPointerException     if the other heap is null
+     * @throws IllegalArgumentException if the other heap is this heap or orders its elements differently
+     */
+    public void meld(PairingHeap<E> other) {
+        Objects.requireNonNull(other, "other");
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot meld a heap with itself");
+        }
+        if (!comparator.equals(other.comparator)) {
+            throw new IllegalArgumentException("Heaps have different comparators");
+        }
+        root = link(root, other.root);
+        size += other.size;
+        other.owner.mergeInto(owner);
+        other.owner = new HeapOwner();
+        other.root = null;
+        other.size = 0;
+    }
+
+    /**
+     * Returns {@code true} if this collection contains the specified element.
+     * aka collection contains element el such that {@code Objects.equals(el, value) == true}
+     *
+     * Complexity = O(n)
+     *
+     * @param value element whose presence in this collection is to be tested
+     * @return {@code true} if this collection contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public boolean contains(E value) {
+        Objects.requireNonNull(value, "value");
+        for (E element : this) {
+            if (value.equals(element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of elements in this collection.
+     *
+     * @return the number of elements in this collection
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this collection contains no elements.
+     *
+     * @return {@code true} if this collection contains no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all of the elements from this collection.
+     * The collection will be empty after this method returns, all handles become invalid.
+     */
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+        owner = new HeapOwner();
+    }
+
+    /**
+     * Returns an iterator over the elements in this queue. The iterator
+     * does not return the elements in any particular order.
+     *
+     * @return an iterator over the elements in this queue
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+
+            private final ArrayDequeSimple<Handle<E>> stack = new ArrayDequeSimple<>();
+
+            {
+                if (root != null) {
+                    stack.addFirst(root);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                if (stack.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Handle<E> node = stack.removeFirst();
+                if (node.next != null) {
+                    stack.addFirst(node.next);
+                }
+                if (node.child != null) {
+                    stack.addFirst(node.child);
+                }
+                return node.value;
+            }
+        };
+    }
+
+    private void checkHandle(Handle<E> handle) {
+        Objects.requireNonNull(handle, "handle");
+        if (handle.owner == null || handle.owner.resolve() != owner) {
+            throw new IllegalArgumentException("Handle does not refer to an element of this heap");
+        }
+    }
+
+    /**
+     * Links two trees, the root with the greater element becomes the leftmost child of the other one.
+     */
+    private Handle<E> link(Handle<E> first, Handle<E> second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (comparator.compare(second.value, first.value) < 0) {
+            Handle<E> swap = first;
+            first = second;
+            second = swap;
+        }
+        second.prev = first;
+        second.next = first.child;
+        if (first.child != null) {
+            first.child.prev = second;
+        }
+        first.child = second;
+        return first;
+    }
+
+    /**
+     * Links the siblings in pairs from left to right, then the pairs into one tree from right to left.
+     */
+    private Handle<E> mergePairs(Handle<E> first) {
+        Handle<E> pairs = null;
+        while (first != null) {
+            Handle<E> second = first.next;
+            Handle<E> rest = second == null ? null : second.next;
+            first.next = null;
+            first.prev = null;
+            if (second != null) {
+                second.next = null;
+                second.prev = null;
+            }
+            Handle<E> pair = link(first, second);
+            pair.prev = pairs;
+            pairs = pair;
+            first = rest;
+        }
+        Handle<E> result = null;
+        while (pairs != null) {
+            Handle<E> previous = pairs.prev;
+            pairs.prev = null;
+            result = link(pairs, result);
+            pairs = previous;
+        }
+        return result;
+    }
+
+    /**
+     * A node of the heap, the handle of its element.
+     */
+    public static final class Handle<E> {
+
+        private E value;
+        /**
+         * The owner of the heap, {@code null} once the element is removed.
+         */
+        private HeapOwner owner;
+        private Handle<E> child;
+        private Handle<E> next;
+        /**
+         * The previous sibling, or the parent for the leftmost child.
+         */
+        private Handle<E> prev;
+
+        private Handle(E value, HeapOwner owner) {
+            this.value = value;
+            this.owner = owner;
+        }
+
+        /**
+         * @return the current element of this handle
+         */
+        public E value() {
+            return value;
+        }
+    }
+}
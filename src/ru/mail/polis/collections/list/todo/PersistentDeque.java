@@ -0,0 +1,309 @@
+package ru.mail.polis.collections.list.todo;
+
+import ru.mail.polis.collections.list.IDeque;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Persistent (immutable) deque with structural sharing, exposing the read operations of {@link IDeque}.
+ * - every modification returns a new version, the old one stays valid and unchanged
+ * - a version is a radix tree of 32-slot arrays over a window [start, end) of unbounded positions,
+ * adding at either end only moves the window, the tree gets a new root level when the window leaves it
+ * and sheds root levels when the window fits into one child
+ * - a modification copies the path from the root to one leaf, O(log32 n) arrays of 32 slots,
+ * versions share all other arrays
+ * - iterators walk the leaves in place, reading a version never copies it
+ * <p>
+ * A version is safe to read from any number of threads without copying or locking.
+ * It is not a mutable collection, there is no {@code clear()}: use {@link #empty()}.
+ *
+ * @param <E> the type of elements held in this deque
+ */
+public final class PersistentDeque<E> implements Iterable<E> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final PersistentDeque<?> EMPTY = new PersistentDeque<>(new Object[WIDTH], 0, -WIDTH / 2, 0, 0);
+
+    /**
+     * Arrays of children above level 0, arrays of elements at level 0.
+     * A subtree without elements is {@code null}.
+     */
+    private final Object[] root;
+    /**
+     * {@code BITS} times the level of the root.
+     */
+    private final int shift;
+    /**
+     * The position of the first slot of the root.
+     */
+    private final long base;
+    private final long start;
+    private final long end;
+
+    private PersistentDeque(Object[] root, int shift, long base, long start, long end) {
+        this.root = root;
+        this.shift = shift;
+        this.base = base;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Returns the empty deque.
+     *
+     * @param <E> the type of elements
+     * @return the empty deque
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentDeque<E> empty() {
+        return (PersistentDeque<E>) EMPTY;
+    }
+
+    /**
+     * Returns a version with the specified element inserted at the front.
+     *
+     * @param value the element to add
+     * @return the new version
+     * @throws NullPointerException if the specified element is null
+     */
+    public PersistentDeque<E> withFirst(E value) {
+        Objects.requireNonNull(value, "value");
+        return with(start - 1, value, start - 1, end);
+    }
+
+    /**
+     * Returns a version with the specified element inserted at the tail.
+     *
+     * @param value the element to add
+     * @return the new version
+     * @throws NullPointerException if the specified element is null
+     */
+    public PersistentDeque<E> withLast(E value) {
+        Objects.requireNonNull(value, "value");
+        return with(end, value, start, end + 1);
+    }
+
+    /**
+     * Returns a version without the first element.
+     *
+     * @return the new version
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    public PersistentDeque<E> withoutFirst() {
+        return without(start, start + 1, end);
+    }
+
+    /**
+     * Returns a version without the last element.
+     *
+     * @return the new version
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    public PersistentDeque<E> withoutLast() {
+        return without(end - 1, start, end - 1);
+    }
+
+    /**
+     * Retrieves the first element of this deque.
+     *
+     * @return the head of this deque
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    public E getFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return get(start);
+    }
+
+    /**
+     * Retrieves the last element of this deque.
+     *
+     * @return the tail of this deque
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    public E getLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return get(end - 1);
+    }
+
+    /**
+     * Returns {@code true} if this collection contains the specified element.
+     * aka collection contains element el such that {@code Objects.equals(el, value) == true}
+     *
+     * @param value element whose presence in this collection is to be tested
+     * @return {@code true} if this collection contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean contains(E value) {
+        Objects.requireNonNull(value, "value");
+        for (E element : this) {
+            if (value.equals(element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of elements in this collection.
+     *
+     * @return the number of elements in this collection
+     */
+    public int size() {
+        return (int) (end - start);
+    }
+
+    /**
+     * Returns {@code true} if this collection contains no elements.
+     *
+     * @return {@code true} if this collection contains no elements
+     */
+    public boolean isEmpty() {
+        return start == end;
+    }
+
+    /**
+     * Returns an iterator over the elements in this collection in proper sequence.
+     * The elements will be returned in order from first (head) to last (tail).
+     * The iterator does not support removal.
+     *
+     * @return an iterator over the elements in this collection in proper sequence
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * Stores the element at the position, adding root levels until the root covers it.
+     */
+    private PersistentDeque<E> with(long position, E value, long newStart, long newEnd) {
+        if (newEnd - newStart > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Deque too big");
+        }
+        Object[] newRoot = root;
+        int newShift = shift;
+        long newBase = base;
+        while (position < newBase || position - newBase >= 1L << (newShift + BITS)) {
+            Object[] grown = new Object[WIDTH];
+            grown[WIDTH / 2] = newRoot;
+            newBase -= (long) (WIDTH / 2) << (newShift + BITS);
+            newShift += BITS;
+            newRoot = grown;
+        }
+        return new PersistentDeque<>(set(newRoot, newShift, position - newBase, value), newShift, newBase,
+                newStart, newEnd);
+    }
+
+    /**
+     * Clears the slot of the position, then sheds the root levels above the one child holding the window.
+     */
+    private PersistentDeque<E> without(long position, long newStart, long newEnd) {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        if (newStart == newEnd) {
+            return empty();
+        }
+        Object[] newRoot = clear(root, shift, position - base);
+        int newShift = shift;
+        long newBase = base;
+        while (newShift > 0) {
+            long slot = (newStart - newBase) >>> newShift;
+            if (slot != (newEnd - 1 - newBase) >>> newShift) {
+                break;
+            }
+            newRoot = (Object[]) newRoot[(int) slot];
+            newBase += slot << newShift;
+            newShift -= BITS;
+        }
+        return new PersistentDeque<>(newRoot, newShift, newBase, newStart, newEnd);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E get(long position) {
+        return (E) leaf(position)[slot(position - base, 0)];
+    }
+
+    private Object[] leaf(long position) {
+        long offset = position - base;
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[slot(offset, level)];
+        }
+        return node;
+    }
+
+    private static int slot(long offset, int shift) {
+        return (int) (offset >>> shift) & MASK;
+    }
+
+    /**
+     * Returns a copy of the node with the value stored at the offset, copying the path to it.
+     */
+    private static Object[] set(Object[] node, int shift, long offset, Object value) {
+        Object[] copy = node == null ? new Object[WIDTH] : node.clone();
+        int slot = slot(offset, shift);
+        copy[slot] = shift == 0 ? value : set((Object[]) copy[slot], shift - BITS, offset, value);
+        return copy;
+    }
+
+    /**
+     * Returns a copy of the node without the value at the offset, or {@code null} if nothing is left in it.
+     */
+    private static Object[] clear(Object[] node, int shift, long offset) {
+        int slot = slot(offset, shift);
+        Object child = shift == 0 ? null : clear((Object[]) node[slot], shift - BITS, offset);
+        if (child == null && onlySlot(node, slot)) {
+            return null;
+        }
+        Object[] copy = node.clone();
+        copy[slot] = child;
+        return copy;
+    }
+
+    private static boolean onlySlot(Object[] node, int slot) {
+        for (int i = 0; i < WIDTH; i++) {
+            if (i != slot && node[i] != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Walks the window position by position, descending from the root once per leaf.
+     */
+    private class Itr implements Iterator<E> {
+
+        private long position = start;
+        private Object[] leaf;
+
+        @Override
+        public boolean hasNext() {
+            return position < end;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int slot = slot(position - base, 0);
+            if (leaf == null || slot == 0) {
+                leaf = leaf(position);
+            }
+            position++;
+            return (E) leaf[slot];
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package ru.mail.polis.collections.list.todo;
+
+import ru.mail.polis.collections.list.IDeque;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Segmented array implementation of the {@link IDeque} interface, similar to C++ {@code std::deque}.
+ * - no capacity restrictions
+ * - elements live in fixed-size blocks, a map of blocks is a cyclic array of block references
+ * - growth allocates one block (or doubles the small map of references), elements are never copied
+ * - emptied blocks are recycled through a small pool
+ *
+ * @param <E> the type of elements held in this deque
+ */
+public class SegmentedArrayDeque<E> implements IDeque<E> {
+
+    private static final int BLOCK_SHIFT = 8;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+    private static final int DEFAULT_MAP_SIZE = 4;
+    private static final int MAX_MAP_SIZE = 1 << (30 - BLOCK_SHIFT);
+    private static final int POOL_SIZE = 2;
+
+    /**
+     * Map length is a power of two, so the slots of all blocks form a ring of {@code map.length * BLOCK_SIZE}.
+     * A block never holds both the head and the tail run: the blocks spanned by the elements
+     * never exceed {@code map.length}, the map is doubled before that could happen.
+     */
+    private Object[][] map = new Object[DEFAULT_MAP_SIZE][];
+    private final Object[][] pool = new Object[POOL_SIZE][];
+    private int pooled;
+    private int head;
+    private int size;
+    private int modCount;
+
+    /**
+     * Inserts the specified element at the front of this deque.
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public void addFirst(E value) {
+        Objects.requireNonNull(value, "value");
+        int newHead = (head - 1) & slotMask();
+        if (span(newHead, size + 1) > map.length) {
+            growMap();
+            newHead = (head - 1) & slotMask();
+        }
+        block(newHead)[newHead & BLOCK_MASK] = value;
+        head = newHead;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Retrieves and removes the first element of this queue.
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public E removeFirst() {
+        E value = getFirst();
+        int blockIndex = head >>> BLOCK_SHIFT;
+        map[blockIndex][head & BLOCK_MASK] = null;
+        head = (head + 1) & slotMask();
+        size--;
+        if (size == 0 || (head & BLOCK_MASK) == 0) {
+            release(blockIndex);
+        }
+        modCount++;
+        return value;
+    }
+
+    /**
+     * Retrieves, but does not remove, the first element of this queue.
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this queue is empty
+     */
+    @Override
+    public E getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return get(0);
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public void addLast(E value) {
+        Objects.requireNonNull(value, "value");
+        if (span(head, size + 1) > map.length) {
+            growMap();
+        }
+        int tail = (head + size) & slotMask();
+        block(tail)[tail & BLOCK_MASK] = value;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Retrieves and removes the last element of this deque.
+     *
+     * @return the tail of this deque
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public E removeLast() {
+        E value = getLast();
+        int last = (head + size - 1) & slotMask();
+        map[last >>> BLOCK_SHIFT][last & BLOCK_MASK] = null;
+        size--;
+        if (size == 0 || (last & BLOCK_MASK) == 0) {
+            release(last >>> BLOCK_SHIFT);
+        }
+        modCount++;
+        return value;
+    }
+
+    /**
+     * Retrieves, but does not remove, the last element of this deque.
+     *
+     * @return the tail of this deque
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public E getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return get(size - 1);
+    }
+
+    /**
+     * Returns {@code true} if this collection contains the specified element.
+     * aka collection contains element el such that {@code Objects.equals(el, value) == true}
+     *
+     * @param value element whose presence in this collection is to be tested
+     * @return {@code true} if this collection contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public boolean contains(E value) {
+        Objects.requireNonNull(value, "value");
+        for (int i = 0; i < size; i++) {
+            if (value.equals(get(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of elements in this collection.
+     *
+     * @return the number of elements in this collection
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this collection contains no elements.
+     *
+     * @return {@code true} if this collection contains no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all of the elements from this collection.
+     * The collection will be empty after this method returns.
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < map.length; i++) {
+            if (map[i] != null) {
+                Arrays.fill(map[i], null);
+                release(i);
+            }
+        }
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns an iterator over the elements in this collection in proper sequence.
+     * The elements will be returned in order from first (head) to last (tail).
+     *
+     * @return an iterator over the elements in this collection in proper sequence
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    private int slotMask() {
+        return (map.length << BLOCK_SHIFT) - 1;
+    }
+
+    /**
+     * Number of blocks touched by {@code count} elements starting at the slot {@code from}.
+     */
+    private static int span(int from, int count) {
+        return ((from & BLOCK_MASK) + count + BLOCK_MASK) >>> BLOCK_SHIFT;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E get(int index) {
+        int slot = (head + index) & slotMask();
+        return (E) map[slot >>> BLOCK_SHIFT][slot & BLOCK_MASK];
+    }
+
+    private void set(int index, Object value) {
+        int slot = (head + index) & slotMask();
+        map[slot >>> BLOCK_SHIFT][slot & BLOCK_MASK] = value;
+    }
+
+    /**
+     * Returns the block holding the slot, taking one from the pool or allocating it if necessary.
+     */
+    private Object[] block(int slot) {
+        int blockIndex = slot >>> BLOCK_SHIFT;
+        Object[] block = map[blockIndex];
+        if (block == null) {
+            if (pooled > 0) {
+                block = pool[--pooled];
+                pool[pooled] = null;
+            } else {
+                block = new Object[BLOCK_SIZE];
+            }
+            map[blockIndex] = block;
+        }
+        return block;
+    }
+
+    /**
+     * Detaches an emptied block from the map and keeps it for reuse if the pool has room.
+     */
+    private void release(int blockIndex) {
+        if (pooled < POOL_SIZE) {
+            pool[pooled++] = map[blockIndex];
+        }
+        map[blockIndex] = null;
+    }
+
+    /**
+     * Doubles the map of block references; only references are copied, blocks stay in place.
+     */
+    private void growMap() {
+        if (map.length == MAX_MAP_SIZE) {
+            throw new IllegalStateException("Deque too big");
+        }
+        Object[][] grown = new Object[map.length << 1][];
+        int firstBlock = head >>> BLOCK_SHIFT;
+        int used = span(head, size);
+        for (int i = 0; i < used; i++) {
+            grown[i] = map[(firstBlock + i) & (map.length - 1)];
+        }
+        map = grown;
+        head &= BLOCK_MASK;
+    }
+
+    /**
+     * Removes the element at the specified offset from the head,
+     * shifting whichever side of the deque is shorter.
+     */
+    private void delete(int index) {
+        if (index < size - index - 1) {
+            for (int i = index; i > 0; i--) {
+                set(i, get(i - 1));
+            }
+            removeFirst();
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                set(i, get(i + 1));
+            }
+            removeLast();
+        }
+    }
+
+    private class Itr implements Iterator<E> {
+
+        private int cursor;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = cursor;
+            return get(cursor++);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            delete(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
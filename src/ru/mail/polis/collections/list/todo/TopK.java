@@ -0,0 +1,169 @@
+package ru.mail.polis.collections.list.todo;
+
+import ru.mail.polis.collections.list.ShrinkPolicy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collector;
+
+/**
+ * Bounded top-K selection over an {@link ArrayPriorityQueueSimple} of capacity K:
+ * keeps the K greatest elements under the comparator seen so far.
+ * - the head of the heap is the least kept element, a candidate that is not greater is rejected
+ * after one comparison with it, without touching the heap
+ * - a greater candidate replaces the head in one sift, O(log K)
+ * - partial results are merged with {@link #merge(TopK)}, see {@link #collector(int, Comparator)}
+ * for use with parallel streams
+ *
+ * @param <E> the type of elements
+ */
+public class TopK<E extends Comparable<E>> {
+
+    private static final int MAX_INITIAL_CAPACITY = 1 << 10;
+
+    private final int k;
+    private final Comparator<E> comparator;
+    private final ArrayPriorityQueueSimple<E> heap;
+
+    /**
+     * Creates a selection of the K greatest elements in natural order.
+     *
+     * @param k the number of elements to keep
+     * @throws IllegalArgumentException if {@code k} is less than 1
+     */
+    public TopK(int k) {
+        this(k, Comparator.naturalOrder());
+    }
+
+    /**
+     * Creates a selection of the K greatest elements according to the specified comparator.
+     *
+     * @param k          the number of elements to keep
+     * @param comparator the order, the greatest elements are kept
+     * @throws NullPointerException     if the specified comparator is null
+     * @throws IllegalArgumentException if {@code k} is less than 1
+     */
+    public TopK(int k, Comparator<E> comparator) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k < 1: " + k);
+        }
+        this.k = k;
+        this.comparator = Objects.requireNonNull(comparator, "comparator");
+        this.heap = new ArrayPriorityQueueSimple<>(comparator, Math.min(k, MAX_INITIAL_CAPACITY), ShrinkPolicy.NEVER);
+    }
+
+    /**
+     * Returns a {@link Collector} of the K greatest elements in natural order, sorted from the greatest.
+     *
+     * @param k   the number of elements to keep
+     * @param <E> the type of elements
+     * @return the collector
+     * @throws IllegalArgumentException if {@code k} is less than 1
+     */
+    public static <E extends Comparable<E>> Collector<E, ?, List<E>> collector(int k) {
+        return collector(k, Comparator.<E>naturalOrder());
+    }
+
+    /**
+     * Returns a {@link Collector} of the K greatest elements according to the specified comparator,
+     * sorted from the greatest. Every thread of a parallel stream selects its own K, they are merged.
+     *
+     * @param k          the number of elements to keep
+     * @param comparator the order, the greatest elements are kept
+     * @param <E>        the type of elements
+     * @return the collector
+     * @throws NullPointerException     if the specified comparator is null
+     * @throws IllegalArgumentException if {@code k} is less than 1
+     */
+    public static <E extends Comparable<E>> Collector<E, ?, List<E>> collector(int k, Comparator<E> comparator) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k < 1: " + k);
+        }
+        Objects.requireNonNull(comparator, "comparator");
+        return Collector.of(() -> new TopK<>(k, comparator), TopK::offer, TopK::merge, TopK::toSortedList,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Keeps the specified element if fewer than K elements are kept or it is greater than the least of them.
+     *
+     * @param value the candidate element
+     * @return {@code true} if the element is kept
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean offer(E value) {
+        Objects.requireNonNull(value, "value");
+        if (heap.size() < k) {
+            heap.add(value);
+            return true;
+        }
+        if (comparator.compare(value, heap.element()) <= 0) {
+            return false;
+        }
+        heap.replace(value);
+        return true;
+    }
+
+    /**
+     * Offers all elements kept by the other selection to this one.
+     *
+     * @param other the selection to merge, it is not changed
+     * @return this selection
+     * @throws NullPointerException     if the other selection is null
+     * @throws IllegalArgumentException if the other selection is this selection
+     */
+    public TopK<E> merge(TopK<E> other) {
+        Objects.requireNonNull(other, "other");
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot merge a selection with itself");
+        }
+        for (E value : other.heap) {
+            offer(value);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the kept elements sorted from the greatest, this selection is not changed.
+     *
+     * Complexity = O(K log(K))
+     *
+     * @return an unmodifiable list of the kept elements
+     */
+    public List<E> toSortedList() {
+        List<E> values = new ArrayList<>(heap.size());
+        for (E value : heap) {
+            values.add(value);
+        }
+        values.sort(comparator.reversed());
+        return Collections.unmodifiableList(values);
+    }
+
+    /**
+     * Returns the number of kept elements, at most K.
+     *
+     * @return the number of kept elements
+     */
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Returns {@code true} if no element is kept.
+     *
+     * @return {@code true} if no element is kept
+     */
+    public boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    /**
+     * Removes all kept elements.
+     */
+    public void clear() {
+        heap.clear();
+    }
+}
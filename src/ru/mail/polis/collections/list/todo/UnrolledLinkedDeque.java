@@ -0,0 +1,484 @@
+package ru.mail.polis.collections.list.todo;
+
+import ru.mail.polis.collections.list.IDeque;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Unrolled linked list implementation of the {@link IDeque} interface.
+ * - no capacity restrictions
+ * - every node holds up to 64 elements in a contiguous run of its array, nodes are doubly linked
+ * - O(1) operations at both ends, O(1) iterator removal (at most 32 elements of one node are shifted
+ * and at most 64 elements are moved between two nodes)
+ * - {@link #concat(UnrolledLinkedDeque)} relinks whole nodes in O(1),
+ * {@link #splitAt(int)} cuts the chain after locating the node from the nearer end
+ * <p>
+ * Every node except the first and the last one holds at least 32 elements:
+ * a node that falls below half full is merged with its successor or borrows elements from it,
+ * so the deque occupies at most about twice the space of its elements.
+ *
+ * @param <E> the type of elements held in this deque
+ */
+public class UnrolledLinkedDeque<E> implements IDeque<E> {
+
+    private static final int NODE_CAPACITY = 64;
+    private static final int MIN_NODE_SIZE = NODE_CAPACITY / 2;
+
+    private Node<E> first;
+    private Node<E> last;
+    private int size;
+    private int modCount;
+
+    /**
+     * Inserts the specified element at the front of this deque.
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public void addFirst(E value) {
+        Objects.requireNonNull(value, "value");
+        if (first != null && first.start == 0 && first.size() < MIN_NODE_SIZE) {
+            first.moveTo(NODE_CAPACITY - first.size());
+        } else if (first == null || first.start == 0) {
+            Node<E> node = new Node<>(first == null ? NODE_CAPACITY / 2 : NODE_CAPACITY);
+            linkBefore(node, first);
+        }
+        first.items[--first.start] = value;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Retrieves and removes the first element of this queue.
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public E removeFirst() {
+        E value = getFirst();
+        Node<E> node = first;
+        node.items[node.start++] = null;
+        removed(node);
+        return value;
+    }
+
+    /**
+     * Retrieves, but does not remove, the first element of this queue.
+     *
+     * @return the head of this queue
+     * @throws java.util.NoSuchElementException if this queue is empty
+     */
+    @Override
+    public E getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return first.get(first.start);
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public void addLast(E value) {
+        Objects.requireNonNull(value, "value");
+        if (last != null && last.end == NODE_CAPACITY && last.size() < MIN_NODE_SIZE) {
+            last.moveTo(0);
+        } else if (last == null || last.end == NODE_CAPACITY) {
+            Node<E> node = new Node<>(last == null ? NODE_CAPACITY / 2 : 0);
+            linkBefore(node, null);
+        }
+        last.items[last.end++] = value;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Retrieves and removes the last element of this deque.
+     *
+     * @return the tail of this deque
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public E removeLast() {
+        E value = getLast();
+        Node<E> node = last;
+        node.items[--node.end] = null;
+        removed(node);
+        return value;
+    }
+
+    /**
+     * Retrieves, but does not remove, the last element of this deque.
+     *
+     * @return the tail of this deque
+     * @throws java.util.NoSuchElementException if this deque is empty
+     */
+    @Override
+    public E getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return last.get(last.end - 1);
+    }
+
+    /**
+     * Returns {@code true} if this collection contains the specified element.
+     * aka collection contains element el such that {@code Objects.equals(el, value) == true}
+     *
+     * @param value element whose presence in this collection is to be tested
+     * @return {@code true} if this collection contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public boolean contains(E value) {
+        Objects.requireNonNull(value, "value");
+        for (Node<E> node = first; node != null; node = node.next) {
+            for (int i = node.start; i < node.end; i++) {
+                if (value.equals(node.items[i])) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of elements in this collection.
+     *
+     * @return the number of elements in this collection
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this collection contains no elements.
+     *
+     * @return {@code true} if this collection contains no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all of the elements from this collection.
+     * The collection will be empty after this method returns.
+     */
+    @Override
+    public void clear() {
+        first = null;
+        last = null;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Moves all elements of the other deque to the tail of this deque by linking its nodes, in O(1).
+     * The two nodes meeting at the junction are merged or rebalanced if either is less than half full.
+     * The other deque is empty after this method returns.
+     *
+     * @param other the deque whose elements are appended
+     * @throws NullPointerException     if the other deque is null
+     * @throws IllegalArgumentException if the other deque is this deque
+     */
+    public void concat(UnrolledLinkedDeque<E> other) {
+        Objects.requireNonNull(other, "other");
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot concat a deque to itself");
+        }
+        if (other.size == 0) {
+            return;
+        }
+        Node<E> junction = last;
+        Node<E> otherFirst = other.first;
+        if (last == null) {
+            first = otherFirst;
+        } else {
+            last.next = otherFirst;
+            otherFirst.prev = last;
+        }
+        last = other.last;
+        size += other.size;
+        modCount++;
+        other.clear();
+        if (junction != null) {
+            rebalance(junction, null);
+            if (otherFirst.start != otherFirst.end) {
+                rebalance(otherFirst, null);
+            }
+        }
+    }
+
+    /**
+     * Removes the elements from the specified offset from the head to the tail
+     * and returns them as a new deque.
+     * Locating the node takes O(min(index, size - index) / 32); the cut itself relinks the nodes in O(1),
+     * a node containing the cut is split by copying at most 64 elements.
+     *
+     * @param index the offset from the head of the first element to move
+     * @return a new deque with the elements {@code [index, size())} of this deque
+     * @throws IndexOutOfBoundsException if {@code index < 0 || index > size()}
+     */
+    public UnrolledLinkedDeque<E> splitAt(int index) {
+        Objects.checkIndex(index, size + 1);
+        UnrolledLinkedDeque<E> tail = new UnrolledLinkedDeque<>();
+        if (index == size) {
+            return tail;
+        }
+        Node<E> node;
+        int before;
+        if (index < size / 2) {
+            node = first;
+            before = 0;
+            while (before + node.size() <= index) {
+                before += node.size();
+                node = node.next;
+            }
+        } else {
+            node = last;
+            before = size - node.size();
+            while (before > index) {
+                node = node.prev;
+                before -= node.size();
+            }
+        }
+        int cut = node.start + index - before;
+        if (cut > node.start) {
+            Node<E> right = new Node<>(cut);
+            System.arraycopy(node.items, cut, right.items, cut, node.end - cut);
+            Arrays.fill(node.items, cut, node.end, null);
+            right.end = node.end;
+            node.end = cut;
+            right.prev = node;
+            right.next = node.next;
+            if (node.next == null) {
+                last = right;
+            } else {
+                node.next.prev = right;
+            }
+            node.next = right;
+            node = right;
+        }
+        tail.first = node;
+        tail.last = last;
+        tail.size = size - index;
+        last = node.prev;
+        if (last == null) {
+            first = null;
+        } else {
+            last.next = null;
+        }
+        node.prev = null;
+        size = index;
+        modCount++;
+        return tail;
+    }
+
+    /**
+     * Returns an iterator over the elements in this collection in proper sequence.
+     * The elements will be returned in order from first (head) to last (tail).
+     *
+     * @return an iterator over the elements in this collection in proper sequence
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * Links the node before {@code successor}, or as the last node if {@code successor} is null.
+     */
+    private void linkBefore(Node<E> node, Node<E> successor) {
+        Node<E> predecessor = successor == null ? last : successor.prev;
+        node.prev = predecessor;
+        node.next = successor;
+        if (predecessor == null) {
+            first = node;
+        } else {
+            predecessor.next = node;
+        }
+        if (successor == null) {
+            last = node;
+        } else {
+            successor.prev = node;
+        }
+    }
+
+    private void unlink(Node<E> node) {
+        if (node.prev == null) {
+            first = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            last = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+    }
+
+    private void removed(Node<E> node) {
+        if (node.start == node.end) {
+            unlink(node);
+        }
+        size--;
+        modCount++;
+    }
+
+    /**
+     * Restores the minimum size of an interior node by merging its successor into it
+     * or by moving the head elements of the successor to it.
+     * Only the first and the last node may hold fewer than {@link #MIN_NODE_SIZE} elements.
+     *
+     * @param node   a linked node
+     * @param cursor the iterator whose position is moved along with the elements, or null
+     */
+    private void rebalance(Node<E> node, Itr cursor) {
+        while (node.prev != null && node.next != null && node.size() < MIN_NODE_SIZE) {
+            Node<E> successor = node.next;
+            if (cursor != null && cursor.node == node) {
+                cursor.index -= node.start;
+            }
+            node.moveTo(0);
+            int moved = node.size() + successor.size() <= NODE_CAPACITY
+                    ? successor.size()
+                    : MIN_NODE_SIZE - node.size();
+            if (cursor != null && cursor.node == successor && cursor.index < successor.start + moved) {
+                cursor.node = node;
+                cursor.index = node.end + cursor.index - successor.start;
+            }
+            System.arraycopy(successor.items, successor.start, node.items, node.end, moved);
+            Arrays.fill(successor.items, successor.start, successor.start + moved, null);
+            node.end += moved;
+            successor.start += moved;
+            if (successor.start == successor.end) {
+                unlink(successor);
+            }
+        }
+    }
+
+    private static class Node<E> {
+
+        private final Object[] items = new Object[NODE_CAPACITY];
+        /**
+         * Elements occupy {@code items[start, end)}.
+         */
+        private int start;
+        private int end;
+        private Node<E> prev;
+        private Node<E> next;
+
+        Node(int position) {
+            this.start = position;
+            this.end = position;
+        }
+
+        int size() {
+            return end - start;
+        }
+
+        /**
+         * Moves the run of elements so that it starts at the position.
+         */
+        void moveTo(int position) {
+            if (position == start) {
+                return;
+            }
+            int size = size();
+            System.arraycopy(items, start, items, position, size);
+            if (position < start) {
+                Arrays.fill(items, Math.max(position + size, start), end, null);
+            } else {
+                Arrays.fill(items, start, Math.min(position, end), null);
+            }
+            start = position;
+            end = position + size;
+        }
+
+        @SuppressWarnings("unchecked")
+        E get(int index) {
+            return (E) items[index];
+        }
+
+        /**
+         * Removes the element at the index shifting the shorter side of the run.
+         *
+         * @return {@code true} if the elements after the index moved one slot down
+         */
+        boolean delete(int index) {
+            if (index - start < end - 1 - index) {
+                System.arraycopy(items, start, items, start + 1, index - start);
+                items[start++] = null;
+                return false;
+            }
+            System.arraycopy(items, index + 1, items, index, end - 1 - index);
+            items[--end] = null;
+            return true;
+        }
+    }
+
+    private class Itr implements Iterator<E> {
+
+        private Node<E> node = first;
+        private int index = first == null ? 0 : first.start;
+        private Node<E> lastNode;
+        private int lastIndex;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return node != null;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (node == null) {
+                throw new NoSuchElementException();
+            }
+            lastNode = node;
+            lastIndex = index;
+            E value = node.get(index++);
+            if (index == node.end) {
+                node = node.next;
+                index = node == null ? 0 : node.start;
+            }
+            return value;
+        }
+
+        @Override
+        public void remove() {
+            if (lastNode == null) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            if (lastNode.delete(lastIndex) && node == lastNode) {
+                index--;
+            }
+            removed(lastNode);
+            if (lastNode.start != lastNode.end) {
+                rebalance(lastNode, this);
+            }
+            lastNode = null;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
@@ -3,7 +3,11 @@ package ru.mail.polis.collections.set.hash.todo;
 import ru.mail.polis.collections.set.hash.IOpenHashTable;
 import ru.mail.polis.collections.set.hash.IOpenHashTableEntity;
 
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 
 /**
  *
@@ -15,10 +19,25 @@ import java.util.Iterator;
  *
  * Use loadFactor = from 0.5f to 0.75f included
  *
+ * The table length is always a power of two, removed elements leave a tombstone
+ * which is reused by insertions and dropped on the next rehash.
+ *
  * @param <E> the type of elements maintained by this hash table
  */
 public class OpenHashTable<E extends IOpenHashTableEntity> implements IOpenHashTable<E> {
 
+    private static final int DEFAULT_TABLE_SIZE = 16;
+    private static final int MAX_TABLE_SIZE = 1 << 30;
+    private static final float MAX_LOAD_FACTOR = 0.75f;
+    private static final Object DELETED = new Object();
+
+    private Object[] table = new Object[DEFAULT_TABLE_SIZE];
+    private int size;
+    /**
+     * Elements plus tombstones, a probe sequence stops only at a never used slot.
+     */
+    private int used;
+    private int modCount;
 
     /**
      * Adds the specified element to this set if it is not already present.
@@ -32,7 +51,21 @@ public class OpenHashTable<E extends IOpenHashTableEntity> implements IOpenHashT
      */
     @Override
     public boolean add(E value) {
-        throw new UnsupportedOperationException("todo: implement this");
+        Objects.requireNonNull(value, "value");
+        if (find(value) >= 0) {
+            return false;
+        }
+        if (used + 1 > table.length * MAX_LOAD_FACTOR) {
+            rehash(size + 1 > table.length * MAX_LOAD_FACTOR / 2 ? table.length * 2 : table.length);
+        }
+        int slot = insert(table, value);
+        if (table[slot] == null) {
+            used++;
+        }
+        table[slot] = value;
+        size++;
+        modCount++;
+        return true;
     }
 
     /**
@@ -46,7 +79,13 @@ public class OpenHashTable<E extends IOpenHashTableEntity> implements IOpenHashT
      */
     @Override
     public boolean remove(E value) {
-        throw new UnsupportedOperationException("todo: implement this");
+        Objects.requireNonNull(value, "value");
+        int slot = find(value);
+        if (slot < 0) {
+            return false;
+        }
+        delete(slot);
+        return true;
     }
 
     /**
@@ -61,7 +100,23 @@ public class OpenHashTable<E extends IOpenHashTableEntity> implements IOpenHashT
      */
     @Override
     public boolean contains(E value) {
-        throw new UnsupportedOperationException("todo: implement this");
+        Objects.requireNonNull(value, "value");
+        return find(value) >= 0;
+    }
+
+    /**
+     * Returns the element of this set equal to the specified one, so a probe holding only the key
+     * finds the stored element with the rest of its state.
+     *
+     * @param value the element to look up
+     * @return the element of this set equal to the specified one, or {@code null} if there is none
+     * @throws NullPointerException     if the specified element is null
+     * @throws IllegalArgumentException if {@link IOpenHashTableEntity#hashCode(int, int)} specified element is incorrect
+     */
+    public E get(E value) {
+        Objects.requireNonNull(value, "value");
+        int slot = find(value);
+        return slot < 0 ? null : elementAt(slot);
     }
 
     /**
@@ -71,7 +126,7 @@ public class OpenHashTable<E extends IOpenHashTableEntity> implements IOpenHashT
      */
     @Override
     public int size() {
-        throw new UnsupportedOperationException("todo: implement this");
+        return size;
     }
 
     /**
@@ -81,7 +136,7 @@ public class OpenHashTable<E extends IOpenHashTableEntity> implements IOpenHashT
      */
     @Override
     public boolean isEmpty() {
-        throw new UnsupportedOperationException("todo: implement this");
+        return size == 0;
     }
 
     /**
@@ -90,7 +145,10 @@ public class OpenHashTable<E extends IOpenHashTableEntity> implements IOpenHashT
      */
     @Override
     public void clear() {
-        throw new UnsupportedOperationException("todo: implement this");
+        Arrays.fill(table, null);
+        size = 0;
+        used = 0;
+        modCount++;
     }
 
     /**
@@ -100,11 +158,122 @@ public class OpenHashTable<E extends IOpenHashTableEntity> implements IOpenHashT
      */
     @Override
     public Iterator<E> iterator() {
-        throw new UnsupportedOperationException("todo: implement this");
+        return new Itr();
     }
 
     @Override
     public int tableSize() {
-        throw new UnsupportedOperationException("todo: return dataArray.length");
+        return table.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int slot) {
+        return (E) table[slot];
+    }
+
+    private static int index(IOpenHashTableEntity value, int tableSize, int probId) {
+        int index = value.hashCode(tableSize, probId);
+        if (index < 0 || index >= tableSize) {
+            throw new IllegalArgumentException("hashCode(" + tableSize + ", " + probId + ") = " + index);
+        }
+        return index;
+    }
+
+    /**
+     * @return the slot of the element equal to the specified one, or -1 if there is none
+     */
+    private int find(E value) {
+        for (int probId = 0; probId < table.length; probId++) {
+            int slot = index(value, table.length, probId);
+            Object element = table[slot];
+            if (element == null) {
+                return -1;
+            }
+            if (element != DELETED && element.equals(value)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the first free or deleted slot on the probe sequence of the element
+     * @throws IllegalArgumentException if the probe sequence does not visit one
+     */
+    private static int insert(Object[] table, IOpenHashTableEntity value) {
+        for (int probId = 0; probId < table.length; probId++) {
+            int slot = index(value, table.length, probId);
+            if (table[slot] == null || table[slot] == DELETED) {
+                return slot;
+            }
+        }
+        throw new IllegalArgumentException("No free slot on the probe sequence of " + value);
+    }
+
+    private void rehash(int tableSize) {
+        if (tableSize > MAX_TABLE_SIZE) {
+            throw new IllegalStateException("Hash table too big");
+        }
+        Object[] newTable = new Object[tableSize];
+        for (Object element : table) {
+            if (element != null && element != DELETED) {
+                newTable[insert(newTable, (IOpenHashTableEntity) element)] = element;
+            }
+        }
+        table = newTable;
+        used = size;
+    }
+
+    private void delete(int slot) {
+        table[slot] = DELETED;
+        size--;
+        modCount++;
+    }
+
+    private class Itr implements Iterator<E> {
+
+        private int cursor = advance(0);
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        private int advance(int slot) {
+            while (slot < table.length && (table[slot] == null || table[slot] == DELETED)) {
+                slot++;
+            }
+            return slot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < table.length;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (cursor >= table.length) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = cursor;
+            cursor = advance(cursor + 1);
+            return elementAt(lastReturned);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            delete(lastReturned);
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
     }
 }
@@ -47,22 +47,41 @@ public class Student extends AbstractOpenHashTableEntity {
         return groupId;
     }
 
+    /**
+     * The step {@link #hashCode2()} is forced odd, so for a power of two {@code tableSize}
+     * (as in {@link OpenHashTable}) the probes visit every index.
+     */
     @Override
     public int hashCode(int tableSize, int probId) throws IllegalArgumentException {
-        //todo: see IOpenHashTableEntity contract
-        //todo: use this in OpenHashTable
-        throw new UnsupportedOperationException("todo: implement this");
+        if (tableSize <= 0) {
+            throw new IllegalArgumentException("tableSize <= 0: " + tableSize);
+        }
+        if (probId < 0 || probId >= tableSize) {
+            throw new IllegalArgumentException("probId " + probId + " out of [0, " + tableSize + ")");
+        }
+        return (int) Math.floorMod(hashCode() + (long) probId * (hashCode2() | 1), (long) tableSize);
     }
 
     @Override
     public int hashCode() {
-        //todo: don't forget [hashCode - equals] contract
-        throw new UnsupportedOperationException("todo: implement this");
+        int result = Long.hashCode(id);
+        result = 31 * result + firstName.hashCode();
+        result = 31 * result + lastName.hashCode();
+        result = 31 * result + gender.ordinal();
+        result = 31 * result + birthday.hashCode();
+        result = 31 * result + groupId;
+        return result;
     }
 
     @Override
     protected int hashCode2() {
-        throw new UnsupportedOperationException("todo: implement this");
+        long result = groupId;
+        result = result * 0x9E3779B97F4A7C15L + birthday.toEpochDay();
+        result = result * 0x9E3779B97F4A7C15L + gender.ordinal();
+        result = result * 0x9E3779B97F4A7C15L + lastName.hashCode();
+        result = result * 0x9E3779B97F4A7C15L + firstName.hashCode();
+        result = result * 0x9E3779B97F4A7C15L + id;
+        return (int) (result ^ (result >>> 32));
     }
 
     @Override
@@ -0,0 +1,126 @@
+package ru.mail.polis.collections.window;
+
+import ru.mail.polis.collections.list.todo.ArrayDequeSimple;
+import ru.mail.polis.collections.list.todo.LongArrayDeque;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Sliding window minimum over a monotonic deque: amortized O(1) per element.
+ * <p>
+ * Every element has a position: {@link #add(Object)} takes the next sequence number,
+ * {@link #add(long, Object)} takes a caller-supplied position such as a timestamp.
+ * The window holds the elements with positions in {@code (latest - span, latest]},
+ * so a window of the last N elements has span N, a window of the last T time units has span T.
+ * <p>
+ * Only candidates are kept: an element is dropped as soon as a later element is not greater,
+ * the deque is ordered from the minimum (head) to the latest element (tail).
+ * For the maximum pass a reversed comparator.
+ *
+ * @param <E> the type of elements
+ */
+public class MonotonicWindow<E> {
+
+    private final Comparator<? super E> comparator;
+    private final long span;
+    private final ArrayDequeSimple<E> values = new ArrayDequeSimple<>();
+    private final LongArrayDeque positions = new LongArrayDeque();
+    private long latest = Long.MIN_VALUE;
+    private boolean started;
+
+    /**
+     * @param comparator the order of elements, the window reports the least one
+     * @param span       the length of the window in positions
+     * @throws NullPointerException     if the comparator is null
+     * @throws IllegalArgumentException if the span is not positive
+     */
+    public MonotonicWindow(Comparator<? super E> comparator, long span) {
+        this.comparator = Objects.requireNonNull(comparator, "comparator");
+        if (span <= 0) {
+            throw new IllegalArgumentException("span <= 0: " + span);
+        }
+        this.span = span;
+    }
+
+    /**
+     * Adds the element at the position following the latest one.
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the specified element is null
+     */
+    public void add(E value) {
+        add(started ? latest + 1 : 0, value);
+    }
+
+    /**
+     * Adds the element at the specified position and evicts the elements that left the window.
+     *
+     * @param position the position of the element, not less than the latest position
+     * @param value    the element to add
+     * @throws NullPointerException     if the specified element is null
+     * @throws IllegalArgumentException if the position is less than the latest position
+     */
+    public void add(long position, E value) {
+        Objects.requireNonNull(value, "value");
+        advanceTo(position);
+        while (!values.isEmpty() && comparator.compare(values.getLast(), value) >= 0) {
+            values.removeLast();
+            positions.removeLast();
+        }
+        values.addLast(value);
+        positions.addLast(position);
+    }
+
+    /**
+     * Moves the end of the window to the specified position without adding an element,
+     * for example to expire a time window while no elements arrive.
+     *
+     * @param position the new latest position, not less than the current one
+     * @throws IllegalArgumentException if the position is less than the latest position
+     */
+    public void advanceTo(long position) {
+        if (started && position < latest) {
+            throw new IllegalArgumentException("position " + position + " < latest " + latest);
+        }
+        started = true;
+        latest = position;
+        while (!positions.isEmpty() && positions.getFirst() <= position - span) {
+            values.removeFirst();
+            positions.removeFirst();
+        }
+    }
+
+    /**
+     * Returns the least element in the window.
+     *
+     * @return the least element in the window
+     * @throws java.util.NoSuchElementException if the window is empty
+     */
+    public E get() {
+        if (values.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return values.getFirst();
+    }
+
+    /**
+     * Returns {@code true} if no element is in the window.
+     *
+     * @return {@code true} if the window is empty
+     */
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    /**
+     * Removes all elements, the next {@link #add(Object)} starts again at position 0.
+     */
+    public void clear() {
+        values.clear();
+        positions.clear();
+        started = false;
+        latest = Long.MIN_VALUE;
+    }
+}
@@ -0,0 +1,166 @@
+package ru.mail.polis.collections.window;
+
+import ru.mail.polis.collections.list.todo.ArrayDequeSimple;
+import ru.mail.polis.collections.list.todo.LongArrayDeque;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+
+/**
+ * Sliding window aggregate for any associative operation (two-stack SWAG): amortized O(1) per element,
+ * one operation application per query.
+ * <p>
+ * Positions and the window bounds work as in {@link MonotonicWindow}:
+ * the window holds the elements with positions in {@code (latest - span, latest]}.
+ * <p>
+ * The elements are split into an older front stack, which keeps for every element only
+ * the aggregate of it and all newer front elements, and a newer back stack with one running aggregate.
+ * Eviction pops the front; when the front is empty the back is flipped into it in one pass.
+ * The operation need not be commutative, operands are always combined oldest first.
+ *
+ * @param <A> the type of elements and aggregates
+ */
+public class SlidingAggregator<A> {
+
+    private final BinaryOperator<A> operation;
+    private final long span;
+    private final ArrayDequeSimple<A> frontAggregates = new ArrayDequeSimple<>();
+    private final LongArrayDeque frontPositions = new LongArrayDeque();
+    private final ArrayDequeSimple<A> backValues = new ArrayDequeSimple<>();
+    private final LongArrayDeque backPositions = new LongArrayDeque();
+    private A backAggregate;
+    private long latest = Long.MIN_VALUE;
+    private boolean started;
+
+    /**
+     * @param operation the associative operation, for example {@code Long::sum} or {@code Math::max};
+     *                  it must not return null
+     * @param span      the length of the window in positions
+     * @throws NullPointerException     if the operation is null
+     * @throws IllegalArgumentException if the span is not positive
+     */
+    public SlidingAggregator(BinaryOperator<A> operation, long span) {
+        this.operation = Objects.requireNonNull(operation, "operation");
+        if (span <= 0) {
+            throw new IllegalArgumentException("span <= 0: " + span);
+        }
+        this.span = span;
+    }
+
+    /**
+     * Adds the element at the position following the latest one.
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the specified element is null
+     */
+    public void add(A value) {
+        add(started ? latest + 1 : 0, value);
+    }
+
+    /**
+     * Adds the element at the specified position and evicts the elements that left the window.
+     *
+     * @param position the position of the element, not less than the latest position
+     * @param value    the element to add
+     * @throws NullPointerException     if the specified element is null
+     * @throws IllegalArgumentException if the position is less than the latest position
+     */
+    public void add(long position, A value) {
+        Objects.requireNonNull(value, "value");
+        advanceTo(position);
+        backValues.addLast(value);
+        backPositions.addLast(position);
+        backAggregate = backAggregate == null ? value : operation.apply(backAggregate, value);
+    }
+
+    /**
+     * Moves the end of the window to the specified position without adding an element.
+     *
+     * @param position the new latest position, not less than the current one
+     * @throws IllegalArgumentException if the position is less than the latest position
+     */
+    public void advanceTo(long position) {
+        if (started && position < latest) {
+            throw new IllegalArgumentException("position " + position + " < latest " + latest);
+        }
+        started = true;
+        latest = position;
+        long bound = position - span;
+        while (true) {
+            if (frontAggregates.isEmpty()) {
+                if (backPositions.isEmpty() || backPositions.getFirst() > bound) {
+                    return;
+                }
+                flip();
+            }
+            if (frontPositions.getFirst() > bound) {
+                return;
+            }
+            frontAggregates.removeFirst();
+            frontPositions.removeFirst();
+        }
+    }
+
+    /**
+     * Returns the operation applied to all elements in the window, oldest first.
+     *
+     * @return the aggregate of the window
+     * @throws java.util.NoSuchElementException if the window is empty
+     */
+    public A get() {
+        if (frontAggregates.isEmpty()) {
+            if (backAggregate == null) {
+                throw new NoSuchElementException();
+            }
+            return backAggregate;
+        }
+        A front = frontAggregates.getFirst();
+        return backAggregate == null ? front : operation.apply(front, backAggregate);
+    }
+
+    /**
+     * Returns the number of elements in the window.
+     *
+     * @return the number of elements in the window
+     */
+    public int size() {
+        return frontAggregates.size() + backValues.size();
+    }
+
+    /**
+     * Returns {@code true} if no element is in the window.
+     *
+     * @return {@code true} if the window is empty
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes all elements, the next {@link #add(Object)} starts again at position 0.
+     */
+    public void clear() {
+        frontAggregates.clear();
+        frontPositions.clear();
+        backValues.clear();
+        backPositions.clear();
+        backAggregate = null;
+        started = false;
+        latest = Long.MIN_VALUE;
+    }
+
+    /**
+     * Moves the back stack into the empty front stack, computing the suffix aggregates newest to oldest.
+     */
+    private void flip() {
+        A aggregate = null;
+        while (!backValues.isEmpty()) {
+            A value = backValues.removeLast();
+            aggregate = aggregate == null ? value : operation.apply(value, aggregate);
+            frontAggregates.addFirst(aggregate);
+            frontPositions.addFirst(backPositions.removeLast());
+        }
+        backAggregate = null;
+    }
+}
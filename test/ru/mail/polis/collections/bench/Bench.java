@@ -0,0 +1,60 @@
+package ru.mail.polis.collections.bench;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * Минимальный замерщик для бенчмарков с методом main: прогрев, несколько замеров, медиана.
+ * <p>
+ * Не заменяет JMH: нет форков и защиты от всех оптимизаций JIT, поэтому сравнивать имеет смысл
+ * только варианты, измеренные одним запуском на одной машине.
+ */
+final class Bench {
+
+    /**
+     * Collects the results of the measured bodies so that the JIT cannot drop their work.
+     */
+    static volatile long sink;
+
+    private Bench() {
+    }
+
+    /**
+     * Runs the body {@code warmups} times, then {@code runs} times under the timer.
+     *
+     * @param body returns a value derived from its work, it goes to {@link #sink}
+     * @return the median duration of the timed runs in nanoseconds
+     */
+    static long medianNanos(int warmups, int runs, LongSupplier body) {
+        for (int i = 0; i < warmups; i++) {
+            sink += body.getAsLong();
+        }
+        long[] times = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            sink += body.getAsLong();
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        return times[runs / 2];
+    }
+
+    static int[] intArgs(String[] args, int... defaults) {
+        if (args.length == 0) {
+            return defaults;
+        }
+        return Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+    }
+
+    static void printEnvironment() {
+        Runtime runtime = Runtime.getRuntime();
+        System.out.printf(Locale.ROOT, "# %s %s, %d cpu, max heap %d MB%n",
+                System.getProperty("java.vm.name"), System.getProperty("java.version"),
+                runtime.availableProcessors(), runtime.maxMemory() >> 20);
+    }
+
+    static void row(String format, Object... values) {
+        System.out.printf(Locale.ROOT, format + "%n", values);
+    }
+}
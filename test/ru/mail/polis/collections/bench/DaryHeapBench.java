@@ -0,0 +1,60 @@
+package ru.mail.polis.collections.bench;
+
+import ru.mail.polis.collections.list.todo.ArrayPriorityQueueSimple;
+
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Класс измеряющий {@link ArrayPriorityQueueSimple} с арностью кучи 2, 4 и 8
+ * на смесях с преобладанием вставок и с преобладанием удалений.
+ * <p>
+ * Usage: {@code DaryHeapBench [sizes...]}, 1000 and 1000000 elements by default.
+ * The heap holds boxed integers, 100M elements need about 4 GB of heap ({@code -Xmx6g}).
+ * <ul>
+ * <li>insert-heavy: n adds, then n / 8 removes</li>
+ * <li>remove-heavy: n adds, then n removes</li>
+ * </ul>
+ */
+public class DaryHeapBench {
+
+    private static final int[] ARITIES = {2, 4, 8};
+
+    private static Integer[] randomValues(int size) {
+        Random random = new Random(42);
+        Integer[] values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt();
+        }
+        return values;
+    }
+
+    private static long run(Integer[] values, int arity, int removes) {
+        ArrayPriorityQueueSimple<Integer> queue =
+                new ArrayPriorityQueueSimple<>(Comparator.<Integer>naturalOrder(), arity);
+        for (Integer value : values) {
+            queue.add(value);
+        }
+        long sum = 0;
+        for (int i = 0; i < removes; i++) {
+            sum += queue.remove();
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) {
+        Bench.printEnvironment();
+        Bench.row("%-10s %-6s %20s %20s", "size", "arity", "insert-heavy ns/op", "remove-heavy ns/op");
+        for (int size : Bench.intArgs(args, 1_000, 1_000_000)) {
+            Integer[] values = randomValues(size);
+            int runs = size < 100_000 ? 101 : size < 10_000_000 ? 7 : 3;
+            int warmups = size < 100_000 ? 2_000 : size < 10_000_000 ? 5 : 1;
+            for (int arity : ARITIES) {
+                long insertHeavy = Bench.medianNanos(warmups, runs, () -> run(values, arity, size / 8));
+                long removeHeavy = Bench.medianNanos(warmups, runs, () -> run(values, arity, size));
+                Bench.row("%-10d %-6d %20.1f %20.1f", size, arity,
+                        (double) insertHeavy / (size + size / 8), (double) removeHeavy / (2L * size));
+            }
+        }
+    }
+}
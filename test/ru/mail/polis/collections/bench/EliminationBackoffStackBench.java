@@ -0,0 +1,129 @@
+package ru.mail.polis.collections.bench;
+
+import ru.mail.polis.collections.list.concurrent.EliminationBackoffStack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Класс измеряющий пропускную способность {@link EliminationBackoffStack} против стека Трайбера без элиминации
+ * в роли пула объектов при 1, 2, 4, 8, 16 и 32 потоках.
+ * <p>
+ * Usage: {@code EliminationBackoffStackBench [threads...]}.
+ * Every thread takes an object from the pool and puts it back, the pool is never empty for long.
+ */
+public class EliminationBackoffStackBench {
+
+    private static final int OPERATIONS = 2_000_000;
+    private static final int POOLED = 64;
+    private static final Integer ITEM = 42;
+
+    private interface Pool {
+
+        void push(Integer value);
+
+        Integer poll();
+    }
+
+    /**
+     * The baseline: every push and pop is a CAS on the top, retried until it succeeds.
+     */
+    private static final class TreiberStack implements Pool {
+
+        private final AtomicReference<Node> top = new AtomicReference<>();
+
+        @Override
+        public void push(Integer value) {
+            Node node = new Node(value);
+            do {
+                node.next = top.get();
+            } while (!top.compareAndSet(node.next, node));
+        }
+
+        @Override
+        public Integer poll() {
+            Node h;
+            do {
+                h = top.get();
+                if (h == null) {
+                    return null;
+                }
+            } while (!top.compareAndSet(h, h.next));
+            return h.value;
+        }
+
+        private static final class Node {
+
+            private final Integer value;
+            private Node next;
+
+            Node(Integer value) {
+                this.value = value;
+            }
+        }
+    }
+
+    /**
+     * Runs {@link #OPERATIONS} take-and-return pairs spread over the threads.
+     *
+     * @return the number of objects the pool did not have and that had to be created
+     */
+    private static long churn(Pool pool, int threads) {
+        for (int i = 0; i < POOLED; i++) {
+            pool.push(ITEM);
+        }
+        long[] created = new long[threads];
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            int share = OPERATIONS / threads + (t < OPERATIONS % threads ? 1 : 0);
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < share; i++) {
+                    Integer value = pool.poll();
+                    if (value == null) {
+                        value = ITEM;
+                        created[index]++;
+                    }
+                    pool.push(value);
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        long total = 0;
+        for (int t = 0; t < threads; t++) {
+            try {
+                workers.get(t).join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            total += created[t];
+        }
+        return total;
+    }
+
+    public static void main(String[] args) {
+        Bench.printEnvironment();
+        Bench.row("%-8s %18s %18s", "threads", "elimination Mops/s", "treiber Mops/s");
+        for (int threads : Bench.intArgs(args, 1, 2, 4, 8, 16, 32)) {
+            long eliminationNanos = Bench.medianNanos(2, 5, () -> {
+                EliminationBackoffStack<Integer> stack = new EliminationBackoffStack<>();
+                return churn(new Pool() {
+                    @Override
+                    public void push(Integer value) {
+                        stack.push(value);
+                    }
+
+                    @Override
+                    public Integer poll() {
+                        return stack.poll();
+                    }
+                }, threads);
+            });
+            long treiberNanos = Bench.medianNanos(2, 5, () -> churn(new TreiberStack(), threads));
+            Bench.row("%-8d %18.2f %18.2f", threads,
+                    2 * OPERATIONS * 1e3 / eliminationNanos, 2 * OPERATIONS * 1e3 / treiberNanos);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package ru.mail.polis.collections.bench;
+
+import ru.mail.polis.collections.list.todo.ArrayPriorityQueueSimple;
+import ru.mail.polis.collections.list.todo.FibonacciHeap;
+import ru.mail.polis.collections.list.todo.PairingHeap;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Класс измеряющий алгоритм Дейкстры на {@link PairingHeap} и {@link FibonacciHeap} с decreaseKey
+ * против {@link ArrayPriorityQueueSimple} с повторной вставкой и пропуском устаревших записей.
+ * <p>
+ * Usage: {@code HeapDijkstraBench [vertices] [degree]}, a random graph of 100000 vertices
+ * with 10 outgoing edges each by default.
+ * <p>
+ * Also merges 64 partitions of 16384 elements into one queue: by meld for the linked heaps,
+ * by re-insertion for the array heap.
+ */
+public class HeapDijkstraBench {
+
+    private static final class Entry implements Comparable<Entry> {
+
+        private final long distance;
+        private final int vertex;
+
+        Entry(long distance, int vertex) {
+            this.distance = distance;
+            this.vertex = vertex;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int result = Long.compare(distance, other.distance);
+            return result != 0 ? result : Integer.compare(vertex, other.vertex);
+        }
+    }
+
+    /**
+     * Adjacency lists in compressed form: the edges of vertex v are {@code [offsets[v], offsets[v + 1])}.
+     */
+    private static final class Graph {
+
+        private final int[] offsets;
+        private final int[] targets;
+        private final int[] weights;
+
+        Graph(int vertices, int degree) {
+            Random random = new Random(42);
+            offsets = new int[vertices + 1];
+            targets = new int[vertices * degree];
+            weights = new int[vertices * degree];
+            for (int v = 0; v < vertices; v++) {
+                offsets[v + 1] = offsets[v] + degree;
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    targets[e] = random.nextInt(vertices);
+                    weights[e] = 1 + random.nextInt(1000);
+                }
+            }
+        }
+
+        int vertices() {
+            return offsets.length - 1;
+        }
+    }
+
+    private static long[] initialDistances(Graph graph) {
+        long[] distance = new long[graph.vertices()];
+        Arrays.fill(distance, Long.MAX_VALUE);
+        distance[0] = 0;
+        return distance;
+    }
+
+    private static long checksum(long[] distance) {
+        long sum = 0;
+        for (long d : distance) {
+            if (d != Long.MAX_VALUE) {
+                sum += d;
+            }
+        }
+        return sum;
+    }
+
+    private static long pairing(Graph graph) {
+        long[] distance = initialDistances(graph);
+        PairingHeap<Entry> heap = new PairingHeap<>();
+        @SuppressWarnings("unchecked")
+        PairingHeap.Handle<Entry>[] handles = (PairingHeap.Handle<Entry>[]) new PairingHeap.Handle<?>[graph.vertices()];
+        handles[0] = heap.insert(new Entry(0, 0));
+        while (!heap.isEmpty()) {
+            Entry entry = heap.remove();
+            int v = entry.vertex;
+            for (int e = graph.offsets[v]; e < graph.offsets[v + 1]; e++) {
+                int u = graph.targets[e];
+                long candidate = entry.distance + graph.weights[e];
+                if (candidate < distance[u]) {
+                    if (handles[u] == null) {
+                        handles[u] = heap.insert(new Entry(candidate, u));
+                    } else {
+                        heap.decreaseKey(handles[u], new Entry(candidate, u));
+                    }
+                    distance[u] = candidate;
+                }
+            }
+        }
+        return checksum(distance);
+    }
+
+    private static long fibonacci(Graph graph) {
+        long[] distance = initialDistances(graph);
+        FibonacciHeap<Entry> heap = new FibonacciHeap<>();
+        @SuppressWarnings("unchecked")
+        FibonacciHeap.Handle<Entry>[] handles =
+                (FibonacciHeap.Handle<Entry>[]) new FibonacciHeap.Handle<?>[graph.vertices()];
+        handles[0] = heap.insert(new Entry(0, 0));
+        while (!heap.isEmpty()) {
+            Entry entry = heap.remove();
+            int v = entry.vertex;
+            for (int e = graph.offsets[v]; e < graph.offsets[v + 1]; e++) {
+                int u = graph.targets[e];
+                long candidate = entry.distance + graph.weights[e];
+                if (candidate < distance[u]) {
+                    if (handles[u] == null) {
+                        handles[u] = heap.insert(new Entry(candidate, u));
+                    } else {
+                        heap.decreaseKey(handles[u], new Entry(candidate, u));
+                    }
+                    distance[u] = candidate;
+                }
+            }
+        }
+        return checksum(distance);
+    }
+
+    private static long array(Graph graph) {
+        long[] distance = initialDistances(graph);
+        ArrayPriorityQueueSimple<Entry> heap = new ArrayPriorityQueueSimple<>();
+        heap.add(new Entry(0, 0));
+        while (!heap.isEmpty()) {
+            Entry entry = heap.remove();
+            int v = entry.vertex;
+            if (entry.distance > distance[v]) {
+                continue;
+            }
+            for (int e = graph.offsets[v]; e < graph.offsets[v + 1]; e++) {
+                int u = graph.targets[e];
+                long candidate = entry.distance + graph.weights[e];
+                if (candidate < distance[u]) {
+                    heap.add(new Entry(candidate, u));
+                    distance[u] = candidate;
+                }
+            }
+        }
+        return checksum(distance);
+    }
+
+    private static final int PARTITIONS = 64;
+    private static final int PARTITION_SIZE = 16384;
+
+    private static Entry[][] partitions() {
+        Random random = new Random(7);
+        Entry[][] partitions = new Entry[PARTITIONS][PARTITION_SIZE];
+        for (Entry[] partition : partitions) {
+            for (int i = 0; i < PARTITION_SIZE; i++) {
+                partition[i] = new Entry(random.nextInt(1 << 30), i);
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * Returns the time of the merge alone, the partitions are filled before the timer starts.
+     */
+    private static long mergeNanos(Entry[][] partitions, String heap) {
+        long start;
+        Object merged;
+        if (heap.equals("pairing")) {
+            PairingHeap<Entry>[] heaps = newPairingHeaps(partitions);
+            start = System.nanoTime();
+            for (int i = 1; i < heaps.length; i++) {
+                heaps[0].meld(heaps[i]);
+            }
+            merged = heaps[0].element();
+        } else if (heap.equals("fibonacci")) {
+            FibonacciHeap<Entry>[] heaps = newFibonacciHeaps(partitions);
+            start = System.nanoTime();
+            for (int i = 1; i < heaps.length; i++) {
+                heaps[0].meld(heaps[i]);
+            }
+            merged = heaps[0].element();
+        } else {
+            @SuppressWarnings("unchecked")
+            ArrayPriorityQueueSimple<Entry>[] heaps =
+                    (ArrayPriorityQueueSimple<Entry>[]) new ArrayPriorityQueueSimple<?>[partitions.length];
+            for (int i = 0; i < partitions.length; i++) {
+                heaps[i] = new ArrayPriorityQueueSimple<>(Arrays.asList(partitions[i]));
+            }
+            start = System.nanoTime();
+            for (int i = 1; i < heaps.length; i++) {
+                while (!heaps[i].isEmpty()) {
+                    heaps[0].add(heaps[i].remove());
+                }
+            }
+            merged = heaps[0].element();
+        }
+        long nanos = System.nanoTime() - start;
+        Bench.sink += merged.hashCode();
+        return nanos;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PairingHeap<Entry>[] newPairingHeaps(Entry[][] partitions) {
+        PairingHeap<Entry>[] heaps = (PairingHeap<Entry>[]) new PairingHeap<?>[partitions.length];
+        for (int i = 0; i < partitions.length; i++) {
+            heaps[i] = new PairingHeap<>();
+            for (Entry entry : partitions[i]) {
+                heaps[i].add(entry);
+            }
+        }
+        return heaps;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static FibonacciHeap<Entry>[] newFibonacciHeaps(Entry[][] partitions) {
+        FibonacciHeap<Entry>[] heaps = (FibonacciHeap<Entry>[]) new FibonacciHeap<?>[partitions.length];
+        for (int i = 0; i < partitions.length; i++) {
+            heaps[i] = new FibonacciHeap<>();
+            for (Entry entry : partitions[i]) {
+                heaps[i].add(entry);
+            }
+        }
+        return heaps;
+    }
+
+    private static double medianMergeMillis(Entry[][] partitions, String heap) {
+        long[] times = new long[7];
+        for (int i = -3; i < times.length; i++) {
+            long nanos = mergeNanos(partitions, heap);
+            if (i >= 0) {
+                times[i] = nanos;
+            }
+        }
+        Arrays.sort(times);
+        return times[times.length / 2] / 1e6;
+    }
+
+    public static void main(String[] args) {
+        int[] parameters = Bench.intArgs(args, 100_000, 10);
+        Graph graph = new Graph(parameters[0], parameters[1]);
+        if (pairing(graph) != array(graph) || fibonacci(graph) != array(graph)) {
+            throw new AssertionError("Heaps disagree on the distances");
+        }
+        Bench.printEnvironment();
+        Bench.row("# %d vertices, %d edges", graph.vertices(), graph.targets.length);
+        Bench.row("%-26s %10s", "heap", "ms");
+        Bench.row("%-26s %10.1f", "PairingHeap", Bench.medianNanos(5, 11, () -> pairing(graph)) / 1e6);
+        Bench.row("%-26s %10.1f", "FibonacciHeap", Bench.medianNanos(5, 11, () -> fibonacci(graph)) / 1e6);
+        Bench.row("%-26s %10.1f", "ArrayPriorityQueueSimple", Bench.medianNanos(5, 11, () -> array(graph)) / 1e6);
+        Entry[][] partitions = partitions();
+        Bench.row("# merge of %d partitions x %d elements", PARTITIONS, PARTITION_SIZE);
+        Bench.row("%-26s %10s", "heap", "ms");
+        Bench.row("%-26s %10.3f", "PairingHeap.meld", medianMergeMillis(partitions, "pairing"));
+        Bench.row("%-26s %10.3f", "FibonacciHeap.meld", medianMergeMillis(partitions, "fibonacci"));
+        Bench.row("%-26s %10.3f", "ArrayPriorityQueueSimple", medianMergeMillis(partitions, "array"));
+    }
+}
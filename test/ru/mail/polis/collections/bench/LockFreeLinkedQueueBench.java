@@ -0,0 +1,57 @@
+package ru.mail.polis.collections.bench;
+
+import ru.mail.polis.collections.bench.MpmcArrayQueueBench.BoundedQueue;
+import ru.mail.polis.collections.bench.MpmcArrayQueueBench.LockedQueue;
+import ru.mail.polis.collections.list.concurrent.LockFreeLinkedDeque;
+import ru.mail.polis.collections.list.concurrent.LockFreeLinkedQueue;
+
+/**
+ * Класс измеряющий пропускную способность {@link LockFreeLinkedQueue} и {@link LockFreeLinkedDeque}
+ * против {@link LockedQueue} из {@link MpmcArrayQueueBench} при 1, 2, 4, 8 и 16 парах производитель/потребитель.
+ * <p>
+ * Usage: {@code LockFreeLinkedQueueBench [pairs...]}.
+ * The linked queues are unbounded, their producers never wait; the deque is used as a FIFO queue.
+ */
+public class LockFreeLinkedQueueBench {
+
+    public static void main(String[] args) {
+        Bench.printEnvironment();
+        Bench.row("%-6s %16s %16s %16s", "pairs", "queue Mops/s", "deque Mops/s", "locked Mops/s");
+        for (int pairs : Bench.intArgs(args, 1, 2, 4, 8, 16)) {
+            long queueNanos = Bench.medianNanos(2, 5, () -> {
+                LockFreeLinkedQueue<Integer> queue = new LockFreeLinkedQueue<>();
+                return MpmcArrayQueueBench.transfer(new BoundedQueue() {
+                    @Override
+                    public boolean offer(Integer value) {
+                        return queue.offer(value);
+                    }
+
+                    @Override
+                    public Integer poll() {
+                        return queue.poll();
+                    }
+                }, pairs);
+            });
+            long dequeNanos = Bench.medianNanos(2, 5, () -> {
+                LockFreeLinkedDeque<Integer> deque = new LockFreeLinkedDeque<>();
+                return MpmcArrayQueueBench.transfer(new BoundedQueue() {
+                    @Override
+                    public boolean offer(Integer value) {
+                        deque.addLast(value);
+                        return true;
+                    }
+
+                    @Override
+                    public Integer poll() {
+                        return deque.pollFirst();
+                    }
+                }, pairs);
+            });
+            long lockedNanos = Bench.medianNanos(2, 5,
+                    () -> MpmcArrayQueueBench.transfer(new LockedQueue(), pairs));
+            int transfers = MpmcArrayQueueBench.TRANSFERS;
+            Bench.row("%-6d %16.2f %16.2f %16.2f", pairs,
+                    transfers * 1e3 / queueNanos, transfers * 1e3 / dequeNanos, transfers * 1e3 / lockedNanos);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package ru.mail.polis.collections.bench;
+
+import ru.mail.polis.collections.list.concurrent.MpmcArrayQueue;
+import ru.mail.polis.collections.list.todo.ArrayDequeSimple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Класс измеряющий пропускную способность {@link MpmcArrayQueue} против {@link ArrayDequeSimple} под замком
+ * при 1, 2, 4, 8 и 16 парах производитель/потребитель.
+ * <p>
+ * Usage: {@code MpmcArrayQueueBench [pairs...]}.
+ * A full or empty queue makes the thread yield, so the numbers stay meaningful with fewer cores than threads.
+ */
+public class MpmcArrayQueueBench {
+
+    private static final int CAPACITY = 1024;
+    static final int TRANSFERS = 2_000_000;
+    private static final Integer ITEM = 42;
+
+    interface BoundedQueue {
+
+        boolean offer(Integer value);
+
+        Integer poll();
+    }
+
+    static final class LockedQueue implements BoundedQueue {
+
+        private final ArrayDequeSimple<Integer> deque = new ArrayDequeSimple<>();
+
+        @Override
+        public synchronized boolean offer(Integer value) {
+            if (deque.size() == CAPACITY) {
+                return false;
+            }
+            deque.addLast(value);
+            return true;
+        }
+
+        @Override
+        public synchronized Integer poll() {
+            return deque.isEmpty() ? null : deque.removeFirst();
+        }
+    }
+
+    /**
+     * Moves {@link #TRANSFERS} elements through the queue.
+     *
+     * @return the number of elements consumed
+     */
+    static long transfer(BoundedQueue queue, int pairs) {
+        AtomicLong consumed = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < pairs; p++) {
+            int share = TRANSFERS / pairs + (p < TRANSFERS % pairs ? 1 : 0);
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < share; i++) {
+                    while (!queue.offer(ITEM)) {
+                        Thread.yield();
+                    }
+                }
+            }));
+            threads.add(new Thread(() -> {
+                while (consumed.get() < TRANSFERS) {
+                    if (queue.poll() == null) {
+                        Thread.yield();
+                    } else {
+                        consumed.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        return consumed.get();
+    }
+
+    public static void main(String[] args) {
+        Bench.printEnvironment();
+        Bench.row("%-6s %16s %16s", "pairs", "mpmc Mops/s", "locked Mops/s");
+        for (int pairs : Bench.intArgs(args, 1, 2, 4, 8, 16)) {
+            MpmcArrayQueue<Integer> mpmc = new MpmcArrayQueue<>(CAPACITY);
+            long mpmcNanos = Bench.medianNanos(2, 5, () -> transfer(new BoundedQueue() {
+                @Override
+                public boolean offer(Integer value) {
+                    return mpmc.offer(value);
+                }
+
+                @Override
+                public Integer poll() {
+                    return mpmc.poll();
+                }
+            }, pairs));
+            long lockedNanos = Bench.medianNanos(2, 5, () -> transfer(new LockedQueue(), pairs));
+            Bench.row("%-6d %16.2f %16.2f", pairs, TRANSFERS * 1e3 / mpmcNanos, TRANSFERS * 1e3 / lockedNanos);
+        }
+    }
+}
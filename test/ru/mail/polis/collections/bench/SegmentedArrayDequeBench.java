@@ -0,0 +1,50 @@
+package ru.mail.polis.collections.bench;
+
+import ru.mail.polis.collections.list.IDeque;
+import ru.mail.polis.collections.list.todo.ArrayDequeSimple;
+import ru.mail.polis.collections.list.todo.SegmentedArrayDeque;
+
+import java.util.function.Supplier;
+
+/**
+ * Класс измеряющий худшую паузу одного addLast у {@link SegmentedArrayDeque} и {@link ArrayDequeSimple}
+ * при росте до 16M элементов.
+ * <p>
+ * Usage: {@code java -Xms1200m -Xmx1200m SegmentedArrayDequeBench [size]}:
+ * a fixed-size heap keeps collections from resizing it in the middle, so GC pauses do not hide the growth pauses.
+ * Every addLast is timed separately; the worst pause is taken from the last of several fills,
+ * so that it reflects growth rather than JIT compilation.
+ */
+public class SegmentedArrayDequeBench {
+
+    private static final Integer ITEM = 42;
+
+    private static void fill(String name, Supplier<IDeque<Integer>> factory, int size) {
+        long worst = 0;
+        long total = 0;
+        for (int round = 0; round < 3; round++) {
+            IDeque<Integer> deque = factory.get();
+            worst = 0;
+            long start = System.nanoTime();
+            long previous = start;
+            for (int i = 0; i < size; i++) {
+                deque.addLast(ITEM);
+                long now = System.nanoTime();
+                worst = Math.max(worst, now - previous);
+                previous = now;
+            }
+            total = previous - start;
+            Bench.sink += deque.size();
+        }
+        Bench.row("%-20s %14.1f %14.2f", name, total / 1e6, worst / 1e6);
+    }
+
+    public static void main(String[] args) {
+        int size = Bench.intArgs(args, 1 << 24)[0];
+        Bench.printEnvironment();
+        Bench.row("# %d x addLast", size);
+        Bench.row("%-20s %14s %14s", "deque", "total ms", "worst pause ms");
+        fill("ArrayDequeSimple", ArrayDequeSimple::new, size);
+        fill("SegmentedArrayDeque", SegmentedArrayDeque::new, size);
+    }
+}
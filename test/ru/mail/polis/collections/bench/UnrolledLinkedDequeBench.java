@@ -0,0 +1,90 @@
+package ru.mail.polis.collections.bench;
+
+import ru.mail.polis.collections.list.todo.ArrayDequeSimple;
+import ru.mail.polis.collections.list.todo.UnrolledLinkedDeque;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+/**
+ * Класс измеряющий память на элемент и скорость обхода {@link UnrolledLinkedDeque}
+ * против связного списка с узлом на элемент и {@link ArrayDequeSimple}.
+ * <p>
+ * Usage: {@code UnrolledLinkedDequeBench [size]}, 1M elements by default.
+ * {@code LinkedDequeSimple} is still a stub in this tree, {@link LinkedList} stands in for a node-per-element deque.
+ * Memory is what a full collection frees once the deque is dropped, the element objects themselves are not counted.
+ */
+public class UnrolledLinkedDequeBench {
+
+    private static Integer[] values(int size) {
+        Integer[] values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+        }
+        return values;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long scan(Iterable<Integer> deque) {
+        long sum = 0;
+        for (Iterator<Integer> iterator = deque.iterator(); iterator.hasNext(); ) {
+            sum += iterator.next();
+        }
+        return sum;
+    }
+
+    private static <D extends Iterable<Integer>> D build(Supplier<D> factory, BiConsumer<D, Integer> addLast,
+                                                         Integer[] values) {
+        D deque = factory.get();
+        for (Integer value : values) {
+            addLast.accept(deque, value);
+        }
+        return deque;
+    }
+
+    private static <D extends Iterable<Integer>> void measure(String name, Supplier<D> factory,
+                                                              BiConsumer<D, Integer> addLast,
+                                                              BiPredicate<D, Integer> contains, Integer[] values) {
+        long bytes = retainedBytes(() -> build(factory, addLast, values));
+        D deque = build(factory, addLast, values);
+        long scanNanos = Bench.medianNanos(10, 21, () -> scan(deque));
+        Integer absent = -1;
+        long containsNanos = Bench.medianNanos(10, 21, () -> contains.test(deque, absent) ? 1 : 0);
+        Bench.row("%-20s %14.1f %14.2f %14.2f", name, (double) bytes / values.length,
+                (double) scanNanos / values.length, (double) containsNanos / values.length);
+    }
+
+    /**
+     * Returns what a full collection frees once the only reference to the built object is cleared.
+     */
+    private static long retainedBytes(Supplier<?> builder) {
+        Object[] holder = new Object[1];
+        holder[0] = builder.get();
+        long with = usedHeap();
+        holder[0] = null;
+        return with - usedHeap();
+    }
+
+    public static void main(String[] args) {
+        int size = Bench.intArgs(args, 1_000_000)[0];
+        Integer[] values = values(size);
+        Bench.printEnvironment();
+        Bench.row("# %d elements", size);
+        Bench.row("%-20s %14s %14s %14s", "deque", "bytes/element", "scan ns/elem", "contains ns/elem");
+        measure("LinkedList", LinkedList<Integer>::new, LinkedList::addLast, LinkedList::contains, values);
+        measure("UnrolledLinkedDeque", UnrolledLinkedDeque<Integer>::new,
+                UnrolledLinkedDeque::addLast, UnrolledLinkedDeque::contains, values);
+        measure("ArrayDequeSimple", ArrayDequeSimple<Integer>::new,
+                ArrayDequeSimple::addLast, ArrayDequeSimple::contains, values);
+    }
+}
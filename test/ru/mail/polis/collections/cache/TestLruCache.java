@@ -0,0 +1,151 @@
+package ru.mail.polis.collections.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.mail.polis.collections.set.hash.StudentGenerator;
+import ru.mail.polis.collections.set.hash.todo.Student;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class TestLruCache {
+
+    private static List<Student> students(int count) {
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            students.add(StudentGenerator.generate());
+        }
+        return students;
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        List<Student> s = students(4);
+        List<Student> evicted = new ArrayList<>();
+        LruCache<Student, Integer> cache = new LruCache<>(3, (key, value) -> 1, (key, value) -> evicted.add(key));
+        cache.put(s.get(0), 0);
+        cache.put(s.get(1), 1);
+        cache.put(s.get(2), 2);
+        Assert.assertEquals(0, (int) cache.get(s.get(0)));
+        cache.put(s.get(3), 3);
+        Assert.assertEquals(List.of(s.get(1)), evicted);
+        Assert.assertNull(cache.get(s.get(1)));
+        Assert.assertEquals(3, cache.size());
+        Assert.assertEquals(1, cache.hitCount());
+        Assert.assertEquals(1, cache.missCount());
+        Assert.assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    public void matchesAccessOrderedMap() {
+        final int capacity = 16;
+        List<Student> keys = students(64);
+        Map<Student, Integer> expected = new LinkedHashMap<Student, Integer>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Student, Integer> eldest) {
+                return size() > capacity;
+            }
+        };
+        LruCache<Student, Integer> cache = new LruCache<>(capacity);
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            Student key = keys.get(random.nextInt(keys.size()));
+            switch (random.nextInt(4)) {
+                case 0:
+                    Assert.assertEquals(expected.remove(key), cache.remove(key));
+                    break;
+                case 1:
+                    Assert.assertEquals(expected.put(key, i), cache.put(key, i));
+                    break;
+                default:
+                    Assert.assertEquals(expected.get(key), cache.get(key));
+            }
+            Assert.assertEquals(expected.size(), cache.size());
+        }
+        for (Student key : keys) {
+            Assert.assertEquals(expected.containsKey(key), cache.containsKey(key));
+        }
+    }
+
+    @Test
+    public void weigher() {
+        List<Student> s = students(3);
+        LruCache<Student, String> cache = new LruCache<>(10, (key, value) -> value.length(), (key, value) -> {
+        });
+        cache.put(s.get(0), "aaaa");
+        cache.put(s.get(1), "bbbbbb");
+        Assert.assertEquals(10, cache.weight());
+        cache.put(s.get(2), "ccccccccccc");
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(10, cache.weight());
+        Assert.assertEquals(1, cache.evictionCount());
+        cache.put(s.get(2), "ccc");
+        Assert.assertFalse(cache.containsKey(s.get(0)));
+        Assert.assertEquals(9, cache.weight());
+    }
+
+    @Test
+    public void oversizedEntryKeepsOthers() {
+        List<Student> s = students(4);
+        List<String> evicted = new ArrayList<>();
+        LruCache<Student, String> cache = new LruCache<>(10, (key, value) -> value.length(),
+                (key, value) -> evicted.add(value));
+        cache.put(s.get(0), "aa");
+        cache.put(s.get(1), "bbb");
+        cache.put(s.get(2), "cccc");
+        Assert.assertNull(cache.put(s.get(3), "HUGE_VALUE_OVER_LIMIT"));
+        Assert.assertEquals(List.of("HUGE_VALUE_OVER_LIMIT"), evicted);
+        Assert.assertEquals(3, cache.size());
+        Assert.assertEquals(9, cache.weight());
+        Assert.assertFalse(cache.containsKey(s.get(3)));
+        Assert.assertEquals("bbb", cache.put(s.get(1), "HUGE_VALUE_OVER_LIMIT"));
+        Assert.assertFalse(cache.containsKey(s.get(1)));
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(6, cache.weight());
+        Assert.assertEquals(2, cache.evictionCount());
+    }
+
+    @Test
+    public void segmentedIsScanResistant() {
+        List<Student> hot = students(5);
+        SegmentedLruCache<Student, Integer> cache = new SegmentedLruCache<>(10);
+        for (Student key : hot) {
+            cache.put(key, 0);
+            cache.get(key);
+        }
+        for (Student key : students(100)) {
+            cache.put(key, 1);
+        }
+        for (Student key : hot) {
+            Assert.assertTrue(cache.containsKey(key));
+        }
+        Assert.assertEquals(10, cache.size());
+        Assert.assertEquals(95, cache.evictionCount());
+    }
+
+    @Test
+    public void segmentedDemotesToProbation() {
+        List<Student> s = students(4);
+        SegmentedLruCache<Student, Integer> cache = new SegmentedLruCache<>(3, 1, (key, value) -> 1, (key, value) -> {
+        });
+        cache.put(s.get(0), 0);
+        cache.put(s.get(1), 1);
+        cache.get(s.get(0));
+        cache.get(s.get(1));
+        cache.put(s.get(2), 2);
+        cache.put(s.get(3), 3);
+        Assert.assertFalse(cache.containsKey(s.get(0)));
+        Assert.assertTrue(cache.containsKey(s.get(1)));
+        cache.clear();
+        Assert.assertTrue(cache.isEmpty());
+        Assert.assertNull(cache.get(s.get(1)));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullKey() {
+        new LruCache<Student, Integer>(1).get(null);
+    }
+}
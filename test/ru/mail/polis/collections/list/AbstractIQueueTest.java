@@ -4,6 +4,7 @@ import org.junit.Assert;
 import org.junit.Test;
 import ru.mail.polis.collections.AbstractICollectionTest;
 
+import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 /*
@@ -65,4 +66,68 @@ public abstract class AbstractIQueueTest extends AbstractICollectionTest {
         Assert.assertFalse(queue.contains("C"));
     }
 
+    @Test(expected = NullPointerException.class)
+    public void addAllLastNull() {
+        get().addAllLast(new String[]{"A", null});
+    }
+
+    @Test
+    public void addAllLastNullAddsNothing() {
+        IQueue<String> queue = get();
+        queue.addLast("A");
+        try {
+            queue.addAllLast(new String[]{"B", null, "C"});
+            Assert.fail();
+        } catch (NullPointerException expected) {
+            Assert.assertEquals(1, queue.size());
+            Assert.assertFalse(queue.contains("B"));
+        }
+    }
+
+    @Test
+    public void addAllLast() {
+        IQueue<String> queue = get();
+        for (int i = 0; i < 10; i++) {
+            queue.addLast("X");
+            queue.removeFirst();
+        }
+        queue.addLast("A");
+        queue.addAllLast(new String[]{"B", "C", "D", "E", "F", "G", "H", "I", "J", "K", "L", "M", "N", "O", "P", "Q"});
+        queue.addAllLast(queue);
+        Assert.assertEquals(34, queue.size());
+        Iterator<String> iterator = queue.iterator();
+        for (int i = 0; i < 34; i++) {
+            Assert.assertEquals(String.valueOf((char) ('A' + i % 17)), iterator.next());
+        }
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void drainTo() {
+        IQueue<String> queue = get();
+        queue.addAllLast(new String[]{"A", "B", "C", "D"});
+        String[] dst = new String[3];
+        Assert.assertEquals(2, queue.drainTo(dst, 2));
+        Assert.assertArrayEquals(new String[]{"A", "B", null}, dst);
+        Assert.assertEquals(2, queue.drainTo(dst, 10));
+        Assert.assertArrayEquals(new String[]{"C", "D", null}, dst);
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertEquals(0, queue.drainTo(dst, 10));
+    }
+
+    @Test
+    public void removeFirstN() {
+        IQueue<String> queue = get();
+        queue.addAllLast(new String[]{"A", "B", "C"});
+        queue.removeFirst(2);
+        Assert.assertEquals(1, queue.size());
+        Assert.assertEquals("C", queue.getFirst());
+        Assert.assertFalse(queue.contains("A"));
+        try {
+            queue.removeFirst(2);
+            Assert.fail();
+        } catch (NoSuchElementException expected) {
+            Assert.assertEquals(1, queue.size());
+        }
+    }
 }
@@ -0,0 +1,170 @@
+package ru.mail.polis.collections.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Общие тесты куч с дескрипторами элементов, decreaseKey и meld
+ *
+ * @param <Q> the type of the heap
+ * @param <H> the type of the handles of the heap
+ */
+public abstract class AbstractMeldableHeapTest<Q extends IPriorityQueue<Integer>, H> {
+
+    protected abstract Q create(Comparator<Integer> comparator);
+
+    protected abstract H insert(Q heap, int value);
+
+    protected abstract void decreaseKey(Q heap, H handle, int value);
+
+    protected abstract int valueOf(H handle);
+
+    protected abstract void meld(Q heap, Q other);
+
+    protected Q create() {
+        return create(Comparator.naturalOrder());
+    }
+
+    @Test
+    public void randomDecreaseKey() {
+        Q testPQ = create();
+        List<H> handles = new ArrayList<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 20000; i++) {
+            int operation = random.nextInt(3);
+            if (operation == 0 || testPQ.isEmpty()) {
+                handles.add(insert(testPQ, random.nextInt(1 << 20)));
+            } else if (operation == 1) {
+                H handle = handles.get(random.nextInt(handles.size()));
+                try {
+                    decreaseKey(testPQ, handle, valueOf(handle) - random.nextInt(1000));
+                } catch (IllegalArgumentException e) {
+                    Assert.assertFalse(isPresent(testPQ, handle));
+                }
+            } else {
+                Assert.assertEquals(minOf(testPQ), (int) testPQ.remove());
+            }
+        }
+        assertSorted(testPQ, Comparator.naturalOrder());
+    }
+
+    @Test
+    public void meld() {
+        Q first = create(Comparator.reverseOrder());
+        Q second = create(Comparator.reverseOrder());
+        PriorityQueue<Integer> validPQ = new PriorityQueue<>(Comparator.reverseOrder());
+        for (int i = 0; i < 100; i++) {
+            first.add(i);
+            validPQ.add(i);
+        }
+        H handle = insert(second, -1);
+        for (int i = 200; i < 300; i++) {
+            second.add(i);
+            validPQ.add(i);
+        }
+        meld(first, second);
+        Assert.assertTrue(second.isEmpty());
+        Assert.assertEquals(201, first.size());
+        decreaseKey(first, handle, 1000);
+        Assert.assertEquals(1000, (int) first.remove());
+        while (!validPQ.isEmpty()) {
+            Assert.assertEquals(validPQ.remove(), first.remove());
+        }
+    }
+
+    @Test
+    public void meldAgainAndThroughChain() {
+        Q first = create();
+        Q second = create();
+        Q third = create();
+        H fromSecond = insert(second, 10);
+        meld(first, second);
+        H fromSecondAgain = insert(second, 20);
+        H fromThird = insert(third, 30);
+        meld(second, third);
+        meld(first, second);
+        Assert.assertEquals(3, first.size());
+        Assert.assertFalse(isPresent(second, fromThird));
+        Assert.assertFalse(isPresent(third, fromThird));
+        decreaseKey(first, fromThird, 1);
+        decreaseKey(first, fromSecondAgain, 2);
+        decreaseKey(first, fromSecond, 3);
+        Assert.assertEquals(1, (int) first.remove());
+        Assert.assertEquals(2, (int) first.remove());
+        Assert.assertEquals(3, (int) first.remove());
+        Assert.assertTrue(first.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void meldItself() {
+        Q heap = create();
+        meld(heap, heap);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void foreignHandle() {
+        Q first = create();
+        Q second = create();
+        first.add(1);
+        decreaseKey(first, insert(second, 5), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void removedHandle() {
+        Q testPQ = create();
+        H handle = insert(testPQ, 1);
+        testPQ.add(2);
+        testPQ.remove();
+        decreaseKey(testPQ, handle, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void clearedHandle() {
+        Q testPQ = create();
+        H handle = insert(testPQ, 1);
+        testPQ.clear();
+        testPQ.add(2);
+        decreaseKey(testPQ, handle, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void keyIncreased() {
+        Q testPQ = create();
+        decreaseKey(testPQ, insert(testPQ, 1), 2);
+    }
+
+    protected void assertSorted(Q heap, Comparator<Integer> comparator) {
+        Integer previous = null;
+        while (!heap.isEmpty()) {
+            Integer value = heap.remove();
+            Assert.assertTrue(previous == null || comparator.compare(previous, value) <= 0);
+            previous = value;
+        }
+    }
+
+    protected int minOf(Q heap) {
+        int min = Integer.MAX_VALUE;
+        int count = 0;
+        for (int value : heap) {
+            min = Math.min(min, value);
+            count++;
+        }
+        Assert.assertEquals(heap.size(), count);
+        return min;
+    }
+
+    protected boolean isPresent(Q heap, H handle) {
+        try {
+            decreaseKey(heap, handle, valueOf(handle));
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
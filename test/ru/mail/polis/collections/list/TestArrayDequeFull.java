@@ -0,0 +1,134 @@
+package ru.mail.polis.collections.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.mail.polis.collections.list.todo.ArrayDequeFull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+public class TestArrayDequeFull {
+
+    private static ArrayDequeFull<Integer> wrapped(int count) {
+        ArrayDequeFull<Integer> deque = new ArrayDequeFull<>();
+        for (int i = count / 2 - 1; i >= 0; i--) {
+            deque.addFirst(i);
+        }
+        for (int i = count / 2; i < count; i++) {
+            deque.addLast(i);
+        }
+        return deque;
+    }
+
+    @Test
+    public void getAndSet() {
+        ArrayDequeFull<Integer> deque = wrapped(10);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(i, (int) deque.get(i));
+            Assert.assertEquals(i, (int) deque.set(i, -i));
+        }
+        Assert.assertEquals(-9, (int) deque.getLast());
+    }
+
+    @Test
+    public void addAllItself() {
+        ArrayDequeFull<Integer> deque = wrapped(10);
+        Assert.assertTrue(deque.addAll(deque));
+        Assert.assertEquals(20, deque.size());
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(i % 10, (int) deque.get(i));
+        }
+        Assert.assertFalse(new ArrayDequeFull<Integer>().addAll(new ArrayDequeFull<>()));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getOutOfBounds() {
+        wrapped(3).get(3);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void addOutOfBounds() {
+        wrapped(3).add(4, 0);
+    }
+
+    @Test
+    public void randomIndexedAgainstArrayList() {
+        Random random = new Random(42);
+        ArrayDequeFull<Integer> deque = new ArrayDequeFull<>();
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            int op = random.nextInt(10);
+            if (op < 6 || valid.isEmpty()) {
+                int index = random.nextInt(valid.size() + 1);
+                deque.add(index, i);
+                valid.add(index, i);
+            } else {
+                int index = random.nextInt(valid.size());
+                Assert.assertEquals(valid.remove(index), deque.remove(index));
+            }
+        }
+        Assert.assertEquals(valid.size(), deque.size());
+        Assert.assertArrayEquals(valid.toArray(), deque.toArray());
+    }
+
+    @Test
+    public void occurrences() {
+        ArrayDequeFull<Integer> deque = new ArrayDequeFull<>();
+        for (int i = 0; i < 6; i++) {
+            deque.addLast(i % 3);
+        }
+        Assert.assertTrue(deque.removeFirstOccurrence(1));
+        Assert.assertTrue(deque.removeLastOccurrence(0));
+        Assert.assertFalse(deque.removeLastOccurrence(7));
+        Assert.assertEquals("[0, 2, 1, 2]", deque.toString());
+    }
+
+    @Test
+    public void removeIf() {
+        ArrayDequeFull<Integer> deque = wrapped(100);
+        Assert.assertTrue(deque.removeIf(value -> value % 3 == 0));
+        Assert.assertFalse(deque.removeIf(value -> value % 3 == 0));
+        Assert.assertEquals(66, deque.size());
+        int expected = 1;
+        for (int value : deque) {
+            Assert.assertEquals(expected, value);
+            expected += expected % 3 == 1 ? 1 : 2;
+        }
+        Assert.assertTrue(deque.retainAll(List.of(1, 2, 4)));
+        Assert.assertEquals("[1, 2, 4]", deque.toString());
+    }
+
+    @Test
+    public void removeIfThrowingKeepsUntested() {
+        ArrayDequeFull<Integer> deque = wrapped(10);
+        try {
+            deque.removeIf(value -> {
+                if (value == 5) {
+                    throw new IllegalStateException();
+                }
+                return value % 2 == 0;
+            });
+            Assert.fail();
+        } catch (IllegalStateException expected) {
+            Assert.assertEquals("[1, 3, 5, 6, 7, 8, 9]", deque.toString());
+        }
+    }
+
+    @Test
+    public void descendingIteratorRemove() {
+        ArrayDequeFull<Integer> deque = wrapped(10);
+        Iterator<Integer> iterator = deque.descendingIterator();
+        List<Integer> seen = new ArrayList<>();
+        while (iterator.hasNext()) {
+            int value = iterator.next();
+            seen.add(value);
+            if (value % 4 == 1) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(List.of(9, 8, 7, 6, 5, 4, 3, 2, 1, 0), seen);
+        Assert.assertEquals("[0, 2, 3, 4, 6, 7, 8]", deque.toString());
+    }
+}
@@ -0,0 +1,80 @@
+package ru.mail.polis.collections.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.mail.polis.collections.list.todo.ArrayDequeSimple;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+public class TestArrayDequeSpliterator {
+
+    /**
+     * Builds a deque of {@code 0 .. count - 1} whose elements wrap around the end of the backing array.
+     */
+    private static ArrayDequeSimple<Integer> wrapped(int count) {
+        ArrayDequeSimple<Integer> deque = new ArrayDequeSimple<>();
+        for (int i = count / 2 - 1; i >= 0; i--) {
+            deque.addFirst(i);
+        }
+        for (int i = count / 2; i < count; i++) {
+            deque.addLast(i);
+        }
+        return deque;
+    }
+
+    @Test
+    public void characteristics() {
+        Spliterator<Integer> spliterator = wrapped(10).spliterator();
+        Assert.assertTrue(spliterator.hasCharacteristics(
+                Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL));
+        Assert.assertEquals(10, spliterator.getExactSizeIfKnown());
+    }
+
+    @Test
+    public void splitKeepsOrderAndSize() {
+        Spliterator<Integer> suffix = wrapped(11).spliterator();
+        Spliterator<Integer> prefix = suffix.trySplit();
+        Assert.assertNotNull(prefix);
+        Assert.assertEquals(5, prefix.getExactSizeIfKnown());
+        Assert.assertEquals(6, suffix.getExactSizeIfKnown());
+        List<Integer> values = new ArrayList<>();
+        prefix.forEachRemaining(values::add);
+        Assert.assertTrue(suffix.tryAdvance(values::add));
+        suffix.forEachRemaining(values::add);
+        for (int i = 0; i < 11; i++) {
+            Assert.assertEquals(i, (int) values.get(i));
+        }
+        Assert.assertEquals(11, values.size());
+    }
+
+    @Test
+    public void singleElementDoesNotSplit() {
+        Assert.assertNull(wrapped(1).spliterator().trySplit());
+    }
+
+    @Test
+    public void parallelStream() {
+        int count = 100_000;
+        ArrayDequeSimple<Integer> deque = wrapped(count);
+        Assert.assertEquals((long) count * (count - 1) / 2,
+                deque.parallelStream().mapToLong(Integer::longValue).sum());
+        List<Integer> list = deque.parallelStream().collect(Collectors.toList());
+        for (int i = 0; i < count; i++) {
+            Assert.assertEquals(i, (int) list.get(i));
+        }
+        Assert.assertEquals(count, deque.stream().count());
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void failFast() {
+        ArrayDequeSimple<Integer> deque = wrapped(4);
+        Spliterator<Integer> spliterator = deque.spliterator();
+        spliterator.tryAdvance(value -> { });
+        deque.addLast(4);
+        spliterator.tryAdvance(value -> { });
+    }
+}
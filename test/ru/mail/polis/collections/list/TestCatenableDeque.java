@@ -0,0 +1,98 @@
+package ru.mail.polis.collections.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.mail.polis.collections.list.todo.CatenableDeque;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+public class TestCatenableDeque {
+
+    private static CatenableDeque<Integer> range(int from, int to) {
+        CatenableDeque<Integer> deque = new CatenableDeque<>();
+        for (int i = from; i < to; i++) {
+            deque.addLast(i);
+        }
+        return deque;
+    }
+
+    private static void assertRange(int from, int to, CatenableDeque<Integer> deque) {
+        Assert.assertEquals(to - from, deque.size());
+        int expected = from;
+        for (int value : deque) {
+            Assert.assertEquals(expected++, value);
+        }
+        Assert.assertEquals(to, expected);
+    }
+
+    @Test
+    public void getByIndex() {
+        CatenableDeque<Integer> deque = range(0, 1000);
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(i, (int) deque.get(i));
+        }
+    }
+
+    @Test
+    public void splitInHalvesAndConcat() {
+        CatenableDeque<Integer> deque = range(0, 1 << 12);
+        List<CatenableDeque<Integer>> parts = new ArrayList<>();
+        parts.add(deque);
+        while (parts.get(0).size() > 1) {
+            List<CatenableDeque<Integer>> halves = new ArrayList<>();
+            for (CatenableDeque<Integer> part : parts) {
+                CatenableDeque<Integer> second = part.splitAt(part.size() / 2);
+                halves.add(part);
+                halves.add(second);
+            }
+            parts = halves;
+        }
+        for (int i = 0; i < parts.size(); i++) {
+            assertRange(i, i + 1, parts.get(i));
+        }
+        CatenableDeque<Integer> result = new CatenableDeque<>();
+        for (CatenableDeque<Integer> part : parts) {
+            result.concat(part);
+            Assert.assertTrue(part.isEmpty());
+        }
+        assertRange(0, 1 << 12, result);
+    }
+
+    @Test
+    public void splitBounds() {
+        CatenableDeque<Integer> deque = range(0, 10);
+        assertRange(0, 10, deque.splitAt(0));
+        Assert.assertTrue(deque.isEmpty());
+        deque = range(0, 10);
+        Assert.assertTrue(deque.splitAt(10).isEmpty());
+        assertRange(0, 10, deque);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void splitOutOfBounds() {
+        range(0, 10).splitAt(-1);
+    }
+
+    @Test
+    public void iteratorRemove() {
+        Random random = new Random(42);
+        CatenableDeque<Integer> deque = range(0, 2000);
+        List<Integer> valid = new ArrayList<>();
+        Iterator<Integer> iterator = deque.iterator();
+        while (iterator.hasNext()) {
+            int value = iterator.next();
+            if (random.nextBoolean()) {
+                iterator.remove();
+            } else {
+                valid.add(value);
+            }
+        }
+        Assert.assertEquals(valid.size(), deque.size());
+        for (int i = 0; i < valid.size(); i++) {
+            Assert.assertEquals(valid.get(i), deque.get(i));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ru.mail.polis.collections.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.mail.polis.collections.list.todo.CursorLinkedDeque;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestCursorLinkedDeque {
+
+    private static List<String> toList(CursorLinkedDeque<String> deque) {
+        List<String> result = new ArrayList<>();
+        for (String value : deque) {
+            result.add(value);
+        }
+        return result;
+    }
+
+    @Test
+    public void handles() {
+        CursorLinkedDeque<String> deque = new CursorLinkedDeque<>(0);
+        int b = deque.linkLast("B");
+        int a = deque.linkFirst("A");
+        int c = deque.linkLast("C");
+        Assert.assertEquals("A", deque.get(a));
+        Assert.assertEquals(a, deque.firstHandle());
+        Assert.assertEquals(c, deque.lastHandle());
+        Assert.assertEquals("B", deque.remove(b));
+        Assert.assertEquals(List.of("A", "C"), toList(deque));
+        deque.moveToFront(c);
+        Assert.assertEquals(List.of("C", "A"), toList(deque));
+        deque.moveToBack(c);
+        Assert.assertEquals(List.of("A", "C"), toList(deque));
+        Assert.assertEquals("C", deque.get(c));
+    }
+
+    @Test
+    public void slotsAreReused() {
+        CursorLinkedDeque<String> deque = new CursorLinkedDeque<>(4);
+        int first = deque.linkLast("A");
+        deque.linkLast("B");
+        deque.remove(first);
+        Assert.assertEquals(first, deque.linkLast("C"));
+        Assert.assertEquals(List.of("B", "C"), toList(deque));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void removedHandle() {
+        CursorLinkedDeque<String> deque = new CursorLinkedDeque<>();
+        int handle = deque.linkLast("A");
+        deque.linkLast("B");
+        deque.remove(handle);
+        deque.remove(handle);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownHandle() {
+        new CursorLinkedDeque<String>().moveToFront(3);
+    }
+
+    @Test
+    public void lruOrder() {
+        CursorLinkedDeque<String> deque = new CursorLinkedDeque<>();
+        int[] handles = new int[1000];
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = deque.linkFirst(Integer.toString(i));
+        }
+        for (int i = 0; i < handles.length; i += 2) {
+            deque.moveToFront(handles[i]);
+        }
+        for (int i = 1; i < handles.length; i += 2) {
+            Assert.assertEquals(Integer.toString(i), deque.removeLast());
+        }
+        for (int i = 0; i < handles.length; i += 2) {
+            Assert.assertEquals(Integer.toString(i), deque.removeLast());
+        }
+        Assert.assertTrue(deque.isEmpty());
+        Assert.assertEquals(CursorLinkedDeque.NIL, deque.firstHandle());
+    }
+}
@@ -0,0 +1,75 @@
+package ru.mail.polis.collections.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import ru.mail.polis.collections.list.todo.ArrayPriorityQueueSimple;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Класс тестирующий {@link ArrayPriorityQueueSimple} с арностью кучи 2, 4 и 8
+ */
+@RunWith(value = Parameterized.class)
+public class TestDaryPriorityQueue {
+
+    @Parameterized.Parameter
+    public int arity;
+
+    @Parameterized.Parameters(name = "d = {0}")
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][]{{2}, {4}, {8}});
+    }
+
+    @Test
+    public void randomOperations() {
+        ArrayPriorityQueueSimple<Integer> testPQ = new ArrayPriorityQueueSimple<>(Comparator.<Integer>naturalOrder(), arity);
+        PriorityQueue<Integer> validPQ = new PriorityQueue<>();
+        Assert.assertEquals(arity, testPQ.arity());
+        Random random = new Random(arity);
+        for (int i = 0; i < 20000; i++) {
+            if (validPQ.isEmpty() || random.nextInt(3) != 0) {
+                int value = random.nextInt(1000);
+                testPQ.add(value);
+                validPQ.add(value);
+            } else {
+                Assert.assertEquals(validPQ.remove(), testPQ.remove());
+            }
+            Assert.assertEquals(validPQ.size(), testPQ.size());
+        }
+        while (!validPQ.isEmpty()) {
+            Assert.assertEquals(validPQ.remove(), testPQ.remove());
+        }
+    }
+
+    @Test
+    public void iteratorRemove() {
+        ArrayPriorityQueueSimple<Integer> testPQ = new ArrayPriorityQueueSimple<>(Comparator.<Integer>reverseOrder(), arity);
+        for (int i = 0; i < 100; i++) {
+            testPQ.add(i * 37 % 101);
+        }
+        Iterator<Integer> iterator = testPQ.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() % 3 == 0) {
+                iterator.remove();
+            }
+        }
+        int previous = Integer.MAX_VALUE;
+        while (!testPQ.isEmpty()) {
+            int value = testPQ.remove();
+            Assert.assertTrue(value % 3 != 0 && value < previous);
+            previous = value;
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsupportedArity() {
+        new ArrayPriorityQueueSimple<Integer>(Comparator.naturalOrder(), arity + 1);
+    }
+}
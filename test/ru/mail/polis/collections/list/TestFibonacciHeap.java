@@ -0,0 +1,78 @@
+package ru.mail.polis.collections.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.mail.polis.collections.list.todo.FibonacciHeap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public class TestFibonacciHeap extends AbstractMeldableHeapTest<FibonacciHeap<Integer>, FibonacciHeap.Handle<Integer>> {
+
+    @Override
+    protected FibonacciHeap<Integer> create(Comparator<Integer> comparator) {
+        return new FibonacciHeap<>(comparator);
+    }
+
+    @Override
+    protected FibonacciHeap.Handle<Integer> insert(FibonacciHeap<Integer> heap, int value) {
+        return heap.insert(value);
+    }
+
+    @Override
+    protected void decreaseKey(FibonacciHeap<Integer> heap, FibonacciHeap.Handle<Integer> handle, int value) {
+        heap.decreaseKey(handle, value);
+    }
+
+    @Override
+    protected int valueOf(FibonacciHeap.Handle<Integer> handle) {
+        return handle.value();
+    }
+
+    @Override
+    protected void meld(FibonacciHeap<Integer> heap, FibonacciHeap<Integer> other) {
+        heap.meld(other);
+    }
+
+    /**
+     * 65 elements minus the minimum consolidate into one tree of 64 nodes. Decreasing every node
+     * below the current minimum cuts it, marks its parent on the first cut and cuts the marked
+     * parent on the second one, so the cuts cascade up through the ancestors.
+     */
+    @Test
+    public void cascadingCutChain() {
+        FibonacciHeap<Integer> heap = create();
+        List<FibonacciHeap.Handle<Integer>> handles = new ArrayList<>();
+        for (int i = 0; i <= 64; i++) {
+            handles.add(heap.insert(i));
+        }
+        Assert.assertEquals(0, (int) heap.remove());
+        int next = -1;
+        for (int i = 64; i >= 1; i--) {
+            heap.decreaseKey(handles.get(i), next--);
+            Assert.assertEquals(next + 1, (int) heap.element());
+        }
+        Assert.assertEquals(64, heap.size());
+        for (int expected = -64; expected <= -1; expected++) {
+            Assert.assertEquals(expected, (int) heap.remove());
+        }
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void decreaseKeyToEqualParentDoesNotCut() {
+        FibonacciHeap<Integer> heap = create();
+        List<FibonacciHeap.Handle<Integer>> handles = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            handles.add(heap.insert(i * 10));
+        }
+        Assert.assertEquals(0, (int) heap.remove());
+        heap.decreaseKey(handles.get(8), 10);
+        heap.decreaseKey(handles.get(7), 10);
+        Assert.assertEquals(10, (int) heap.remove());
+        Assert.assertEquals(10, (int) heap.remove());
+        Assert.assertEquals(10, (int) heap.remove());
+        Assert.assertEquals(20, (int) heap.remove());
+    }
+}
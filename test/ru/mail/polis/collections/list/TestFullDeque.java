@@ -3,6 +3,7 @@ package ru.mail.polis.collections.list;
 import org.junit.Before;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
+import ru.mail.polis.collections.list.concurrent.TwoLockLinkedBlockingDeque;
 import ru.mail.polis.collections.list.todo.ArrayDequeFull;
 import ru.mail.polis.collections.list.todo.LinkedDequeFull;
 
@@ -30,7 +31,8 @@ public class TestFullDeque extends AbstractTestFullDeque {
     public static Collection<Class<?>> data() {
         return Arrays.asList(
                 ArrayDequeFull.class,
-                LinkedDequeFull.class
+                LinkedDequeFull.class,
+                TwoLockLinkedBlockingDeque.class
         );
     }
 
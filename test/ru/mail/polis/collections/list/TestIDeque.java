@@ -4,10 +4,16 @@ import org.junit.Before;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import ru.mail.polis.collections.TestHelper;
+import ru.mail.polis.collections.list.concurrent.LockFreeLinkedDeque;
+import ru.mail.polis.collections.list.concurrent.TwoLockLinkedBlockingDeque;
 import ru.mail.polis.collections.list.todo.ArrayDequeFull;
 import ru.mail.polis.collections.list.todo.ArrayDequeSimple;
+import ru.mail.polis.collections.list.todo.CatenableDeque;
+import ru.mail.polis.collections.list.todo.CursorLinkedDeque;
 import ru.mail.polis.collections.list.todo.LinkedDequeFull;
 import ru.mail.polis.collections.list.todo.LinkedDequeSimple;
+import ru.mail.polis.collections.list.todo.SegmentedArrayDeque;
+import ru.mail.polis.collections.list.todo.UnrolledLinkedDeque;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -18,11 +24,17 @@ import java.util.Collection;
  */
 
 /**
- * Класс тестирующий интерфейс {@link IDeque<Integer>} в четырёх реализациях:
+ * Класс тестирующий интерфейс {@link IDeque<Integer>} в десяти реализациях:
  * 1) {@link ArrayDequeSimple<Integer>}
  * 2) {@link LinkedDequeSimple<Integer>}
  * 3) {@link ArrayDequeFull<Integer>}
  * 4) {@link LinkedDequeFull<Integer>}
+ * 5) {@link SegmentedArrayDeque<Integer>}
+ * 6) {@link TwoLockLinkedBlockingDeque<Integer>}
+ * 7) {@link UnrolledLinkedDeque<Integer>}
+ * 8) {@link CursorLinkedDeque<Integer>}
+ * 9) {@link LockFreeLinkedDeque<Integer>}
+ * 10) {@link CatenableDeque<Integer>}
  */
 @RunWith(value = Parameterized.class)
 public class TestIDeque extends AbstractIDequeTest {
@@ -43,6 +55,18 @@ public class TestIDeque extends AbstractIDequeTest {
                 ArrayDequeFull.class
                 ,
                 LinkedDequeFull.class
+                ,
+                SegmentedArrayDeque.class
+                ,
+                TwoLockLinkedBlockingDeque.class
+                ,
+                UnrolledLinkedDeque.class
+                ,
+                CursorLinkedDeque.class
+                ,
+                LockFreeLinkedDeque.class
+                ,
+                CatenableDeque.class
         );
     }
 
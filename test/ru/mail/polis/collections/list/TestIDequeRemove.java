@@ -3,8 +3,13 @@ package ru.mail.polis.collections.list;
 import org.junit.Before;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
+import ru.mail.polis.collections.list.concurrent.LockFreeLinkedDeque;
 import ru.mail.polis.collections.list.todo.ArrayDequeSimple;
+import ru.mail.polis.collections.list.todo.CatenableDeque;
+import ru.mail.polis.collections.list.todo.CursorLinkedDeque;
 import ru.mail.polis.collections.list.todo.LinkedDequeSimple;
+import ru.mail.polis.collections.list.todo.SegmentedArrayDeque;
+import ru.mail.polis.collections.list.todo.UnrolledLinkedDeque;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -20,7 +25,12 @@ public class TestIDequeRemove extends AbstractIDequeRemoveTest {
     public static Collection<Class<?>> data() {
         return Arrays.asList(
                 ArrayDequeSimple.class,
-                LinkedDequeSimple.class
+                LinkedDequeSimple.class,
+                SegmentedArrayDeque.class,
+                UnrolledLinkedDeque.class,
+                CursorLinkedDeque.class,
+                LockFreeLinkedDeque.class,
+                CatenableDeque.class
         );
     }
 
@@ -0,0 +1,148 @@
+package ru.mail.polis.collections.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.mail.polis.collections.list.todo.IndexedPriorityQueue;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class TestIndexedPriorityQueue {
+
+    @Test
+    public void randomUpdates() {
+        IndexedPriorityQueue<Task> testPQ = new IndexedPriorityQueue<>(Comparator.<Task>naturalOrder(), 1);
+        Map<Integer, Integer> valid = new HashMap<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 20000; i++) {
+            int id = random.nextInt(300);
+            int priority = random.nextInt(1000);
+            Task task = new Task(id, priority);
+            Integer old = valid.get(id);
+            switch (random.nextInt(5)) {
+                case 0:
+                    Assert.assertEquals(old != null, testPQ.remove(task));
+                    valid.remove(id);
+                    break;
+                case 1:
+                    if (old == null) {
+                        testPQ.add(task);
+                    } else if (priority <= old) {
+                        testPQ.decreaseKey(task);
+                    } else {
+                        testPQ.increaseKey(task);
+                    }
+                    valid.put(id, priority);
+                    break;
+                case 2:
+                    if (!valid.isEmpty()) {
+                        Task head = testPQ.remove();
+                        Assert.assertEquals(minPriority(valid), head.priority);
+                        Assert.assertEquals(head.priority, (int) valid.remove(head.id));
+                    }
+                    break;
+                default:
+                    testPQ.update(task);
+                    valid.put(id, priority);
+            }
+            Assert.assertEquals(valid.size(), testPQ.size());
+            Assert.assertEquals(valid.containsKey(id), testPQ.contains(new Task(id, 0)));
+        }
+        while (!valid.isEmpty()) {
+            Task head = testPQ.remove();
+            Assert.assertEquals(minPriority(valid), head.priority);
+            valid.remove(head.id);
+        }
+        Assert.assertTrue(testPQ.isEmpty());
+    }
+
+    @Test
+    public void keyChangedInPlace() {
+        IndexedPriorityQueue<Task> testPQ = new IndexedPriorityQueue<>();
+        Task[] tasks = new Task[10];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = new Task(i, i);
+            testPQ.add(tasks[i]);
+        }
+        tasks[7].priority = -1;
+        testPQ.decreaseKey(tasks[7]);
+        tasks[0].priority = 100;
+        testPQ.increaseKey(tasks[0]);
+        Assert.assertSame(tasks[7], testPQ.remove());
+        Assert.assertSame(tasks[1], testPQ.remove());
+    }
+
+    @Test
+    public void iteratorRemove() {
+        IndexedPriorityQueue<Task> testPQ = new IndexedPriorityQueue<>(Comparator.<Task>reverseOrder());
+        for (int i = 0; i < 100; i++) {
+            testPQ.add(new Task(i, i * 37 % 101));
+        }
+        Iterator<Task> iterator = testPQ.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().id % 2 == 0) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(50, testPQ.size());
+        int previous = Integer.MAX_VALUE;
+        while (!testPQ.isEmpty()) {
+            Task task = testPQ.remove();
+            Assert.assertTrue(task.id % 2 != 0 && task.priority < previous);
+            previous = task.priority;
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addDuplicate() {
+        IndexedPriorityQueue<Task> testPQ = new IndexedPriorityQueue<>();
+        testPQ.add(new Task(1, 1));
+        testPQ.add(new Task(1, 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decreaseKeyIncreases() {
+        IndexedPriorityQueue<Task> testPQ = new IndexedPriorityQueue<>();
+        testPQ.add(new Task(1, 1));
+        testPQ.decreaseKey(new Task(1, 2));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void decreaseKeyMissing() {
+        new IndexedPriorityQueue<Task>().decreaseKey(new Task(1, 1));
+    }
+
+    private static int minPriority(Map<Integer, Integer> valid) {
+        return valid.values().stream().min(Integer::compare).orElseThrow();
+    }
+
+    private static class Task implements Comparable<Task> {
+
+        private final int id;
+        private int priority;
+
+        Task(int id, int priority) {
+            this.id = id;
+            this.priority = priority;
+        }
+
+        @Override
+        public int compareTo(Task o) {
+            return Integer.compare(priority, o.priority);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Task && ((Task) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id;
+        }
+    }
+}
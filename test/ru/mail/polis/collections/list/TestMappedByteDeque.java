@@ -0,0 +1,259 @@
+package ru.mail.polis.collections.list;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import ru.mail.polis.collections.list.todo.MappedByteDeque;
+import ru.mail.polis.collections.list.todo.MappedByteDeque.ForcePolicy;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class TestMappedByteDeque {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static void corrupt(Path file, long offset) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(offset);
+            int value = raf.read();
+            raf.seek(offset);
+            raf.write(value ^ 0xff);
+        }
+    }
+
+    /**
+     * Records which part of the file every force covers: the header page or the data region.
+     */
+    private static final class RecordingDeque extends MappedByteDeque {
+
+        private final List<String> forces = new ArrayList<>();
+
+        RecordingDeque(Path file, int initialCapacity, ForcePolicy forcePolicy) throws IOException {
+            super(file, initialCapacity, forcePolicy);
+        }
+
+        @Override
+        protected void forceRange(int offset, int length) {
+            forces.add(offset == 0 ? "header" : "records");
+            super.forceRange(offset, length);
+        }
+    }
+
+    @Test
+    public void recordsForcedBeforeHeader() throws IOException {
+        try (RecordingDeque deque = new RecordingDeque(folder.newFile().toPath(), 64, ForcePolicy.ALWAYS)) {
+            deque.addLast(bytes("tail"));
+            Assert.assertEquals(List.of("records", "header"), deque.forces);
+            deque.forces.clear();
+            deque.addFirst(bytes("head"));
+            Assert.assertEquals(List.of("records", "header"), deque.forces);
+            deque.forces.clear();
+            for (int i = 0; i < 3; i++) {
+                deque.removeFirst();
+                deque.addLast(bytes("wrapping record " + i));
+            }
+            Assert.assertEquals("records", deque.forces.get(deque.forces.size() - 2));
+            Assert.assertEquals("header", deque.forces.get(deque.forces.size() - 1));
+            deque.forces.clear();
+            deque.removeLast();
+            Assert.assertEquals(List.of("header"), deque.forces);
+        }
+    }
+
+    @Test
+    public void recordsForcedBeforeHeaderWhenWrapping() throws IOException {
+        try (RecordingDeque deque = new RecordingDeque(folder.newFile().toPath(), 64, ForcePolicy.ALWAYS)) {
+            deque.addLast(new byte[40]);
+            deque.addLast(new byte[2]);
+            deque.removeFirst();
+            deque.forces.clear();
+            deque.addLast(new byte[20]);
+            Assert.assertEquals(List.of("records", "records", "header"), deque.forces);
+            deque.forces.clear();
+            deque.addFirst(new byte[10]);
+            Assert.assertEquals(List.of("records", "header"), deque.forces);
+            Assert.assertEquals(3, deque.size());
+        }
+    }
+
+    @Test
+    public void nothingForcedUnlessAlways() throws IOException {
+        try (RecordingDeque deque = new RecordingDeque(folder.newFile().toPath(), 64, ForcePolicy.ON_CLOSE)) {
+            deque.addLast(bytes("a"));
+            deque.removeFirst();
+            Assert.assertEquals(List.of(), deque.forces);
+        }
+    }
+
+    @Test
+    public void bothEnds() throws IOException {
+        try (MappedByteDeque deque = new MappedByteDeque(folder.newFile().toPath(), 64, ForcePolicy.NEVER)) {
+            deque.addLast(bytes("b"));
+            deque.addFirst(bytes("a"));
+            deque.addLast(new byte[0]);
+            Assert.assertEquals(3, deque.size());
+            Assert.assertTrue(deque.contains(bytes("b")));
+            Assert.assertFalse(deque.contains(bytes("c")));
+            Assert.assertEquals("a", string(deque.removeFirst()));
+            Assert.assertEquals(0, deque.removeLast().length);
+            Assert.assertEquals("b", string(deque.getLast()));
+            Assert.assertEquals("b", string(deque.removeFirst()));
+            Assert.assertTrue(deque.isEmpty());
+        }
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void removeFromEmpty() throws IOException {
+        try (MappedByteDeque deque = new MappedByteDeque(folder.newFile().toPath(), 64, ForcePolicy.NEVER)) {
+            deque.removeLast();
+        }
+    }
+
+    @Test
+    public void reopen() throws IOException {
+        Path file = folder.newFile().toPath();
+        try (MappedByteDeque deque = new MappedByteDeque(file, 64, ForcePolicy.ON_CLOSE)) {
+            for (int i = 0; i < 100; i++) {
+                deque.addLast(bytes("job-" + i));
+            }
+            for (int i = 0; i < 40; i++) {
+                deque.removeFirst();
+            }
+            deque.addFirst(bytes("urgent"));
+        }
+        try (MappedByteDeque deque = new MappedByteDeque(file, 64, ForcePolicy.ALWAYS)) {
+            Assert.assertEquals(61, deque.size());
+            Assert.assertEquals("urgent", string(deque.removeFirst()));
+            for (int i = 40; i < 100; i++) {
+                Assert.assertEquals("job-" + i, string(deque.removeFirst()));
+            }
+            Assert.assertTrue(deque.isEmpty());
+        }
+    }
+
+    @Test
+    public void wrapAndGrowAgainstArrayDeque() throws IOException {
+        Random random = new Random(42);
+        Deque<String> valid = new ArrayDeque<>();
+        try (MappedByteDeque deque = new MappedByteDeque(folder.newFile().toPath(), 64, ForcePolicy.NEVER)) {
+            for (int i = 0; i < 20000; i++) {
+                int op = random.nextInt(10);
+                String value = Integer.toString(i);
+                if (op < 3) {
+                    deque.addFirst(bytes(value));
+                    valid.addFirst(value);
+                } else if (op < 6) {
+                    deque.addLast(bytes(value));
+                    valid.addLast(value);
+                } else if (op < 8 && !valid.isEmpty()) {
+                    Assert.assertEquals(valid.removeFirst(), string(deque.removeFirst()));
+                } else if (!valid.isEmpty()) {
+                    Assert.assertEquals(valid.removeLast(), string(deque.removeLast()));
+                }
+                Assert.assertEquals(valid.size(), deque.size());
+            }
+            Assert.assertTrue(deque.capacity() > 64);
+            int index = 0;
+            String[] expected = valid.toArray(new String[0]);
+            for (byte[] record : deque) {
+                Assert.assertEquals(expected[index++], string(record));
+            }
+            Assert.assertEquals(expected.length, index);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void notADequeFile() throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, bytes("definitely not a deque"));
+        new MappedByteDeque(file, 64, ForcePolicy.NEVER).close();
+    }
+
+    /**
+     * The header slots are at offsets 64 and 128, a new file publishes sequence 1 in the second one
+     * and every later update alternates between them.
+     */
+    @Test
+    public void tornHeaderFallsBackToPreviousState() throws IOException {
+        Path file = folder.newFile().toPath();
+        try (MappedByteDeque deque = new MappedByteDeque(file, 64, ForcePolicy.ON_CLOSE)) {
+            deque.addLast(bytes("a"));
+            deque.addLast(bytes("b"));
+        }
+        corrupt(file, 128 + 24);
+        try (MappedByteDeque deque = new MappedByteDeque(file, 64, ForcePolicy.ON_CLOSE)) {
+            Assert.assertEquals(1, deque.size());
+            Assert.assertEquals("a", string(deque.getLast()));
+            deque.addLast(bytes("c"));
+        }
+        try (MappedByteDeque deque = new MappedByteDeque(file, 64, ForcePolicy.ON_CLOSE)) {
+            Assert.assertEquals(2, deque.size());
+            Assert.assertEquals("a", string(deque.removeFirst()));
+            Assert.assertEquals("c", string(deque.removeFirst()));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void bothHeaderSlotsCorrupted() throws IOException {
+        Path file = folder.newFile().toPath();
+        try (MappedByteDeque deque = new MappedByteDeque(file, 64, ForcePolicy.ON_CLOSE)) {
+            deque.addLast(bytes("a"));
+        }
+        corrupt(file, 64 + 8);
+        corrupt(file, 128 + 8);
+        new MappedByteDeque(file, 64, ForcePolicy.NEVER).close();
+    }
+
+    @Test
+    public void reopenAfterGrowth() throws IOException {
+        Path file = folder.newFile().toPath();
+        try (MappedByteDeque deque = new MappedByteDeque(file, 64, ForcePolicy.NEVER)) {
+            for (int i = 0; i < 10; i++) {
+                deque.addLast(bytes("record-" + i));
+            }
+            for (int i = 0; i < 5; i++) {
+                deque.removeFirst();
+                deque.addLast(bytes("wrapped-" + i));
+            }
+            deque.addFirst(new byte[300]);
+            deque.force();
+        }
+        try (MappedByteDeque deque = new MappedByteDeque(file, 64, ForcePolicy.NEVER)) {
+            Assert.assertEquals(11, deque.size());
+            Assert.assertEquals(300, deque.removeFirst().length);
+            for (int i = 5; i < 10; i++) {
+                Assert.assertEquals("record-" + i, string(deque.removeFirst()));
+            }
+            for (int i = 0; i < 5; i++) {
+                Assert.assertEquals("wrapped-" + i, string(deque.removeFirst()));
+            }
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void closed() throws IOException {
+        MappedByteDeque deque = new MappedByteDeque(folder.newFile().toPath(), 64, ForcePolicy.NEVER);
+        deque.close();
+        deque.addLast(bytes("late"));
+    }
+}
@@ -0,0 +1,146 @@
+package ru.mail.polis.collections.list;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import ru.mail.polis.collections.list.todo.OffHeapRecordDeque;
+import ru.mail.polis.collections.list.todo.OffHeapRecordDeque.RecordCodec;
+import ru.mail.polis.collections.list.todo.OffHeapRecordDeque.RecordView;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+public class TestOffHeapRecordDeque extends AbstractIDequeTest {
+
+    /**
+     * Strings of up to 15 chars: a short length followed by the chars.
+     */
+    private static final RecordCodec<String> STRING_CODEC = new RecordCodec<String>() {
+        @Override
+        public int recordSize() {
+            return 32;
+        }
+
+        @Override
+        public void encode(String value, ByteBuffer buffer, int offset) {
+            buffer.putShort(offset, (short) value.length());
+            for (int i = 0; i < value.length(); i++) {
+                buffer.putChar(offset + 2 + 2 * i, value.charAt(i));
+            }
+        }
+
+        @Override
+        public String decode(ByteBuffer buffer, int offset) {
+            char[] chars = new char[buffer.getShort(offset)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = buffer.getChar(offset + 2 + 2 * i);
+            }
+            return new String(chars);
+        }
+    };
+
+    /**
+     * A 32-byte market data record, only time and price are used here.
+     */
+    private static final class Tick {
+        final long time;
+        final long price;
+
+        Tick(long time, long price) {
+            this.time = time;
+            this.price = price;
+        }
+    }
+
+    private static final RecordCodec<Tick> TICK_CODEC = new RecordCodec<Tick>() {
+        @Override
+        public int recordSize() {
+            return 32;
+        }
+
+        @Override
+        public void encode(Tick value, ByteBuffer buffer, int offset) {
+            buffer.putLong(offset, value.time);
+            buffer.putLong(offset + 8, value.price);
+        }
+
+        @Override
+        public Tick decode(ByteBuffer buffer, int offset) {
+            return new Tick(buffer.getLong(offset), buffer.getLong(offset + 8));
+        }
+    };
+
+    private static final class TickView implements RecordView {
+        private ByteBuffer buffer;
+        private int offset;
+
+        @Override
+        public void wrap(ByteBuffer buffer, int offset) {
+            this.buffer = buffer;
+            this.offset = offset;
+        }
+
+        long time() {
+            return buffer.getLong(offset);
+        }
+
+        long price() {
+            return buffer.getLong(offset + 8);
+        }
+    }
+
+    private OffHeapRecordDeque<String> deque;
+
+    @Before
+    public void init() {
+        deque = new OffHeapRecordDeque<>(STRING_CODEC, 2);
+    }
+
+    @Override
+    public IDeque<String> get() {
+        return deque;
+    }
+
+    @Test
+    public void viewsAndDrops() {
+        OffHeapRecordDeque<Tick> ticks = new OffHeapRecordDeque<>(TICK_CODEC, 4);
+        for (int i = 0; i < 100; i++) {
+            ticks.addLast(new Tick(i, 10 * i));
+        }
+        ticks.addFirst(new Tick(-1, -10));
+        Assert.assertEquals(128, ticks.capacity());
+        TickView view = new TickView();
+        for (int i = -1; i < 100; i++) {
+            Assert.assertSame(view, ticks.viewFirst(view));
+            Assert.assertEquals(i, view.time());
+            Assert.assertEquals(10 * i, view.price());
+            Assert.assertEquals(99, ticks.viewLast(new TickView()).time());
+            ticks.dropFirst();
+        }
+        Assert.assertTrue(ticks.isEmpty());
+    }
+
+    @Test
+    public void iteratorRemove() {
+        for (int i = 0; i < 10; i++) {
+            deque.addLast("v" + i);
+        }
+        Iterator<String> iterator = deque.iterator();
+        while (iterator.hasNext()) {
+            String value = iterator.next();
+            if (value.equals("v2") || value.equals("v7")) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(8, deque.size());
+        Assert.assertFalse(deque.contains("v2"));
+        Assert.assertFalse(deque.contains("v7"));
+        Assert.assertEquals("v0", deque.getFirst());
+        Assert.assertEquals("v9", deque.getLast());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooLargeCapacity() {
+        new OffHeapRecordDeque<>(TICK_CODEC, Integer.MAX_VALUE / 16);
+    }
+}
@@ -0,0 +1,57 @@
+package ru.mail.polis.collections.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.mail.polis.collections.list.todo.PairingHeap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public class TestPairingHeap extends AbstractMeldableHeapTest<PairingHeap<Integer>, PairingHeap.Handle<Integer>> {
+
+    @Override
+    protected PairingHeap<Integer> create(Comparator<Integer> comparator) {
+        return new PairingHeap<>(comparator);
+    }
+
+    @Override
+    protected PairingHeap.Handle<Integer> insert(PairingHeap<Integer> heap, int value) {
+        return heap.insert(value);
+    }
+
+    @Override
+    protected void decreaseKey(PairingHeap<Integer> heap, PairingHeap.Handle<Integer> handle, int value) {
+        heap.decreaseKey(handle, value);
+    }
+
+    @Override
+    protected int valueOf(PairingHeap.Handle<Integer> handle) {
+        return handle.value();
+    }
+
+    @Override
+    protected void meld(PairingHeap<Integer> heap, PairingHeap<Integer> other) {
+        heap.meld(other);
+    }
+
+    @Test
+    public void decreaseLeftmostAndInnerChildren() {
+        PairingHeap<Integer> heap = create();
+        List<PairingHeap.Handle<Integer>> handles = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            handles.add(heap.insert(100 + i));
+        }
+        Assert.assertEquals(100, (int) heap.remove());
+        for (int i = 63; i >= 1; i -= 2) {
+            heap.decreaseKey(handles.get(i), i - 64);
+        }
+        Assert.assertEquals(63, heap.size());
+        int previous = Integer.MIN_VALUE;
+        while (!heap.isEmpty()) {
+            int value = heap.remove();
+            Assert.assertTrue(value >= previous);
+            previous = value;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package ru.mail.polis.collections.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.mail.polis.collections.list.todo.ArrayDequeSimple;
+import ru.mail.polis.collections.list.todo.PersistentDeque;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class TestPersistentDeque {
+
+    private static void assertSame(Deque<Integer> expected, PersistentDeque<Integer> actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        Iterator<Integer> iterator = actual.iterator();
+        for (Integer value : expected) {
+            Assert.assertTrue(iterator.hasNext());
+            Assert.assertEquals(value, iterator.next());
+        }
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void randomAgainstArrayDeque() {
+        Random random = new Random(42);
+        PersistentDeque<Integer> deque = PersistentDeque.empty();
+        Deque<Integer> valid = new ArrayDeque<>();
+        for (int i = 0; i < 100000; i++) {
+            int op = random.nextInt(10);
+            if (op < 3) {
+                deque = deque.withFirst(i);
+                valid.addFirst(i);
+            } else if (op < 6) {
+                deque = deque.withLast(i);
+                valid.addLast(i);
+            } else if (!valid.isEmpty()) {
+                if (op < 8) {
+                    Assert.assertEquals(valid.removeFirst(), deque.getFirst());
+                    deque = deque.withoutFirst();
+                } else {
+                    Assert.assertEquals(valid.removeLast(), deque.getLast());
+                    deque = deque.withoutLast();
+                }
+            }
+            Assert.assertEquals(valid.size(), deque.size());
+        }
+        assertSame(valid, deque);
+    }
+
+    @Test
+    public void versionsAreImmutable() {
+        PersistentDeque<Integer> empty = PersistentDeque.empty();
+        PersistentDeque<Integer> one = empty.withLast(1);
+        PersistentDeque<Integer> two = one.withLast(2);
+        PersistentDeque<Integer> other = one.withFirst(0);
+        Assert.assertTrue(empty.isEmpty());
+        Assert.assertEquals(1, one.size());
+        Assert.assertEquals(2, (int) two.getLast());
+        Assert.assertEquals(0, (int) other.getFirst());
+        Assert.assertEquals(1, (int) other.getLast());
+        Assert.assertTrue(two.withoutFirst().withoutLast().isEmpty());
+        Assert.assertEquals(2, two.size());
+        Assert.assertTrue(two.contains(1));
+        Assert.assertFalse(other.contains(2));
+    }
+
+    @Test
+    public void copyIntoMutableDeque() {
+        PersistentDeque<Integer> deque = PersistentDeque.empty();
+        for (int i = 0; i < 10; i++) {
+            deque = deque.withLast(i);
+        }
+        ArrayDequeSimple<Integer> copy = new ArrayDequeSimple<>();
+        for (int value : deque) {
+            copy.addLast(value);
+        }
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(i, (int) copy.removeFirst());
+        }
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void withoutFirstOfEmpty() {
+        PersistentDeque.empty().withoutFirst();
+    }
+
+    @Test
+    public void iteratedRepeatedlyAndShared() {
+        PersistentDeque<Integer> deque = PersistentDeque.<Integer>empty().withFirst(0);
+        Deque<Integer> valid = new ArrayDeque<>();
+        valid.addLast(0);
+        for (int i = 1; i < 100; i++) {
+            deque = deque.withLast(i);
+            valid.addLast(i);
+        }
+        assertSame(valid, deque);
+        assertSame(valid, deque);
+        PersistentDeque<Integer> shorter = deque.withoutFirst().withFirst(-1);
+        valid.removeFirst();
+        valid.addFirst(-1);
+        assertSame(valid, shorter);
+        Assert.assertEquals(0, (int) deque.getFirst());
+        Assert.assertEquals(100, (int) shorter.withoutLast().withLast(100).getLast());
+        assertSame(valid, shorter);
+    }
+
+    @Test
+    public void slidingWindowKeepsOldVersions() {
+        PersistentDeque<Integer> deque = PersistentDeque.empty();
+        for (int i = 0; i < 50; i++) {
+            deque = deque.withLast(i);
+        }
+        PersistentDeque<Integer> old = deque;
+        for (int i = 50; i < 200_000; i++) {
+            deque = deque.withLast(i).withoutFirst();
+        }
+        Deque<Integer> valid = new ArrayDeque<>();
+        for (int i = 200_000 - 50; i < 200_000; i++) {
+            valid.addLast(i);
+        }
+        assertSame(valid, deque);
+        for (int i = 0; i < 200_000; i++) {
+            deque = deque.withFirst(-i).withoutLast();
+        }
+        Assert.assertEquals(-200_000 + 1, (int) deque.getFirst());
+        Assert.assertEquals(-200_000 + 50, (int) deque.getLast());
+        valid.clear();
+        for (int i = 0; i < 50; i++) {
+            valid.addLast(i);
+        }
+        assertSame(valid, old);
+    }
+}
@@ -0,0 +1,98 @@
+package ru.mail.polis.collections.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.mail.polis.collections.list.todo.DoubleArrayDeque;
+import ru.mail.polis.collections.list.todo.IntArrayDeque;
+import ru.mail.polis.collections.list.todo.LongArrayDeque;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+public class TestPrimitiveArrayDeque {
+
+    @Test(expected = NoSuchElementException.class)
+    public void intRemoveFirstEmpty() {
+        new IntArrayDeque().removeFirst();
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void longGetLastEmpty() {
+        new LongArrayDeque().getLast();
+    }
+
+    @Test
+    public void intDeq() {
+        IntArrayDeque deque = new IntArrayDeque(1);
+        deque.addFirst(1); //[1]
+        deque.addLast(2); //[1 2]
+        deque.addLast(3); //[1 2 3]
+        deque.addFirst(4); //[4 1 2 3]
+        Assert.assertEquals(4, deque.size());
+        Assert.assertTrue(deque.contains(3));
+        Assert.assertFalse(deque.contains(5));
+        Assert.assertEquals(3, deque.removeLast());
+        Assert.assertEquals(4, deque.removeFirst());
+        Assert.assertEquals(1, deque.removeFirst());
+        Assert.assertEquals(2, deque.removeFirst());
+        Assert.assertTrue(deque.isEmpty());
+    }
+
+    @Test
+    public void intAgainstArrayDeque() {
+        IntArrayDeque deque = new IntArrayDeque();
+        Deque<Integer> valid = new ArrayDeque<>();
+        for (int i = 0; i < 1000; i++) {
+            if (i % 3 == 0) {
+                deque.addFirst(i);
+                valid.addFirst(i);
+            } else {
+                deque.addLast(i);
+                valid.addLast(i);
+            }
+            if (i % 7 == 0) {
+                Assert.assertEquals((int) valid.removeLast(), deque.removeLast());
+            }
+        }
+        Assert.assertEquals(valid.size(), deque.size());
+        PrimitiveIterator.OfInt iterator = deque.iterator();
+        for (int expected : valid) {
+            Assert.assertTrue(iterator.hasNext());
+            Assert.assertEquals(expected, iterator.nextInt());
+        }
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void longIterRemove() {
+        LongArrayDeque deque = new LongArrayDeque();
+        for (long i = 0; i < 10; i++) {
+            deque.addLast(i);
+        }
+        PrimitiveIterator.OfLong iterator = deque.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.nextLong() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(5, deque.size());
+        for (long i = 1; i < 10; i += 2) {
+            Assert.assertEquals(i, deque.removeFirst());
+        }
+    }
+
+    @Test
+    public void doubleContains() {
+        DoubleArrayDeque deque = new DoubleArrayDeque();
+        deque.addLast(Double.NaN);
+        deque.addFirst(0.0);
+        Assert.assertTrue(deque.contains(Double.NaN));
+        Assert.assertTrue(deque.contains(0.0));
+        Assert.assertFalse(deque.contains(-0.0));
+        deque.clear();
+        Assert.assertTrue(deque.isEmpty());
+        Assert.assertFalse(deque.iterator().hasNext());
+    }
+}
@@ -0,0 +1,96 @@
+package ru.mail.polis.collections.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.mail.polis.collections.list.todo.DoubleKeyPriorityQueue;
+import ru.mail.polis.collections.list.todo.LongKeyPriorityQueue;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+public class TestPrimitiveKeyPriorityQueue {
+
+    @Test(expected = NoSuchElementException.class)
+    public void longEmpty() {
+        new LongKeyPriorityQueue<String>().firstKey();
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void doubleEmpty() {
+        new DoubleKeyPriorityQueue<String>().removeFirst();
+    }
+
+    @Test
+    public void longRandom() {
+        LongKeyPriorityQueue<Long> testPQ = new LongKeyPriorityQueue<>(1);
+        PriorityQueue<Long> validPQ = new PriorityQueue<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 20000; i++) {
+            if (validPQ.isEmpty() || random.nextInt(3) != 0) {
+                long key = random.nextLong();
+                testPQ.add(key, key);
+                validPQ.add(key);
+            } else {
+                long expected = validPQ.remove();
+                Assert.assertEquals(expected, testPQ.firstKey());
+                Assert.assertEquals(expected, (long) testPQ.removeFirst());
+            }
+            Assert.assertEquals(validPQ.size(), testPQ.size());
+        }
+        long[] sum = new long[1];
+        testPQ.forEach((value, key) -> {
+            Assert.assertEquals(key, (long) value);
+            sum[0] += key;
+        });
+        Assert.assertEquals(validPQ.stream().mapToLong(Long::longValue).sum(), sum[0]);
+        testPQ.clear();
+        Assert.assertTrue(testPQ.isEmpty());
+    }
+
+    @Test
+    public void doubleRandom() {
+        DoubleKeyPriorityQueue<Double> testPQ = new DoubleKeyPriorityQueue<>();
+        PriorityQueue<Double> validPQ = new PriorityQueue<>();
+        Random random = new Random(6);
+        for (int i = 0; i < 20000; i++) {
+            if (validPQ.isEmpty() || random.nextInt(3) != 0) {
+                double key = random.nextGaussian();
+                testPQ.add(key, key);
+                validPQ.add(key);
+            } else {
+                double expected = validPQ.remove();
+                Assert.assertEquals(expected, testPQ.firstKey(), 0.0);
+                Assert.assertEquals(expected, testPQ.removeFirst(), 0.0);
+            }
+        }
+        while (!validPQ.isEmpty()) {
+            Assert.assertEquals(validPQ.remove(), testPQ.removeFirst());
+        }
+    }
+
+    @Test
+    public void longGreatestFirst() {
+        LongKeyPriorityQueue<Long> testPQ = new LongKeyPriorityQueue<>();
+        for (long key : new long[]{0, Long.MIN_VALUE, Long.MAX_VALUE, -1, 1}) {
+            testPQ.add(~key, key);
+        }
+        for (long key : new long[]{Long.MAX_VALUE, 1, 0, -1, Long.MIN_VALUE}) {
+            Assert.assertEquals(key, (long) testPQ.removeFirst());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void doubleNaN() {
+        new DoubleKeyPriorityQueue<String>().add(Double.NaN, "NaN");
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void forEachModified() {
+        LongKeyPriorityQueue<String> testPQ = new LongKeyPriorityQueue<>();
+        testPQ.add(1, "a");
+        testPQ.add(2, "b");
+        testPQ.forEach((value, key) -> testPQ.add(key, value));
+    }
+}
@@ -0,0 +1,80 @@
+package ru.mail.polis.collections.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.mail.polis.collections.list.todo.SegmentedArrayDeque;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Random;
+
+public class TestSegmentedArrayDeque {
+
+    @Test
+    public void growBothEnds() {
+        IDeque<Integer> deque = new SegmentedArrayDeque<>();
+        for (int i = 0; i < 10000; i++) {
+            deque.addFirst(-i);
+            deque.addLast(i);
+        }
+        Assert.assertEquals(20000, deque.size());
+        Assert.assertEquals(-9999, (int) deque.getFirst());
+        Assert.assertEquals(9999, (int) deque.getLast());
+        for (int i = 9999; i >= 0; i--) {
+            Assert.assertEquals(-i, (int) deque.removeFirst());
+        }
+        for (int i = 9999; i >= 0; i--) {
+            Assert.assertEquals(i, (int) deque.removeLast());
+        }
+        Assert.assertTrue(deque.isEmpty());
+    }
+
+    @Test
+    public void randomAgainstArrayDeque() {
+        Random random = new Random(42);
+        IDeque<Integer> deque = new SegmentedArrayDeque<>();
+        Deque<Integer> valid = new ArrayDeque<>();
+        for (int i = 0; i < 200000; i++) {
+            int op = random.nextInt(10);
+            if (op < 3) {
+                deque.addFirst(i);
+                valid.addFirst(i);
+            } else if (op < 6) {
+                deque.addLast(i);
+                valid.addLast(i);
+            } else if (op < 8 && !valid.isEmpty()) {
+                Assert.assertEquals(valid.removeFirst(), deque.removeFirst());
+            } else if (!valid.isEmpty()) {
+                Assert.assertEquals(valid.removeLast(), deque.removeLast());
+            }
+            Assert.assertEquals(valid.size(), deque.size());
+        }
+        Iterator<Integer> iterator = deque.iterator();
+        for (Integer expected : valid) {
+            Assert.assertEquals(expected, iterator.next());
+        }
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void iterRemoveAcrossBlocks() {
+        IDeque<Integer> deque = new SegmentedArrayDeque<>();
+        for (int i = 0; i < 1000; i++) {
+            deque.addLast(i);
+        }
+        Iterator<Integer> iterator = deque.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() % 3 != 0) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(334, deque.size());
+        for (int i = 0; i < 1000; i += 3) {
+            Assert.assertEquals(i, (int) deque.removeFirst());
+        }
+        deque.addLast(1);
+        deque.clear();
+        Assert.assertFalse(deque.contains(1));
+    }
+}
@@ -0,0 +1,78 @@
+package ru.mail.polis.collections.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.mail.polis.collections.list.todo.ArrayDequeSimple;
+import ru.mail.polis.collections.list.todo.ArrayPriorityQueueSimple;
+
+import java.util.Comparator;
+
+public class TestShrinkPolicy {
+
+    @Test
+    public void policy() {
+        Assert.assertEquals(1024, ShrinkPolicy.NEVER.shrinkTo(0, 1024));
+        Assert.assertEquals(1024, ShrinkPolicy.QUARTER.shrinkTo(256, 1024));
+        Assert.assertEquals(512, ShrinkPolicy.QUARTER.shrinkTo(255, 1024));
+        Assert.assertEquals(16, ShrinkPolicy.QUARTER.shrinkTo(0, 1024));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noHysteresis() {
+        new ShrinkPolicy(2, 16);
+    }
+
+    @Test
+    public void dequeShrinkWithHysteresis() {
+        ArrayDequeSimple<Integer> deque = new ArrayDequeSimple<>(ShrinkPolicy.QUARTER);
+        for (int i = 0; i < 1024; i++) {
+            deque.addLast(i);
+        }
+        Assert.assertEquals(1024, deque.capacity());
+        while (deque.size() > 255) {
+            deque.removeFirst();
+        }
+        Assert.assertEquals(512, deque.capacity());
+        deque.addLast(0);
+        deque.removeLast();
+        deque.addLast(0);
+        Assert.assertEquals(512, deque.capacity());
+        Assert.assertEquals(769, (int) deque.getFirst());
+        deque.clear();
+        Assert.assertEquals(16, deque.capacity());
+    }
+
+    @Test
+    public void dequeTrimAndEnsure() {
+        ArrayDequeSimple<Integer> deque = new ArrayDequeSimple<>();
+        deque.ensureCapacity(1000);
+        Assert.assertEquals(1024, deque.capacity());
+        for (int i = 0; i < 100; i++) {
+            deque.addFirst(i);
+        }
+        deque.removeFirst(90);
+        Assert.assertEquals(1024, deque.capacity());
+        deque.trimToSize();
+        Assert.assertEquals(16, deque.capacity());
+        for (int i = 9; i >= 0; i--) {
+            Assert.assertEquals(i, (int) deque.removeFirst());
+        }
+    }
+
+    @Test
+    public void priorityQueueShrink() {
+        ArrayPriorityQueueSimple<Integer> pq = new ArrayPriorityQueueSimple<>(Comparator.<Integer>naturalOrder(), 16, ShrinkPolicy.QUARTER);
+        pq.ensureCapacity(4096);
+        Assert.assertEquals(4096, pq.capacity());
+        for (int i = 4000; i > 0; i--) {
+            pq.add(i);
+        }
+        for (int i = 1; i <= 3990; i++) {
+            Assert.assertEquals(i, (int) pq.remove());
+        }
+        Assert.assertEquals(32, pq.capacity());
+        pq.trimToSize();
+        Assert.assertEquals(10, pq.capacity());
+        Assert.assertEquals(3991, (int) pq.element());
+    }
+}
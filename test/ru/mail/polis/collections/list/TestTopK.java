@@ -0,0 +1,82 @@
+package ru.mail.polis.collections.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.mail.polis.collections.list.todo.ArrayPriorityQueueSimple;
+import ru.mail.polis.collections.list.todo.TopK;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class TestTopK {
+
+    @Test
+    public void keepsGreatest() {
+        Random random = new Random(9);
+        List<Integer> data = IntStream.range(0, 100000).map(i -> random.nextInt()).boxed().collect(Collectors.toList());
+        TopK<Integer> topK = new TopK<>(100);
+        for (Integer value : data) {
+            topK.offer(value);
+        }
+        List<Integer> expected = data.stream().sorted(Comparator.reverseOrder()).limit(100).collect(Collectors.toList());
+        Assert.assertEquals(expected, topK.toSortedList());
+        Assert.assertEquals(100, topK.size());
+    }
+
+    @Test
+    public void rejectsAfterOneComparison() {
+        int[] comparisons = new int[1];
+        TopK<Integer> topK = new TopK<>(3, (a, b) -> {
+            comparisons[0]++;
+            return Integer.compare(a, b);
+        });
+        for (int i = 10; i < 13; i++) {
+            topK.offer(i);
+        }
+        comparisons[0] = 0;
+        Assert.assertFalse(topK.offer(5));
+        Assert.assertEquals(1, comparisons[0]);
+        Assert.assertTrue(topK.offer(20));
+        Assert.assertEquals(List.of(20, 12, 11), topK.toSortedList());
+    }
+
+    @Test
+    public void parallelCollector() {
+        List<Integer> expected = IntStream.range(0, 200000).boxed()
+                .sorted(Comparator.reverseOrder()).limit(1000).collect(Collectors.toList());
+        List<Integer> actual = IntStream.range(0, 200000).boxed().parallel().collect(TopK.collector(1000));
+        Assert.assertEquals(expected, actual);
+        List<Integer> least = IntStream.range(0, 200000).boxed().parallel()
+                .collect(TopK.collector(3, Comparator.<Integer>reverseOrder()));
+        Assert.assertEquals(List.of(0, 1, 2), least);
+    }
+
+    @Test
+    public void fewerThanK() {
+        TopK<Integer> first = new TopK<>(10);
+        TopK<Integer> second = new TopK<>(10);
+        first.offer(1);
+        second.offer(3);
+        second.offer(2);
+        Assert.assertEquals(List.of(3, 2, 1), first.merge(second).toSortedList());
+    }
+
+    @Test
+    public void replaceHead() {
+        ArrayPriorityQueueSimple<Integer> pq = new ArrayPriorityQueueSimple<>();
+        for (int i = 0; i < 10; i++) {
+            pq.add(i);
+        }
+        Assert.assertEquals(0, (int) pq.replace(100));
+        Assert.assertEquals(1, (int) pq.element());
+        Assert.assertEquals(10, pq.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroK() {
+        new TopK<Integer>(0);
+    }
+}
@@ -0,0 +1,186 @@
+package ru.mail.polis.collections.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.mail.polis.collections.list.todo.UnrolledLinkedDeque;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+public class TestUnrolledLinkedDeque {
+
+    private static UnrolledLinkedDeque<Integer> range(int from, int to) {
+        UnrolledLinkedDeque<Integer> deque = new UnrolledLinkedDeque<>();
+        for (int i = from; i < to; i++) {
+            deque.addLast(i);
+        }
+        return deque;
+    }
+
+    private static void assertRange(int from, int to, UnrolledLinkedDeque<Integer> deque) {
+        Assert.assertEquals(to - from, deque.size());
+        int expected = from;
+        for (int value : deque) {
+            Assert.assertEquals(expected++, value);
+        }
+        Assert.assertEquals(to, expected);
+    }
+
+    @Test
+    public void randomAgainstArrayDeque() {
+        Random random = new Random(42);
+        UnrolledLinkedDeque<Integer> deque = new UnrolledLinkedDeque<>();
+        Deque<Integer> valid = new ArrayDeque<>();
+        for (int i = 0; i < 100000; i++) {
+            int op = random.nextInt(10);
+            if (op < 3) {
+                deque.addFirst(i);
+                valid.addFirst(i);
+            } else if (op < 6) {
+                deque.addLast(i);
+                valid.addLast(i);
+            } else if (op < 8 && !valid.isEmpty()) {
+                Assert.assertEquals(valid.removeFirst(), deque.removeFirst());
+            } else if (!valid.isEmpty()) {
+                Assert.assertEquals(valid.removeLast(), deque.removeLast());
+            }
+            Assert.assertEquals(valid.size(), deque.size());
+        }
+    }
+
+    @Test
+    public void iteratorRemove() {
+        UnrolledLinkedDeque<Integer> deque = range(0, 1000);
+        Iterator<Integer> iterator = deque.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() % 3 != 0) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(334, deque.size());
+        int expected = 0;
+        for (int value : deque) {
+            Assert.assertEquals(expected, value);
+            expected += 3;
+        }
+        Assert.assertEquals(0, (int) deque.removeFirst());
+        Assert.assertEquals(999, (int) deque.removeLast());
+    }
+
+    @Test
+    public void concat() {
+        UnrolledLinkedDeque<Integer> deque = range(0, 100);
+        UnrolledLinkedDeque<Integer> other = range(100, 250);
+        deque.concat(other);
+        Assert.assertTrue(other.isEmpty());
+        assertRange(0, 250, deque);
+        deque.concat(new UnrolledLinkedDeque<>());
+        other.concat(deque);
+        assertRange(0, 250, other);
+        Assert.assertTrue(deque.isEmpty());
+        other.addLast(250);
+        other.addFirst(-1);
+        assertRange(-1, 251, other);
+    }
+
+    @Test
+    public void splitAt() {
+        for (int index : new int[]{0, 1, 32, 63, 64, 100, 199, 200}) {
+            UnrolledLinkedDeque<Integer> deque = range(0, 200);
+            UnrolledLinkedDeque<Integer> tail = deque.splitAt(index);
+            assertRange(0, index, deque);
+            assertRange(index, 200, tail);
+            deque.addLast(index);
+            tail.addFirst(-1);
+            Assert.assertEquals(index, (int) deque.getLast());
+            Assert.assertEquals(-1, (int) tail.getFirst());
+        }
+    }
+
+    @Test
+    public void iteratorRemoveWhileMerging() {
+        Random random = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            UnrolledLinkedDeque<Integer> deque = range(0, 1000);
+            List<Integer> valid = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                valid.add(i);
+            }
+            int keepOneIn = 1 + random.nextInt(8);
+            Iterator<Integer> iterator = deque.iterator();
+            Iterator<Integer> validIterator = valid.iterator();
+            while (iterator.hasNext()) {
+                Integer value = iterator.next();
+                Assert.assertEquals(validIterator.next(), value);
+                if (random.nextInt(keepOneIn + 1) != 0) {
+                    iterator.remove();
+                    validIterator.remove();
+                }
+            }
+            Assert.assertFalse(validIterator.hasNext());
+            Assert.assertEquals(valid.size(), deque.size());
+            Iterator<Integer> expected = valid.iterator();
+            for (int value : deque) {
+                Assert.assertEquals((int) expected.next(), value);
+            }
+        }
+    }
+
+    @Test
+    public void randomSplitAndConcat() {
+        Random random = new Random(11);
+        UnrolledLinkedDeque<Integer> deque = new UnrolledLinkedDeque<>();
+        List<Integer> valid = new ArrayList<>();
+        int next = 0;
+        for (int i = 0; i < 2000; i++) {
+            int op = random.nextInt(5);
+            if (op == 0) {
+                for (int j = random.nextInt(100); j > 0; j--) {
+                    deque.addLast(next);
+                    valid.add(next++);
+                }
+            } else if (op == 1) {
+                for (int j = random.nextInt(100); j > 0; j--) {
+                    deque.addFirst(next);
+                    valid.add(0, next++);
+                }
+            } else if (op == 2) {
+                int index = random.nextInt(valid.size() + 1);
+                UnrolledLinkedDeque<Integer> tail = deque.splitAt(index);
+                tail.concat(deque);
+                deque = tail;
+                List<Integer> rotated = new ArrayList<>(valid.subList(index, valid.size()));
+                rotated.addAll(valid.subList(0, index));
+                valid = rotated;
+            } else if (op == 3) {
+                Iterator<Integer> iterator = deque.iterator();
+                Iterator<Integer> validIterator = valid.iterator();
+                while (iterator.hasNext()) {
+                    Assert.assertEquals(validIterator.next(), iterator.next());
+                    if (random.nextInt(3) == 0) {
+                        iterator.remove();
+                        validIterator.remove();
+                    }
+                }
+            } else {
+                for (int j = random.nextInt(50); j > 0 && !valid.isEmpty(); j--) {
+                    Assert.assertEquals(valid.remove(0), deque.removeFirst());
+                }
+            }
+            Assert.assertEquals(valid.size(), deque.size());
+        }
+        Iterator<Integer> expected = valid.iterator();
+        for (int value : deque) {
+            Assert.assertEquals((int) expected.next(), value);
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void splitAtOutOfBounds() {
+        range(0, 10).splitAt(11);
+    }
+}
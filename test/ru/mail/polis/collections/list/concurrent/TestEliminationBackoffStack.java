@@ -0,0 +1,97 @@
+package ru.mail.polis.collections.list.concurrent;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.mail.polis.collections.list.IDeque;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TestEliminationBackoffStack {
+
+    @Test
+    public void lifo() {
+        EliminationBackoffStack<Integer> stack = new EliminationBackoffStack<>();
+        for (int i = 0; i < 10; i++) {
+            stack.push(i);
+        }
+        Assert.assertEquals(10, stack.size());
+        Assert.assertTrue(stack.contains(3));
+        Assert.assertEquals(9, (int) stack.peek());
+        int expected = 9;
+        for (int value : stack) {
+            Assert.assertEquals(expected--, value);
+        }
+        for (int i = 9; i >= 0; i--) {
+            Assert.assertEquals(i, (int) stack.pop());
+        }
+        Assert.assertNull(stack.poll());
+        Assert.assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    public void dequeView() {
+        EliminationBackoffStack<Integer> stack = new EliminationBackoffStack<>();
+        IDeque<Integer> deque = stack.asDeque();
+        for (int i = 0; i < 5; i++) {
+            deque.addFirst(i);
+        }
+        Assert.assertEquals(4, (int) stack.peek());
+        Assert.assertEquals(4, (int) deque.getFirst());
+        Assert.assertEquals(4, (int) deque.removeFirst());
+        Assert.assertEquals(4, deque.size());
+        Assert.assertTrue(deque.contains(0));
+        Integer[] dst = new Integer[10];
+        Assert.assertEquals(4, deque.drainTo(dst, 10));
+        Assert.assertArrayEquals(new Integer[]{3, 2, 1, 0}, Arrays.copyOf(dst, 4));
+        Assert.assertTrue(stack.isEmpty());
+        try {
+            deque.addLast(1);
+            Assert.fail();
+        } catch (UnsupportedOperationException expected) {
+            Assert.assertTrue(deque.isEmpty());
+        }
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void removeFromEmpty() {
+        new EliminationBackoffStack<String>().pop();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void pushNull() {
+        new EliminationBackoffStack<String>().push(null);
+    }
+
+    @Test(timeout = 30000)
+    public void pool() throws InterruptedException {
+        final int threads = 8;
+        final int perThread = 20_000;
+        EliminationBackoffStack<Integer> stack = new EliminationBackoffStack<>(4);
+        AtomicLong sum = new AtomicLong();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(new Thread(() -> {
+                for (int i = 1; i <= perThread; i++) {
+                    stack.push(i);
+                    Integer value = stack.poll();
+                    if (value != null) {
+                        sum.addAndGet(value);
+                    }
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Integer value;
+        while ((value = stack.poll()) != null) {
+            sum.addAndGet(value);
+        }
+        Assert.assertEquals((long) threads * perThread * (perThread + 1) / 2, sum.get());
+    }
+}
@@ -0,0 +1,135 @@
+package ru.mail.polis.collections.list.concurrent;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TestLockFreeLinkedDeque {
+
+    @Test
+    public void balancesBothEnds() {
+        LockFreeLinkedDeque<Integer> deque = new LockFreeLinkedDeque<>();
+        for (int i = 0; i < 1000; i++) {
+            deque.addLast(i);
+        }
+        for (int i = 0; i < 500; i++) {
+            Assert.assertEquals(i, (int) deque.removeFirst());
+            Assert.assertEquals(999 - i, (int) deque.removeLast());
+        }
+        Assert.assertTrue(deque.isEmpty());
+        Assert.assertNull(deque.pollFirst());
+        Assert.assertNull(deque.pollLast());
+    }
+
+    @Test(timeout = 30000)
+    public void bothEndsConcurrently() throws InterruptedException {
+        final int threads = 4;
+        final int perThread = 20_000;
+        LockFreeLinkedDeque<Integer> deque = new LockFreeLinkedDeque<>();
+        AtomicLong sum = new AtomicLong();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final boolean front = t % 2 == 0;
+            workers.add(new Thread(() -> {
+                for (int i = 1; i <= perThread; i++) {
+                    if (front) {
+                        deque.addFirst(i);
+                    } else {
+                        deque.addLast(i);
+                    }
+                    Integer value = front ? deque.pollLast() : deque.pollFirst();
+                    if (value != null) {
+                        sum.addAndGet(value);
+                    }
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Integer value;
+        while ((value = deque.pollFirst()) != null) {
+            sum.addAndGet(value);
+        }
+        Assert.assertEquals((long) threads * perThread * (perThread + 1) / 2, sum.get());
+    }
+
+    @Test
+    public void iteratorRemovesInteriorNodes() {
+        LockFreeLinkedDeque<Integer> deque = new LockFreeLinkedDeque<>();
+        for (int i = 0; i < 100; i++) {
+            deque.addLast(i);
+        }
+        Iterator<Integer> iterator = deque.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() % 3 != 0) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(34, deque.size());
+        Assert.assertEquals(0, (int) deque.getFirst());
+        Assert.assertEquals(99, (int) deque.getLast());
+        deque.addFirst(-1);
+        deque.addLast(100);
+        int expected = 0;
+        Assert.assertEquals(-1, (int) deque.removeFirst());
+        for (int value : deque) {
+            Assert.assertEquals(expected, value);
+            expected = expected == 99 ? 100 : expected + 3;
+        }
+        Assert.assertEquals(100, (int) deque.removeLast());
+        Assert.assertEquals(99, (int) deque.removeLast());
+    }
+
+    @Test(timeout = 30000)
+    public void iteratorRemoveWhilePolling() throws InterruptedException {
+        final int count = 100_000;
+        LockFreeLinkedDeque<Integer> deque = new LockFreeLinkedDeque<>();
+        for (int i = 0; i < count; i++) {
+            deque.addLast(i);
+        }
+        Set<Integer> polled = ConcurrentHashMap.newKeySet();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < 2; t++) {
+            final boolean front = t == 0;
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < count / 8; i++) {
+                    Integer value = front ? deque.pollFirst() : deque.pollLast();
+                    if (value != null) {
+                        Assert.assertTrue(polled.add(value));
+                    }
+                }
+            }));
+        }
+        workers.add(new Thread(() -> {
+            Iterator<Integer> iterator = deque.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next() % 2 == 0) {
+                    iterator.remove();
+                }
+            }
+        }));
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Set<Integer> remaining = new HashSet<>();
+        for (int value : deque) {
+            Assert.assertTrue(value % 2 != 0);
+            Assert.assertFalse(polled.contains(value));
+            Assert.assertTrue(remaining.add(value));
+        }
+        Assert.assertEquals(remaining.size(), deque.size());
+        for (int i = 1; i < count; i += 2) {
+            Assert.assertTrue(polled.contains(i) || remaining.contains(i));
+        }
+    }
+}
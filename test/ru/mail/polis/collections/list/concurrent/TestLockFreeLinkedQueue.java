@@ -0,0 +1,105 @@
+package ru.mail.polis.collections.list.concurrent;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import ru.mail.polis.collections.list.AbstractIQueueTest;
+import ru.mail.polis.collections.list.IQueue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TestLockFreeLinkedQueue extends AbstractIQueueTest {
+
+    private LockFreeLinkedQueue<String> queue;
+
+    @Before
+    public void init() {
+        queue = new LockFreeLinkedQueue<>();
+    }
+
+    @Override
+    public IQueue<String> get() {
+        return queue;
+    }
+
+    @Test
+    public void iteratorRemove() {
+        for (int i = 0; i < 5; i++) {
+            queue.offer("v" + i);
+        }
+        Iterator<String> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            String value = iterator.next();
+            if (value.equals("v0") || value.equals("v3")) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(3, queue.size());
+        Assert.assertEquals("v1", queue.peek());
+        Assert.assertEquals("v1", queue.poll());
+        Assert.assertEquals("v2", queue.poll());
+        Assert.assertEquals("v4", queue.poll());
+        Assert.assertNull(queue.poll());
+    }
+
+    @Test(timeout = 30000)
+    public void producersConsumers() throws InterruptedException {
+        final int threads = 4;
+        final int perProducer = 20_000;
+        LockFreeLinkedQueue<Integer> queue = new LockFreeLinkedQueue<>();
+        AtomicLong sum = new AtomicLong();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(new Thread(() -> {
+                for (int i = 1; i <= perProducer; i++) {
+                    queue.offer(i);
+                }
+            }));
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    Integer value;
+                    while ((value = queue.poll()) == null) {
+                        Thread.yield();
+                    }
+                    sum.addAndGet(value);
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Assert.assertEquals((long) threads * perProducer * (perProducer + 1) / 2, sum.get());
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test(timeout = 30000)
+    public void addAllLastSelfWhileGrowing() throws InterruptedException {
+        LockFreeLinkedQueue<Integer> queue = new LockFreeLinkedQueue<>();
+        AtomicBoolean done = new AtomicBoolean();
+        Thread producer = new Thread(() -> {
+            for (int i = 0; !done.get(); i++) {
+                queue.offer(i);
+                if (queue.size() > 1_000) {
+                    queue.poll();
+                }
+            }
+        });
+        producer.start();
+        try {
+            for (int round = 0; round < 2_000; round++) {
+                queue.addAllLast(queue);
+                while (queue.size() > 100) {
+                    queue.poll();
+                }
+            }
+        } finally {
+            done.set(true);
+            producer.join();
+        }
+    }
+}
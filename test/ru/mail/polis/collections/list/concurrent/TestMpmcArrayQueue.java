@@ -0,0 +1,109 @@
+package ru.mail.polis.collections.list.concurrent;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import ru.mail.polis.collections.list.AbstractIQueueTest;
+import ru.mail.polis.collections.list.IQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TestMpmcArrayQueue extends AbstractIQueueTest {
+
+    private MpmcArrayQueue<String> queue;
+
+    @Before
+    public void init() {
+        queue = new MpmcArrayQueue<>(64);
+    }
+
+    @Override
+    public IQueue<String> get() {
+        return queue;
+    }
+
+    @Test
+    public void full() {
+        MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(3);
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(queue.offer(i));
+        }
+        Assert.assertFalse(queue.offer(4));
+        Assert.assertEquals(0, (int) queue.peek());
+        Assert.assertEquals(0, (int) queue.poll());
+        Assert.assertTrue(queue.offer(4));
+        Assert.assertEquals(4, queue.size());
+    }
+
+    @Test(timeout = 10000)
+    public void timed() throws InterruptedException {
+        MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(2);
+        Assert.assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+        queue.put(1);
+        queue.put(2);
+        Assert.assertFalse(queue.offer(3, 10, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(1, (int) queue.take());
+    }
+
+    @Test(timeout = 10000)
+    public void blockingWaitsForTheOtherSide() throws InterruptedException {
+        MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(2);
+        queue.put(1);
+        queue.put(2);
+        Thread consumer = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+                Assert.assertEquals(1, (int) queue.take());
+                Thread.sleep(50);
+                Assert.assertEquals(2, (int) queue.take());
+                Assert.assertEquals(3, (int) queue.take());
+                Assert.assertEquals(4, (int) queue.poll(Long.MAX_VALUE, TimeUnit.NANOSECONDS));
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        });
+        consumer.start();
+        queue.put(3);
+        Assert.assertTrue(queue.offer(4, Long.MAX_VALUE, TimeUnit.DAYS));
+        consumer.join();
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test(timeout = 30000)
+    public void producersConsumers() throws InterruptedException {
+        final int threads = 4;
+        final int perProducer = 20_000;
+        MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(128);
+        AtomicLong sum = new AtomicLong();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(new Thread(() -> {
+                try {
+                    for (int i = 1; i <= perProducer; i++) {
+                        queue.put(i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            workers.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < perProducer; i++) {
+                        sum.addAndGet(queue.take());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Assert.assertEquals((long) threads * perProducer * (perProducer + 1) / 2, sum.get());
+        Assert.assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,73 @@
+package ru.mail.polis.collections.list.concurrent;
+
+import org.junit.Assert;
+import org.junit.Test;
+import ru.mail.polis.collections.list.todo.PersistentDeque;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestSnapshotDeque {
+
+    @Test
+    public void snapshotsDoNotChange() {
+        SnapshotDeque<Integer> deque = new SnapshotDeque<>();
+        for (int i = 0; i < 10; i++) {
+            deque.addLast(i);
+        }
+        PersistentDeque<Integer> snapshot = deque.snapshot();
+        Assert.assertEquals(0, (int) deque.pollFirst());
+        Assert.assertEquals(9, (int) deque.pollLast());
+        deque.addFirst(-1);
+        deque.clear();
+        Assert.assertNull(deque.pollFirst());
+        Assert.assertTrue(deque.snapshot().isEmpty());
+        Assert.assertEquals(10, snapshot.size());
+        int expected = 0;
+        for (int value : snapshot) {
+            Assert.assertEquals(expected++, value);
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void readersSeeConsistentSnapshots() throws InterruptedException {
+        final int writes = 50_000;
+        SnapshotDeque<Integer> deque = new SnapshotDeque<>();
+        List<Thread> threads = new ArrayList<>();
+        threads.add(new Thread(() -> {
+            for (int i = 0; i < writes; i++) {
+                deque.addLast(i);
+                if (i % 3 == 0) {
+                    deque.pollFirst();
+                }
+            }
+        }));
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < 2; t++) {
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < 200; i++) {
+                        PersistentDeque<Integer> snapshot = deque.snapshot();
+                        int count = 0;
+                        Integer previous = null;
+                        for (int value : snapshot) {
+                            Assert.assertTrue(previous == null || previous + 1 == value);
+                            previous = value;
+                            count++;
+                        }
+                        Assert.assertEquals(snapshot.size(), count);
+                    }
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(List.of(), failures);
+    }
+}
@@ -0,0 +1,83 @@
+package ru.mail.polis.collections.list.concurrent;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import ru.mail.polis.collections.list.AbstractIQueueTest;
+import ru.mail.polis.collections.list.IQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestSpscArrayQueue extends AbstractIQueueTest {
+
+    private SpscArrayQueue<String> queue;
+
+    @Before
+    public void init() {
+        queue = new SpscArrayQueue<>(64);
+    }
+
+    @Override
+    public IQueue<String> get() {
+        return queue;
+    }
+
+    @Test
+    public void full() {
+        SpscArrayQueue<Integer> queue = new SpscArrayQueue<>(3);
+        Assert.assertEquals(4, queue.capacity());
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(queue.offer(i));
+        }
+        Assert.assertFalse(queue.offer(4));
+        Assert.assertEquals(0, (int) queue.poll());
+        Assert.assertTrue(queue.offer(4));
+        Assert.assertEquals(4, queue.size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void addLastFull() {
+        SpscArrayQueue<Integer> queue = new SpscArrayQueue<>(1);
+        queue.addLast(1);
+        queue.addLast(2);
+    }
+
+    @Test
+    public void drain() {
+        SpscArrayQueue<Integer> queue = new SpscArrayQueue<>(8);
+        for (int i = 0; i < 6; i++) {
+            queue.offer(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+        Assert.assertEquals(4, queue.drain(drained::add, 4));
+        Assert.assertEquals(List.of(0, 1, 2, 3), drained);
+        Assert.assertEquals(2, queue.drain(drained::add, 100));
+        Assert.assertNull(queue.poll());
+    }
+
+    @Test(timeout = 10000)
+    public void producerConsumer() throws InterruptedException {
+        final int count = 100_000;
+        SpscArrayQueue<Integer> queue = new SpscArrayQueue<>(1024);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                while (!queue.offer(i)) {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+        int expected = 0;
+        while (expected < count) {
+            Integer value = queue.poll();
+            if (value == null) {
+                Thread.yield();
+            } else {
+                Assert.assertEquals(expected++, (int) value);
+            }
+        }
+        producer.join();
+        Assert.assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,95 @@
+package ru.mail.polis.collections.list.concurrent;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TestTwoLockLinkedBlockingDeque {
+
+    @Test
+    public void bounded() {
+        TwoLockLinkedBlockingDeque<Integer> deque = new TwoLockLinkedBlockingDeque<>(2);
+        Assert.assertTrue(deque.offerLast(1));
+        Assert.assertTrue(deque.offerFirst(0));
+        Assert.assertFalse(deque.offerLast(2));
+        Assert.assertFalse(deque.offerFirst(2));
+        Assert.assertEquals(0, deque.remainingCapacity());
+        Assert.assertEquals(1, (int) deque.pollLast());
+        Assert.assertEquals(0, (int) deque.pollFirst());
+        Assert.assertNull(deque.pollLast());
+    }
+
+    @Test(timeout = 10000)
+    public void timed() throws InterruptedException {
+        TwoLockLinkedBlockingDeque<Integer> deque = new TwoLockLinkedBlockingDeque<>(1);
+        Assert.assertNull(deque.pollFirst(10, TimeUnit.MILLISECONDS));
+        Assert.assertNull(deque.pollLast(10, TimeUnit.MILLISECONDS));
+        deque.putLast(1);
+        Assert.assertFalse(deque.offerLast(2, 10, TimeUnit.MILLISECONDS));
+        Assert.assertFalse(deque.offerFirst(2, 10, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(1, (int) deque.takeLast());
+    }
+
+    @Test
+    public void iterators() {
+        TwoLockLinkedBlockingDeque<Integer> deque = new TwoLockLinkedBlockingDeque<>();
+        for (int i = 0; i < 5; i++) {
+            deque.addLast(i);
+        }
+        Iterator<Integer> iterator = deque.iterator();
+        Assert.assertEquals(0, (int) iterator.next());
+        deque.pollFirst();
+        deque.pollFirst();
+        Assert.assertEquals(1, (int) iterator.next());
+        Assert.assertEquals(2, (int) iterator.next());
+        iterator.remove();
+        List<Integer> descending = new ArrayList<>();
+        deque.descendingIterator().forEachRemaining(descending::add);
+        Assert.assertEquals(List.of(4, 3), descending);
+    }
+
+    @Test(timeout = 30000)
+    public void producersConsumers() throws InterruptedException {
+        final int pairs = 4;
+        final int perProducer = 20_000;
+        TwoLockLinkedBlockingDeque<Integer> deque = new TwoLockLinkedBlockingDeque<>(64);
+        AtomicLong sum = new AtomicLong();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < pairs; t++) {
+            boolean front = t % 2 == 0;
+            workers.add(new Thread(() -> {
+                try {
+                    for (int i = 1; i <= perProducer; i++) {
+                        if (front) {
+                            deque.putFirst(i);
+                        } else {
+                            deque.putLast(i);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            workers.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < perProducer; i++) {
+                        sum.addAndGet(front ? deque.takeLast() : deque.takeFirst());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Assert.assertEquals((long) pairs * perProducer * (perProducer + 1) / 2, sum.get());
+        Assert.assertTrue(deque.isEmpty());
+    }
+}
@@ -0,0 +1,85 @@
+package ru.mail.polis.collections.list.concurrent;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import ru.mail.polis.collections.list.AbstractIQueueTest;
+import ru.mail.polis.collections.list.IQueue;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestWorkStealingDeque extends AbstractIQueueTest {
+
+    private WorkStealingDeque<String> deque;
+
+    @Before
+    public void init() {
+        deque = new WorkStealingDeque<>(4);
+    }
+
+    @Override
+    public IQueue<String> get() {
+        return deque;
+    }
+
+    @Test
+    public void ownerLifo() {
+        WorkStealingDeque<Integer> deque = new WorkStealingDeque<>(2);
+        for (int i = 0; i < 100; i++) {
+            deque.addLast(i);
+        }
+        Assert.assertEquals(0, (int) deque.steal());
+        for (int i = 99; i > 0; i--) {
+            Assert.assertEquals(i, (int) deque.pollLast());
+        }
+        Assert.assertNull(deque.pollLast());
+        Assert.assertNull(deque.steal());
+        Assert.assertTrue(deque.isEmpty());
+    }
+
+    @Test(timeout = 10000)
+    public void ownerAndThieves() throws InterruptedException {
+        final int count = 100_000;
+        WorkStealingDeque<Integer> deque = new WorkStealingDeque<>(16);
+        AtomicIntegerArray taken = new AtomicIntegerArray(count);
+        AtomicInteger total = new AtomicInteger();
+        Thread[] thieves = new Thread[2];
+        for (int i = 0; i < thieves.length; i++) {
+            thieves[i] = new Thread(() -> {
+                while (total.get() < count) {
+                    Integer value = deque.steal();
+                    if (value == null) {
+                        Thread.yield();
+                    } else {
+                        taken.incrementAndGet(value);
+                        total.incrementAndGet();
+                    }
+                }
+            });
+            thieves[i].start();
+        }
+        for (int i = 0; i < count; i++) {
+            deque.addLast(i);
+            if ((i & 3) == 0) {
+                Integer value = deque.pollLast();
+                if (value != null) {
+                    taken.incrementAndGet(value);
+                    total.incrementAndGet();
+                }
+            }
+        }
+        Integer value;
+        while ((value = deque.pollLast()) != null) {
+            taken.incrementAndGet(value);
+            total.incrementAndGet();
+        }
+        for (Thread thief : thieves) {
+            thief.join();
+        }
+        Assert.assertEquals(count, total.get());
+        for (int i = 0; i < count; i++) {
+            Assert.assertEquals(1, taken.get(i));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package ru.mail.polis.collections.list.concurrent;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestWorkStealingExecutor {
+
+    @Test(timeout = 10000)
+    public void forkTree() throws InterruptedException {
+        final int depth = 12;
+        WorkStealingExecutor executor = new WorkStealingExecutor(3);
+        CountDownLatch leaves = new CountDownLatch(1 << depth);
+        executor.execute(new Fork(executor, depth, leaves));
+        leaves.await();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test(timeout = 10000)
+    public void failingTaskDoesNotKillWorker() throws InterruptedException {
+        WorkStealingExecutor executor = new WorkStealingExecutor(1);
+        AtomicInteger done = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        executor.execute(() -> {
+            throw new IllegalStateException("expected");
+        });
+        executor.execute(() -> {
+            done.incrementAndGet();
+            latch.countDown();
+        });
+        latch.await();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        Assert.assertEquals(1, done.get());
+    }
+
+    @Test(timeout = 30000)
+    public void acceptedTasksRunDespiteConcurrentShutdown() throws InterruptedException {
+        for (int round = 0; round < 200; round++) {
+            WorkStealingExecutor executor = new WorkStealingExecutor(2);
+            AtomicInteger accepted = new AtomicInteger();
+            AtomicInteger done = new AtomicInteger();
+            Thread submitter = new Thread(() -> {
+                try {
+                    while (true) {
+                        executor.execute(done::incrementAndGet);
+                        accepted.incrementAndGet();
+                    }
+                } catch (RejectedExecutionException expected) {
+                    // shut down
+                }
+            });
+            submitter.start();
+            Thread.yield();
+            executor.shutdown();
+            submitter.join();
+            Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+            Assert.assertEquals(accepted.get(), done.get());
+        }
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void rejectAfterShutdown() {
+        WorkStealingExecutor executor = new WorkStealingExecutor(1);
+        executor.shutdown();
+        executor.execute(() -> {});
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void executeNull() {
+        WorkStealingExecutor executor = new WorkStealingExecutor(1);
+        try {
+            executor.execute(null);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static class Fork implements Runnable {
+
+        private final WorkStealingExecutor executor;
+        private final int depth;
+        private final CountDownLatch leaves;
+
+        Fork(WorkStealingExecutor executor, int depth, CountDownLatch leaves) {
+            this.executor = executor;
+            this.depth = depth;
+            this.leaves = leaves;
+        }
+
+        @Override
+        public void run() {
+            if (depth == 0) {
+                leaves.countDown();
+            } else {
+                executor.execute(new Fork(executor, depth - 1, leaves));
+                executor.execute(new Fork(executor, depth - 1, leaves));
+            }
+        }
+    }
+}
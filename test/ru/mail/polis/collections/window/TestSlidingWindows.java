@@ -0,0 +1,82 @@
+package ru.mail.polis.collections.window;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class TestSlidingWindows {
+
+    @Test
+    public void countWindowMinMaxSum() {
+        final int span = 17;
+        Random random = new Random(42);
+        int[] values = new int[5000];
+        MonotonicWindow<Integer> min = new MonotonicWindow<>(Comparator.<Integer>naturalOrder(), span);
+        MonotonicWindow<Integer> max = new MonotonicWindow<>(Comparator.<Integer>reverseOrder(), span);
+        SlidingAggregator<Long> sum = new SlidingAggregator<>(Long::sum, span);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(1000);
+            min.add(values[i]);
+            max.add(values[i]);
+            sum.add((long) values[i]);
+            int expectedMin = Integer.MAX_VALUE;
+            int expectedMax = Integer.MIN_VALUE;
+            long expectedSum = 0;
+            for (int j = Math.max(0, i - span + 1); j <= i; j++) {
+                expectedMin = Math.min(expectedMin, values[j]);
+                expectedMax = Math.max(expectedMax, values[j]);
+                expectedSum += values[j];
+            }
+            Assert.assertEquals(expectedMin, (int) min.get());
+            Assert.assertEquals(expectedMax, (int) max.get());
+            Assert.assertEquals(expectedSum, (long) sum.get());
+            Assert.assertEquals(Math.min(i + 1, span), sum.size());
+        }
+    }
+
+    @Test
+    public void timeWindow() {
+        MonotonicWindow<Integer> min = new MonotonicWindow<>(Comparator.<Integer>naturalOrder(), 100);
+        SlidingAggregator<Integer> count = new SlidingAggregator<>(Integer::sum, 100);
+        min.add(1000, 5);
+        count.add(1000, 1);
+        min.add(1050, 7);
+        count.add(1050, 1);
+        Assert.assertEquals(5, (int) min.get());
+        Assert.assertEquals(2, (int) count.get());
+        min.advanceTo(1100);
+        count.advanceTo(1100);
+        Assert.assertEquals(7, (int) min.get());
+        Assert.assertEquals(1, (int) count.get());
+        min.advanceTo(1150);
+        count.advanceTo(1150);
+        Assert.assertTrue(min.isEmpty());
+        Assert.assertTrue(count.isEmpty());
+    }
+
+    @Test
+    public void nonCommutativeOrder() {
+        SlidingAggregator<String> concat = new SlidingAggregator<>(String::concat, 3);
+        for (String value : new String[]{"a", "b", "c", "d", "e"}) {
+            concat.add(value);
+        }
+        Assert.assertEquals("cde", concat.get());
+        concat.add("f");
+        Assert.assertEquals("def", concat.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void positionGoesBack() {
+        SlidingAggregator<Integer> sum = new SlidingAggregator<>(Integer::sum, 10);
+        sum.add(5, 1);
+        sum.add(4, 1);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void emptyWindow() {
+        new MonotonicWindow<Integer>(Comparator.naturalOrder(), 1).get();
+    }
+}